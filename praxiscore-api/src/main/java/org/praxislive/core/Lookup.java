@@ -44,6 +44,11 @@ public interface Lookup {
      *
      * The implementation can be overridden or extended by registering a Lookup
      * subclass to be found using ServiceLoader.
+     * <p>
+     * The default implementation caches the providers discovered for each type
+     * and context class loader. Provider instances are still created on each
+     * query. Call {@link #refreshSystem()} if new providers might have become
+     * available at runtime.
      */
     public final static Lookup SYSTEM = new SystemLookup();
 
@@ -93,6 +98,15 @@ public interface Lookup {
         return ObjectLookup.create(parent, instances);
     }
 
+    /**
+     * Clear any providers cached by {@link #SYSTEM}, so that subsequent
+     * searches rediscover them, eg. after libraries have been added at
+     * runtime.
+     */
+    public static void refreshSystem() {
+        ((SystemLookup) SYSTEM).refresh();
+    }
+
     /**
      * Interface to be implemented by all types that provide access to a Lookup.
      */
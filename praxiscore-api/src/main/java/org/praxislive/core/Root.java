@@ -21,6 +21,7 @@
  */
 package org.praxislive.core;
 
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -75,6 +76,31 @@ public interface Root extends Lookup.Provider {
          */
         public boolean submitPacket(Packet packet);
 
+        /**
+         * Deliver a list of Packets to this Root. As with
+         * {@link #submitPacket(org.praxislive.core.Packet)} this method will
+         * never block. Packets are submitted in order, stopping at the first
+         * packet that cannot be handled. Implementations may notify the Root
+         * once for the whole list.
+         * <p>
+         * The default implementation calls
+         * {@link #submitPacket(org.praxislive.core.Packet)} for each packet.
+         *
+         * @param packets messages to handle
+         * @return the number of packets, from the start of the list, that can
+         * be handled
+         */
+        public default int submitPackets(List<Packet> packets) {
+            int count = 0;
+            for (Packet packet : packets) {
+                if (!submitPacket(packet)) {
+                    break;
+                }
+                count++;
+            }
+            return count;
+        }
+
         /**
          * Start the Root. Controller implementations will ensure that this
          * method can only be invoked once.
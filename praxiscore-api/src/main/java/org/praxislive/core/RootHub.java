@@ -21,6 +21,7 @@
  */
 package org.praxislive.core;
 
+import java.util.ArrayList;
 import java.util.List;
 import org.praxislive.core.services.Service;
 
@@ -52,6 +53,37 @@ public interface RootHub extends Lookup.Provider {
      */
     public boolean dispatch(Packet packet);
 
+    /**
+     * Dispatch a list of messages, possibly to multiple Roots. Implementations
+     * may group packets by destination and deliver them with a single
+     * notification per Root. The order of packets to each destination is
+     * preserved.
+     * <p>
+     * The default implementation calls {@link #dispatch(org.praxislive.core.Packet)}
+     * for each packet.
+     *
+     * @param packets messages to dispatch
+     * @return list of packets that could not be handled, or empty list
+     */
+    public default List<Packet> dispatchAll(List<Packet> packets) {
+        List<Packet> failed = null;
+        for (Packet packet : packets) {
+            boolean ok;
+            try {
+                ok = dispatch(packet);
+            } catch (Exception ex) {
+                ok = false;
+            }
+            if (!ok) {
+                if (failed == null) {
+                    failed = new ArrayList<>();
+                }
+                failed.add(packet);
+            }
+        }
+        return failed == null ? List.of() : failed;
+    }
+
     /**
      * The Clock instance for this RootHub. This method will return a high-precision
      * nanosecond timer used as the primary timing source within this RootHub
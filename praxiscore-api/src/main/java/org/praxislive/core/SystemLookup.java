@@ -21,14 +21,16 @@
  */
 package org.praxislive.core;
 
-import java.util.Iterator;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  *
@@ -37,12 +39,19 @@ import java.util.stream.StreamSupport;
 class SystemLookup implements Lookup {
     
     private final static System.Logger LOG = System.getLogger(SystemLookup.class.getName());
+    private final static ClassValue<ProviderHolder> PROVIDERS = new ClassValue<>() {
+        @Override
+        protected ProviderHolder computeValue(Class<?> type) {
+            return new ProviderHolder();
+        }
+    };
     
     private final Lookup lookup; 
+    private final ServiceLoaderLookup serviceLoaderLookup;
     
     SystemLookup() {
-        Lookup lkp = new ServiceLoaderLookup();
-        lookup = lkp.find(Lookup.class).orElse(lkp);
+        serviceLoaderLookup = new ServiceLoaderLookup();
+        lookup = serviceLoaderLookup.find(Lookup.class).orElse(serviceLoaderLookup);
     }
 
     @Override
@@ -54,18 +63,53 @@ class SystemLookup implements Lookup {
     public <T> Stream<T> findAll(Class<T> type) {
         return lookup.findAll(type);
     }
+    
+    void refresh() {
+        serviceLoaderLookup.clear();
+    }
 
+    /**
+     * Caches the providers found by ServiceLoader for each type, keyed by the
+     * context class loader, to avoid rescanning on every search. Providers
+     * are still asked for a new instance on each search.
+     * <p>
+     * The cache only refers weakly to provider classes, so it does not retain
+     * the class loader used as key or any other class loader. Each provider is
+     * held by its own provider class through a {@link ClassValue}, and so
+     * remains cached for as long as the provider class is loaded.
+     * {@link #find(java.lang.Class)} only loads and caches the first provider,
+     * so that an error in a later provider does not stop the first being
+     * found.
+     */
     private static class ServiceLoaderLookup implements Lookup {
+        
+        private final Map<ClassLoader, Providers> cache;
 
+        private ServiceLoaderLookup() {
+            cache = new WeakHashMap<>();
+        }
+        
         @Override
+        @SuppressWarnings("unchecked")
         public <T> Optional<T> find(Class<T> type) {
-            getClass().getModule().addUses(type);
-            ServiceLoader<T> loader = ServiceLoader.load(type);
             try {
-                Iterator<T> itr = loader.iterator();
-                if (itr.hasNext()) {
-                    return Optional.of(itr.next());
+                Providers providers = providers();
+                ServiceLoader.Provider<?> provider;
+                synchronized (providers) {
+                    provider = resolve(providers.first.get(type));
                 }
+                if (provider == null) {
+                    getClass().getModule().addUses(type);
+                    provider = ServiceLoader.load(type).stream().findFirst().orElse(null);
+                    if (provider == null) {
+                        return Optional.empty();
+                    }
+                    WeakReference<Class<?>> ref = register(provider);
+                    synchronized (providers) {
+                        providers.first.put(type, ref);
+                    }
+                }
+                return Optional.of((T) provider.get());
             } catch (ServiceConfigurationError ex) {
                 LOG.log(System.Logger.Level.ERROR, "Error in service configuration", ex);
             }
@@ -73,12 +117,26 @@ class SystemLookup implements Lookup {
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public <T> Stream<T> findAll(Class<T> type) {
-            getClass().getModule().addUses(type);
-            ServiceLoader<T> loader = ServiceLoader.load(type);
-            // @TODO make lazy?
             try {
-                List<T> results = StreamSupport.stream(loader.spliterator(), false)
+                Providers providers = providers();
+                List<ServiceLoader.Provider<?>> all;
+                synchronized (providers) {
+                    all = resolve(providers.all.get(type));
+                }
+                if (all == null) {
+                    getClass().getModule().addUses(type);
+                    all = List.copyOf(ServiceLoader.load(type).stream().toList());
+                    List<WeakReference<Class<?>>> refs = all.stream()
+                            .map(ServiceLoaderLookup::register)
+                            .toList();
+                    synchronized (providers) {
+                        providers.all.put(type, refs);
+                    }
+                }
+                List<T> results = all.stream()
+                        .map(p -> (T) p.get())
                         .collect(Collectors.toList());
                 return results.stream();
             } catch (ServiceConfigurationError ex) {
@@ -87,5 +145,56 @@ class SystemLookup implements Lookup {
             return Stream.empty();
         }
         
+        private Providers providers() {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            synchronized (cache) {
+                return cache.computeIfAbsent(loader, l -> new Providers());
+            }
+        }
+        
+        private void clear() {
+            synchronized (cache) {
+                cache.clear();
+            }
+        }
+
+        private static WeakReference<Class<?>> register(ServiceLoader.Provider<?> provider) {
+            PROVIDERS.get(provider.type()).provider = provider;
+            return new WeakReference<>(provider.type());
+        }
+
+        private static ServiceLoader.Provider<?> resolve(WeakReference<Class<?>> ref) {
+            Class<?> cls = ref == null ? null : ref.get();
+            return cls == null ? null : PROVIDERS.get(cls).provider;
+        }
+
+        private static List<ServiceLoader.Provider<?>> resolve(List<WeakReference<Class<?>>> refs) {
+            if (refs == null) {
+                return null;
+            }
+            List<ServiceLoader.Provider<?>> all = new ArrayList<>(refs.size());
+            for (WeakReference<Class<?>> ref : refs) {
+                ServiceLoader.Provider<?> provider = resolve(ref);
+                if (provider == null) {
+                    return null;
+                }
+                all.add(provider);
+            }
+            return all;
+        }
+        
+    }
+    
+    private static class Providers {
+        
+        private final Map<Class<?>, WeakReference<Class<?>>> first = new WeakHashMap<>();
+        private final Map<Class<?>, List<WeakReference<Class<?>>>> all = new WeakHashMap<>();
+        
+    }
+
+    private static class ProviderHolder {
+
+        private volatile ServiceLoader.Provider<?> provider;
+
     }
 }
@@ -34,6 +34,7 @@ import org.praxislive.core.types.PBytes;
 import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PNumbers;
 import org.praxislive.core.types.PReference;
 import org.praxislive.core.types.PResource;
 import org.praxislive.core.types.PString;
@@ -162,7 +163,8 @@ public abstract class Value {
      * rather than a general purpose mapping API.
      * <p>
      * Any instance of a Value subclass is returned as is. Booleans are
-     * converted to PBoolean. Numbers are converted to PNumber.
+     * converted to PBoolean. Numbers are converted to PNumber. Double and float
+     * arrays are copied into PNumbers.
      * <code>null</code> is converted to {@link PString#EMPTY}. All other types
      * are converted to a PString of their String representation.
      *
@@ -182,6 +184,12 @@ public abstract class Value {
         if (obj instanceof Number) {
             return PNumber.of(((Number) obj).doubleValue());
         }
+        if (obj instanceof double[] doubles) {
+            return PNumbers.of(doubles);
+        }
+        if (obj instanceof float[] floats) {
+            return PNumbers.of(floats);
+        }
         if (obj == null) {
             return PString.EMPTY;
         }
@@ -331,6 +339,7 @@ public abstract class Value {
             types.add(new Type<>(PError.class, PError.TYPE_NAME, PError::from));
             types.add(new Type<>(PMap.class, PMap.TYPE_NAME, PMap::from, PMap.EMPTY));
             types.add(new Type<>(PNumber.class, PNumber.TYPE_NAME, PNumber::from));
+            types.add(new Type<>(PNumbers.class, PNumbers.TYPE_NAME, PNumbers::from, PNumbers.EMPTY));
             types.add(new Type<>(PReference.class, PReference.TYPE_NAME, PReference::from));
             types.add(new Type<>(PResource.class, PResource.TYPE_NAME, PResource::from));
             types.add(new Type<>(PString.class, PString.TYPE_NAME, PString::from, PString.EMPTY));
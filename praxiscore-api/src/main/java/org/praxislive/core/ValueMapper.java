@@ -38,6 +38,7 @@ import java.util.function.Function;
 import org.praxislive.core.types.PBoolean;
 import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PNumbers;
 import org.praxislive.core.types.PString;
 
 /**
@@ -128,6 +129,8 @@ public abstract class ValueMapper<T> {
      * Find a ValueMapper capable of mapping Values to and from the provided
      * Class. Mappers for String, Boolean, Integer, Float and Double are
      * provided, along with their primitive counterparts where applicable.
+     * Mappers for double and float arrays are provided, mapping to
+     * {@link PNumbers}.
      * Mappers will be created on demand for any Enum type. Mappers for all
      * registered Value types are provided as a convenience.
      *
@@ -166,6 +169,9 @@ public abstract class ValueMapper<T> {
             map.put(float.class, map.get(Float.class));
             map.put(double.class, map.get(Double.class));
 
+            map.put(double[].class, new DoubleArrayMapper());
+            map.put(float[].class, new FloatArrayMapper());
+
         }
 
         @SuppressWarnings("unchecked")
@@ -362,6 +368,46 @@ public abstract class ValueMapper<T> {
 
     }
 
+    private static class DoubleArrayMapper extends ValueMapper<double[]> {
+
+        public DoubleArrayMapper() {
+            super(double[].class, PNumbers.class);
+        }
+
+        @Override
+        public double[] fromValue(Value value) {
+            return PNumbers.from(value)
+                    .orElseThrow(IllegalArgumentException::new)
+                    .toArray();
+        }
+
+        @Override
+        public Value toValue(double[] value) {
+            return value == null ? PNumbers.EMPTY : PNumbers.of(value);
+        }
+
+    }
+
+    private static class FloatArrayMapper extends ValueMapper<float[]> {
+
+        public FloatArrayMapper() {
+            super(float[].class, PNumbers.class);
+        }
+
+        @Override
+        public float[] fromValue(Value value) {
+            return PNumbers.from(value)
+                    .orElseThrow(IllegalArgumentException::new)
+                    .toFloatArray();
+        }
+
+        @Override
+        public Value toValue(float[] value) {
+            return value == null ? PNumbers.EMPTY : PNumbers.of(value);
+        }
+
+    }
+
     private static class EnumMapper<E extends Enum<E>> extends ValueMapper<E> {
 
         private final Class<E> enumCls;
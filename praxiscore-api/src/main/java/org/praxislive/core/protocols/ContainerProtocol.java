@@ -81,6 +81,11 @@ public final class ContainerProtocol implements Protocol {
      */
     public static final String CHILDREN_ORDER = "children-order";
 
+    /**
+     * Name of the add-all control.
+     */
+    public static final String ADD_ALL = "add-all";
+
     private final static ArgumentInfo STRING = PString.info();
 
     /**
@@ -177,6 +182,24 @@ public final class ContainerProtocol implements Protocol {
                     .outputs(o -> o.type(PArray.class))
     );
 
+    /**
+     * Info for the (optional) add-all control. This is a function that can be
+     * used to add multiple children and connections in a single call. It
+     * accepts two arguments. The first is a PMap of child names to component
+     * types, and the children are added as if by calls to add-child. The second
+     * is a PArray of connections, each in the format returned by
+     * {@link #CONNECTIONS}, and the connections are made after all children
+     * have been added. It returns no arguments. It will respond with an error if
+     * any child cannot be added or any connection cannot be made, in which case
+     * the children added and the connections made by this call will have been
+     * removed.
+     */
+    public static final ControlInfo ADD_ALL_INFO
+            = ControlInfo.createFunctionInfo(
+                    List.of(ArgumentInfo.of(PMap.class, null), PArray.info()),
+                    List.of(),
+                    PMap.EMPTY);
+
     /**
      * A component info for this protocol. Can be used with
      * {@link Info.ComponentInfoBuilder#merge(org.praxislive.core.ComponentInfo)}.
@@ -202,7 +225,7 @@ public final class ContainerProtocol implements Protocol {
 
     @Override
     public Stream<String> optionalControls() {
-        return Stream.of(SUPPORTED_TYPES, CHILDREN_ORDER);
+        return Stream.of(SUPPORTED_TYPES, CHILDREN_ORDER, ADD_ALL);
     }
 
     @Override
@@ -224,6 +247,8 @@ public final class ContainerProtocol implements Protocol {
                 SUPPORTED_TYPES_INFO;
             case CHILDREN_ORDER ->
                 CHILDREN_ORDER_INFO;
+            case ADD_ALL ->
+                ADD_ALL_INFO;
             default ->
                 throw new IllegalArgumentException();
         };
@@ -63,5 +63,28 @@ public class TaskService implements Service {
          * @throws java.lang.Exception
          */
         public Value execute() throws Exception;
+
+        /**
+         * Hint that this task spends most of its time blocked on I/O rather
+         * than computing. The service may run blocking tasks on virtual
+         * threads rather than on the bounded worker pool. Default is false.
+         *
+         * @return true if task is I/O bound
+         */
+        public default boolean isBlocking() {
+            return false;
+        }
+
+        /**
+         * Whether this task is superseded by a later supersedable task
+         * submitted from the same control. A superseded task that has not
+         * completed is cancelled, and its call receives an error response.
+         * Default is false.
+         *
+         * @return true if task may be superseded
+         */
+        public default boolean isSupersedable() {
+            return false;
+        }
     }
 }
@@ -309,6 +309,8 @@ public final class PArray extends Value implements Iterable<Value> {
             return array;
         } else if (arg instanceof ArrayBasedValue arrayBased) {
             return arrayBased.dataArray();
+        } else if (arg instanceof PNumbers numbers) {
+            return numbers.toPArray();
         } else {
             return parse(arg.toString());
         }
@@ -23,18 +23,23 @@ package org.praxislive.core.types;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
@@ -42,7 +47,9 @@ import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collector;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import org.praxislive.core.Value;
@@ -87,9 +94,16 @@ public final class PBytes extends Value {
         System.arraycopy(bytes, 0, dst, 0, bytes.length);
     }
 
-//    public ByteBuffer asByteBuffer() {
-//        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
-//    }
+    /**
+     * A read-only, big-endian {@link ByteBuffer} view of the data. The data is
+     * not copied.
+     *
+     * @return read-only buffer view
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
     public InputStream asInputStream() {
         return new ByteArrayInputStream(bytes);
     }
@@ -165,7 +179,7 @@ public final class PBytes extends Value {
      * @param consumer
      */
     public <T extends DataObject> void forEachIn(T container, Consumer<T> consumer) {
-        Spliterator<T> splitr = new StreamableSpliterator<>(new ByteArrayInputStream(bytes), () -> container);
+        Spliterator<T> splitr = spliterator(() -> container, container.size());
         splitr.forEachRemaining(consumer);
     }
 
@@ -179,6 +193,13 @@ public final class PBytes extends Value {
      * @return transformed data
      */
     public <T extends DataObject> PBytes transformIn(T container, Consumer<T> transformer) {
+        int recordSize = fixedRecordSize(container.size());
+        if (recordSize > 0) {
+            byte[] out = new byte[bytes.length];
+            transformRange(container, transformer, recordSize, out,
+                    0, bytes.length / recordSize);
+            return new PBytes(out, null);
+        }
         OutputStream os = new OutputStream(size());
         DataOutputStream dos = new DataOutputStream(os);
         forEachIn(container, s -> {
@@ -197,9 +218,53 @@ public final class PBytes extends Value {
         return os.toBytes();
     }
 
+    /**
+     * Transform data in parallel by iterating into containers provided by the
+     * supplier and calling the provided consumer before writing each container
+     * into new PBytes. The data is split into ranges processed on the common
+     * {@link ForkJoinPool}, with one container used per range. The supplier
+     * and the transformer are called concurrently from common pool threads, and
+     * must both be safe to call concurrently. The supplier must return a new
+     * container on each call.
+     * <p>
+     * Parallel processing requires the containers to report a fixed
+     * {@link DataObject#size()} that evenly divides the data. Otherwise the
+     * data is transformed sequentially, using a single container, as
+     * {@link #transformIn(org.praxislive.core.DataObject, java.util.function.Consumer)}.
+     *
+     * @param <T> DataObject sub-type
+     * @param supplier container supplier
+     * @param transformer transforming consumer
+     * @return transformed data
+     */
+    public <T extends DataObject> PBytes parallelTransformIn(Supplier<T> supplier,
+            Consumer<T> transformer) {
+        T first = supplier.get();
+        int recordSize = fixedRecordSize(first.size());
+        if (recordSize <= 0) {
+            return transformIn(first, transformer);
+        }
+        int count = bytes.length / recordSize;
+        int ranges = Math.min(count,
+                ForkJoinPool.getCommonPoolParallelism() * 4);
+        byte[] out = new byte[bytes.length];
+        IntStream.range(0, ranges).parallel().forEach(range -> {
+            T container = range == 0 ? first : supplier.get();
+            transformRange(container, transformer, recordSize, out,
+                    (int) ((long) count * range / ranges),
+                    (int) ((long) count * (range + 1) / ranges));
+        });
+        return new PBytes(out, null);
+    }
+
     /**
      * Create a Stream over the data by decoding into DataObjects provided by
-     * supplier
+     * supplier.
+     * <p>
+     * If the DataObjects report a fixed {@link DataObject#size()} that evenly
+     * divides the data, the stream is sized and can be efficiently split for
+     * parallel processing. The supplier will be called an additional time to
+     * query the size.
      *
      * @param <T>
      * @param supplier of DataObject
@@ -207,8 +272,7 @@ public final class PBytes extends Value {
      */
     public <T extends DataObject> Stream<T> streamOf(Supplier<T> supplier) {
         return isEmpty() ? Stream.empty()
-                : StreamSupport.stream(new StreamableSpliterator<>(
-                        new ByteArrayInputStream(bytes), supplier), false);
+                : StreamSupport.stream(spliterator(supplier, supplier.get().size()), false);
     }
 
     /**
@@ -291,6 +355,64 @@ public final class PBytes extends Value {
         return os.toBytes();
     }
 
+    private <T extends DataObject> Spliterator<T> spliterator(Supplier<T> supplier,
+            OptionalInt size) {
+        int recordSize = fixedRecordSize(size);
+        if (recordSize > 0) {
+            return new FixedSizeSpliterator<>(bytes, recordSize, supplier,
+                    0, bytes.length / recordSize);
+        } else {
+            return new StreamableSpliterator<>(bytes, supplier);
+        }
+    }
+
+    private int fixedRecordSize(OptionalInt size) {
+        if (size.isPresent()) {
+            int recordSize = size.getAsInt();
+            if (recordSize > 0 && bytes.length % recordSize == 0) {
+                return recordSize;
+            }
+        }
+        return -1;
+    }
+
+    private <T extends DataObject> void transformRange(T container,
+            Consumer<T> transformer, int recordSize, byte[] out, int from, int to) {
+        ByteBuffer inBuffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+        ByteBuffer outBuffer = ByteBuffer.wrap(out);
+        BufferInput input = new BufferInput(inBuffer);
+        BufferOutput output = new BufferOutput(outBuffer);
+        for (int i = from; i < to; i++) {
+            int start = i * recordSize;
+            int end = start + recordSize;
+            readRecord(container, input, start, end);
+            transformer.accept(container);
+            outBuffer.limit(end).position(start);
+            try {
+                container.writeTo(output);
+            } catch (Exception ex) {
+                throw new IllegalArgumentException(ex);
+            }
+            if (outBuffer.hasRemaining()) {
+                throw new IllegalArgumentException("DataObject did not write fixed size");
+            }
+        }
+    }
+
+    private static void readRecord(DataObject container, BufferInput input,
+            int start, int end) {
+        ByteBuffer buffer = input.buffer;
+        buffer.limit(end).position(start);
+        try {
+            container.readFrom(input);
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IllegalArgumentException("DataObject did not read fixed size");
+        }
+    }
+
     private static PBytes coerce(Value arg) throws ValueFormatException {
         if (arg instanceof PBytes) {
             return (PBytes) arg;
@@ -392,24 +514,23 @@ public final class PBytes extends Value {
 
     private static class StreamableSpliterator<T extends DataObject> implements Spliterator<T> {
 
-        private final ByteArrayInputStream is;
-        private final DataInputStream dis;
+        private final BufferInput input;
         private final Supplier<T> supplier;
 
-        private StreamableSpliterator(ByteArrayInputStream is, Supplier<T> supplier) {
-            this.is = is;
-            this.dis = new DataInputStream(is);
+        private StreamableSpliterator(byte[] bytes, Supplier<T> supplier) {
+            this.input = new BufferInput(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
             this.supplier = supplier;
         }
 
         @Override
         public boolean tryAdvance(Consumer<? super T> action) {
             try {
-                int available = is.available();
-                if (available > 0) {
+                ByteBuffer buffer = input.buffer;
+                int position = buffer.position();
+                if (buffer.hasRemaining()) {
                     T streamable = supplier.get();
-                    streamable.readFrom(dis);
-                    if (available == is.available()) {
+                    streamable.readFrom(input);
+                    if (position == buffer.position()) {
                         throw new IllegalArgumentException("DataObject not reading from data");
                     }
                     action.accept(streamable);
@@ -441,4 +562,284 @@ public final class PBytes extends Value {
 
     }
 
+    private static class FixedSizeSpliterator<T extends DataObject> implements Spliterator<T> {
+
+        private final byte[] bytes;
+        private final int recordSize;
+        private final Supplier<T> supplier;
+
+        private int index;
+        private int fence;
+        private BufferInput input;
+
+        private FixedSizeSpliterator(byte[] bytes, int recordSize,
+                Supplier<T> supplier, int index, int fence) {
+            this.bytes = bytes;
+            this.recordSize = recordSize;
+            this.supplier = supplier;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (index >= fence) {
+                return false;
+            }
+            if (input == null) {
+                input = new BufferInput(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+            }
+            T streamable = supplier.get();
+            int start = index * recordSize;
+            readRecord(streamable, input, start, start + recordSize);
+            index++;
+            action.accept(streamable);
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            var prefix = new FixedSizeSpliterator<>(bytes, recordSize, supplier, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return IMMUTABLE | NONNULL | ORDERED | SIZED | SUBSIZED;
+        }
+
+    }
+
+    private static class BufferInput implements DataInput {
+
+        private final ByteBuffer buffer;
+
+        private BufferInput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void readFully(byte[] b) throws IOException {
+            readFully(b, 0, b.length);
+        }
+
+        @Override
+        public void readFully(byte[] b, int off, int len) throws IOException {
+            require(len);
+            buffer.get(b, off, len);
+        }
+
+        @Override
+        public int skipBytes(int n) throws IOException {
+            int skip = Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + skip);
+            return skip;
+        }
+
+        @Override
+        public boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        @Override
+        public byte readByte() throws IOException {
+            require(Byte.BYTES);
+            return buffer.get();
+        }
+
+        @Override
+        public int readUnsignedByte() throws IOException {
+            return readByte() & 0xFF;
+        }
+
+        @Override
+        public short readShort() throws IOException {
+            require(Short.BYTES);
+            return buffer.getShort();
+        }
+
+        @Override
+        public int readUnsignedShort() throws IOException {
+            return readShort() & 0xFFFF;
+        }
+
+        @Override
+        public char readChar() throws IOException {
+            require(Character.BYTES);
+            return buffer.getChar();
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        @Override
+        public long readLong() throws IOException {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        @Override
+        public float readFloat() throws IOException {
+            require(Float.BYTES);
+            return buffer.getFloat();
+        }
+
+        @Override
+        public double readDouble() throws IOException {
+            require(Double.BYTES);
+            return buffer.getDouble();
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            if (!buffer.hasRemaining()) {
+                return null;
+            }
+            StringBuilder sb = new StringBuilder();
+            while (buffer.hasRemaining()) {
+                char c = (char) (buffer.get() & 0xFF);
+                if (c == '\n') {
+                    break;
+                } else if (c == '\r') {
+                    if (buffer.hasRemaining()
+                            && buffer.get(buffer.position()) == '\n') {
+                        buffer.get();
+                    }
+                    break;
+                }
+                sb.append(c);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String readUTF() throws IOException {
+            return DataInputStream.readUTF(this);
+        }
+
+        private void require(int count) throws EOFException {
+            if (buffer.remaining() < count) {
+                throw new EOFException();
+            }
+        }
+
+    }
+
+    private static class BufferOutput implements DataOutput {
+
+        private final ByteBuffer buffer;
+
+        private BufferOutput(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            require(Byte.BYTES);
+            buffer.put((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b) throws IOException {
+            write(b, 0, b.length);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            require(len);
+            buffer.put(b, off, len);
+        }
+
+        @Override
+        public void writeBoolean(boolean v) throws IOException {
+            write(v ? 1 : 0);
+        }
+
+        @Override
+        public void writeByte(int v) throws IOException {
+            write(v);
+        }
+
+        @Override
+        public void writeShort(int v) throws IOException {
+            require(Short.BYTES);
+            buffer.putShort((short) v);
+        }
+
+        @Override
+        public void writeChar(int v) throws IOException {
+            require(Character.BYTES);
+            buffer.putChar((char) v);
+        }
+
+        @Override
+        public void writeInt(int v) throws IOException {
+            require(Integer.BYTES);
+            buffer.putInt(v);
+        }
+
+        @Override
+        public void writeLong(long v) throws IOException {
+            require(Long.BYTES);
+            buffer.putLong(v);
+        }
+
+        @Override
+        public void writeFloat(float v) throws IOException {
+            require(Float.BYTES);
+            buffer.putFloat(v);
+        }
+
+        @Override
+        public void writeDouble(double v) throws IOException {
+            require(Double.BYTES);
+            buffer.putDouble(v);
+        }
+
+        @Override
+        public void writeBytes(String s) throws IOException {
+            int len = s.length();
+            require(len);
+            for (int i = 0; i < len; i++) {
+                buffer.put((byte) s.charAt(i));
+            }
+        }
+
+        @Override
+        public void writeChars(String s) throws IOException {
+            int len = s.length();
+            require(len * Character.BYTES);
+            for (int i = 0; i < len; i++) {
+                buffer.putChar(s.charAt(i));
+            }
+        }
+
+        @Override
+        public void writeUTF(String s) throws IOException {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(s.length() + 2);
+            new DataOutputStream(bos).writeUTF(s);
+            write(bos.toByteArray());
+        }
+
+        private void require(int count) throws IOException {
+            if (buffer.remaining() < count) {
+                throw new IOException("DataObject exceeded fixed size");
+            }
+        }
+
+    }
+
 }
@@ -0,0 +1,328 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.core.types;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.DoubleStream;
+import org.praxislive.core.ArgumentInfo;
+import org.praxislive.core.Value;
+import org.praxislive.core.ValueFormatException;
+
+/**
+ * An ordered list of numbers, packed into a primitive double array. This is an
+ * efficient alternative to a {@link PArray} of {@link PNumber} for passing
+ * large numeric vectors, such as sensor data or analysis frames. Values are
+ * stored without boxing, and can be accessed as a primitive array or as a
+ * read-only {@link DoubleBuffer} view.
+ * <p>
+ * A PNumbers can be converted to and from a PArray using
+ * {@link PArray#from(org.praxislive.core.Value)} and
+ * {@link #from(org.praxislive.core.Value)}. The text form is a space separated
+ * list of numbers.
+ */
+public final class PNumbers extends Value {
+
+    /**
+     * Value type name.
+     */
+    public static final String TYPE_NAME = "Numbers";
+
+    /**
+     * An empty PNumbers.
+     */
+    public static final PNumbers EMPTY = new PNumbers(new double[0], "");
+
+    private final double[] data;
+    private volatile String str;
+
+    private PNumbers(double[] data, String str) {
+        this.data = data;
+        this.str = str;
+    }
+
+    /**
+     * Query the number at the given index.
+     *
+     * @param index position of number
+     * @return number at index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public double get(int index) {
+        return data[index];
+    }
+
+    /**
+     * Query the number of values.
+     *
+     * @return size
+     */
+    public int size() {
+        return data.length;
+    }
+
+    /**
+     * Copy the numbers into the provided array. The array must be at least
+     * {@link #size()} in length.
+     *
+     * @param dst destination array
+     */
+    public void read(double[] dst) {
+        System.arraycopy(data, 0, dst, 0, data.length);
+    }
+
+    /**
+     * Copy the numbers into the provided array, narrowing each to a float. The
+     * array must be at least {@link #size()} in length.
+     *
+     * @param dst destination array
+     */
+    public void read(float[] dst) {
+        if (dst.length < data.length) {
+            throw new IndexOutOfBoundsException(dst.length);
+        }
+        for (int i = 0; i < data.length; i++) {
+            dst[i] = (float) data[i];
+        }
+    }
+
+    /**
+     * Create a copy of the numbers as a new double array.
+     *
+     * @return numbers as double array
+     */
+    public double[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Create a copy of the numbers as a new float array.
+     *
+     * @return numbers as float array
+     */
+    public float[] toFloatArray() {
+        float[] ret = new float[data.length];
+        read(ret);
+        return ret;
+    }
+
+    /**
+     * A read-only view of the numbers as a {@link DoubleBuffer}. The data is
+     * not copied.
+     *
+     * @return read-only buffer view
+     */
+    public DoubleBuffer asDoubleBuffer() {
+        return DoubleBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
+    /**
+     * An ordered stream of the numbers.
+     *
+     * @return stream of numbers
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(data);
+    }
+
+    /**
+     * Convert to a {@link PArray} of {@link PNumber}.
+     *
+     * @return numbers as PArray
+     */
+    public PArray toPArray() {
+        if (data.length == 0) {
+            return PArray.EMPTY;
+        }
+        List<Value> list = new ArrayList<>(data.length);
+        for (double d : data) {
+            list.add(PNumber.of(d));
+        }
+        return PArray.of(list);
+    }
+
+    @Override
+    public String toString() {
+        if (str == null) {
+            StringBuilder sb = new StringBuilder(data.length * 8);
+            for (double d : data) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                // keep the sign of negative zero
+                if (d == (int) d && (d != 0 || 1 / d > 0)) {
+                    sb.append((int) d);
+                } else {
+                    sb.append(d);
+                }
+            }
+            str = sb.toString();
+        }
+        return str;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.length == 0;
+    }
+
+    @Override
+    public boolean equivalent(Value arg) {
+        if (arg == this) {
+            return true;
+        }
+        try {
+            return Arrays.equals(data, coerce(arg).data);
+        } catch (ValueFormatException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(data);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof PNumbers other) {
+            return Arrays.equals(data, other.data);
+        }
+        return false;
+    }
+
+    /**
+     * Create a PNumbers from the provided numbers. The array is copied.
+     *
+     * @param values numbers
+     * @return new PNumbers
+     */
+    public static PNumbers of(double... values) {
+        return values.length == 0 ? EMPTY : new PNumbers(values.clone(), null);
+    }
+
+    /**
+     * Create a PNumbers from the provided float array.
+     *
+     * @param values numbers
+     * @return new PNumbers
+     */
+    public static PNumbers of(float[] values) {
+        if (values.length == 0) {
+            return EMPTY;
+        }
+        double[] data = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            data[i] = values[i];
+        }
+        return new PNumbers(data, null);
+    }
+
+    /**
+     * Create a PNumbers from the remaining numbers in the provided buffer. The
+     * buffer position is not changed.
+     *
+     * @param values buffer of numbers
+     * @return new PNumbers
+     */
+    public static PNumbers of(DoubleBuffer values) {
+        if (!values.hasRemaining()) {
+            return EMPTY;
+        }
+        double[] data = new double[values.remaining()];
+        values.get(values.position(), data);
+        return new PNumbers(data, null);
+    }
+
+    /**
+     * Parse the given text into a PNumbers.
+     *
+     * @param text text to parse
+     * @return parsed PNumbers
+     * @throws ValueFormatException if the text is not a list of numbers
+     */
+    public static PNumbers parse(String text) throws ValueFormatException {
+        String trimmed = text.strip();
+        if (trimmed.isEmpty()) {
+            return EMPTY;
+        }
+        try {
+            String[] tokens = trimmed.split("\\s+");
+            double[] data = new double[tokens.length];
+            for (int i = 0; i < tokens.length; i++) {
+                data[i] = Double.parseDouble(tokens[i]);
+            }
+            return new PNumbers(data, text);
+        } catch (Exception ex) {
+            throw new ValueFormatException(ex);
+        }
+    }
+
+    private static PNumbers coerce(Value arg) throws ValueFormatException {
+        if (arg instanceof PNumbers numbers) {
+            return numbers;
+        } else if (arg instanceof PNumber number) {
+            return new PNumbers(new double[]{number.value()}, null);
+        } else if (arg instanceof PArray array) {
+            double[] data = new double[array.size()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = PNumber.from(array.get(i))
+                        .orElseThrow(ValueFormatException::new)
+                        .value();
+            }
+            return data.length == 0 ? EMPTY : new PNumbers(data, null);
+        } else {
+            return parse(arg.toString());
+        }
+    }
+
+    /**
+     * Cast or convert the provided value into a PNumbers, wrapped in an
+     * Optional. A {@link PArray} is converted if all of its values can be
+     * converted to {@link PNumber}. If the value cannot be converted, an empty
+     * Optional is returned.
+     *
+     * @param value value
+     * @return optional PNumbers
+     */
+    public static Optional<PNumbers> from(Value value) {
+        try {
+            return Optional.of(coerce(value));
+        } catch (ValueFormatException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Utility method to create an {@link ArgumentInfo} for arguments of type
+     * PNumbers.
+     *
+     * @return argument info
+     */
+    public static ArgumentInfo info() {
+        return ArgumentInfo.of(PNumbers.class, null);
+    }
+
+}
@@ -0,0 +1,167 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class SystemLookupTest {
+
+    private Path dir;
+
+    public SystemLookupTest() {
+    }
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("praxis-lookup-test");
+        String name = TestProvider.class.getName();
+        Path classFile = dir.resolve(name.replace('.', '/') + ".class");
+        Files.createDirectories(classFile.getParent());
+        try (InputStream in = TestProvider.class.getResourceAsStream(
+                name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+            Files.copy(in, classFile);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testFindIsLazy() throws Exception {
+        writeServices(TestProvider.class.getName(), "org.praxislive.core.MissingProvider");
+        SystemLookup lookup = new SystemLookup();
+        try (URLClassLoader loader = createLoader()) {
+            Optional<Runnable> found = withContextLoader(loader,
+                    () -> lookup.find(Runnable.class));
+            assertTrue(found.isPresent());
+            assertEquals(TestProvider.class.getName(), found.get().getClass().getName());
+            assertSame(loader, found.get().getClass().getClassLoader());
+            long count = withContextLoader(loader,
+                    () -> lookup.findAll(Runnable.class).count());
+            assertEquals(0, count);
+        }
+    }
+
+    @Test
+    public void testCacheDoesNotRetainClassLoader() throws Exception {
+        writeServices(TestProvider.class.getName());
+        SystemLookup lookup = new SystemLookup();
+        WeakReference<ClassLoader> ref = findInNewLoader(lookup);
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(ref.get());
+    }
+
+    @Test
+    public void testCacheSurvivesGC() throws Exception {
+        writeServices(TestProvider.class.getName());
+        SystemLookup lookup = new SystemLookup();
+        try (URLClassLoader loader = createLoader()) {
+            Runnable first = withContextLoader(loader,
+                    () -> lookup.find(Runnable.class).orElseThrow());
+            assertEquals(1, (long) withContextLoader(loader,
+                    () -> lookup.findAll(Runnable.class).count()));
+            // a rescan would now find no providers
+            writeServices();
+            for (int i = 0; i < 5; i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            Runnable second = withContextLoader(loader,
+                    () -> lookup.find(Runnable.class).orElseThrow());
+            assertSame(first.getClass(), second.getClass());
+            assertNotSame(first, second);
+            assertEquals(1, (long) withContextLoader(loader,
+                    () -> lookup.findAll(Runnable.class).count()));
+            lookup.refresh();
+            assertTrue(withContextLoader(loader,
+                    () -> lookup.find(Runnable.class)).isEmpty());
+        }
+    }
+
+    private WeakReference<ClassLoader> findInNewLoader(SystemLookup lookup) throws Exception {
+        try (URLClassLoader loader = createLoader()) {
+            withContextLoader(loader, () -> lookup.find(Runnable.class).orElseThrow());
+            long count = withContextLoader(loader,
+                    () -> lookup.findAll(Runnable.class).count());
+            assertEquals(1, count);
+            return new WeakReference<>(loader);
+        }
+    }
+
+    private void writeServices(String... providers) throws IOException {
+        Path services = dir.resolve("META-INF/services/" + Runnable.class.getName());
+        Files.createDirectories(services.getParent());
+        Files.write(services, List.of(providers));
+    }
+
+    private URLClassLoader createLoader() throws IOException {
+        return new URLClassLoader(new URL[]{dir.toUri().toURL()},
+                null);
+    }
+
+    private static <T> T withContextLoader(ClassLoader loader,
+            Supplier<T> task) {
+        Thread thread = Thread.currentThread();
+        ClassLoader existing = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            return task.get();
+        } finally {
+            thread.setContextClassLoader(existing);
+        }
+    }
+
+    public static class TestProvider implements Runnable {
+
+        @Override
+        public void run() {
+        }
+
+    }
+
+}
@@ -26,7 +26,10 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.List;
+import java.util.OptionalInt;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.praxislive.core.AbstractTestBase;
@@ -69,6 +72,31 @@ public class PBytesTest extends AbstractTestBase {
         }
     }
 
+    private static class SizedData extends Data {
+
+        SizedData() {
+        }
+
+        SizedData(double x, double y, double z) {
+            super(x, y, z);
+        }
+
+        @Override
+        public OptionalInt size() {
+            return OptionalInt.of(3 * Double.BYTES);
+        }
+
+    }
+
+    private static class PartialData extends SizedData {
+
+        @Override
+        public void readFrom(DataInput in) throws Exception {
+            x = in.readDouble();
+        }
+
+    }
+
     private static class FailedData implements DataObject {
 
         @Override
@@ -195,6 +223,86 @@ public class PBytesTest extends AbstractTestBase {
         assertEquals(list.get(2).z, 90, 0.001);
     }
 
+    /**
+     * Test of streamOf method, of class PBytes, with fixed size data.
+     */
+    @Test
+    public void testStreamOf_FixedSize() {
+        int count = 100_000;
+        PBytes bytes = IntStream.range(0, count)
+                .mapToObj(i -> new SizedData(i, i * 2, i * 3))
+                .collect(PBytes.collector());
+        Spliterator<SizedData> splitr = bytes.streamOf(SizedData::new).spliterator();
+        assertTrue(splitr.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(count, splitr.getExactSizeIfKnown());
+        assertNotNull(splitr.trySplit());
+        double sum = bytes.streamOf(SizedData::new)
+                .parallel()
+                .mapToDouble(d -> d.y)
+                .sum();
+        assertEquals((double) count * (count - 1), sum, 0.001);
+        List<SizedData> list = bytes.streamOf(SizedData::new)
+                .parallel()
+                .collect(Collectors.toList());
+        assertEquals(count, list.size());
+        assertEquals(count - 1, list.get(count - 1).x, 0.001);
+        assertEquals(bytes, list.stream().collect(PBytes.collector()));
+        assertEquals(2, testBytes.streamOf(SizedData::new).count());
+    }
+
+    /**
+     * Test of parallelTransformIn method, of class PBytes.
+     */
+    @Test
+    public void testParallelTransformIn() {
+        int count = 10_000;
+        PBytes bytes = IntStream.range(0, count)
+                .mapToObj(i -> new SizedData(i, i, i))
+                .collect(PBytes.collector());
+        PBytes transformed = bytes.parallelTransformIn(SizedData::new, d -> {
+            d.x *= 2;
+            d.z = -1;
+        });
+        assertEquals(bytes.size(), transformed.size());
+        PBytes expected = IntStream.range(0, count)
+                .mapToObj(i -> new SizedData(i * 2, i, -1))
+                .collect(PBytes.collector());
+        assertEquals(expected, transformed);
+        assertEquals(expected, bytes.transformIn(new SizedData(), d -> {
+            d.x *= 2;
+            d.z = -1;
+        }));
+        assertEquals(testBytes, testBytes.parallelTransformIn(Data::new, d -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> {
+            bytes.parallelTransformIn(FailedData::new, d -> {
+            });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            bytes.parallelTransformIn(PartialData::new, d -> {
+            });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            bytes.transformIn(new PartialData(), d -> {
+            });
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            bytes.streamOf(PartialData::new).toList();
+        });
+    }
+
+    /**
+     * Test of asByteBuffer method, of class PBytes.
+     */
+    @Test
+    public void testAsByteBuffer() {
+        var buffer = testBytes.asByteBuffer();
+        assertTrue(buffer.isReadOnly());
+        assertEquals(testBytes.size(), buffer.remaining());
+        assertEquals(10, buffer.getDouble(0), 0.001);
+        assertEquals(60, buffer.getDouble(5 * Double.BYTES), 0.001);
+    }
+
     /**
      * Test of collector method, of class PBytes.
      */
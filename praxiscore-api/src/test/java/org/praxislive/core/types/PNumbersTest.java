@@ -0,0 +1,93 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.core.types;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.AbstractTestBase;
+import org.praxislive.core.Value;
+import org.praxislive.core.ValueMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PNumbersTest extends AbstractTestBase {
+
+    public PNumbersTest() {
+    }
+
+    @Test
+    public void testParse() throws Exception {
+        PNumbers numbers = PNumbers.parse("1 2.5  -3 1e3");
+        log(numbers);
+        assertEquals(4, numbers.size());
+        assertArrayEquals(new double[]{1, 2.5, -3, 1000}, numbers.toArray());
+        assertEquals("1 2.5 -3 1000", PNumbers.of(numbers.toArray()).toString());
+        assertSame(PNumbers.EMPTY, PNumbers.parse(" "));
+        PNumbers zeros = PNumbers.of(0, -0.0);
+        assertEquals("0 -0.0", zeros.toString());
+        assertEquals(zeros, PNumbers.parse(zeros.toString()));
+        assertTrue(PNumbers.from(PString.of("1 two 3")).isEmpty());
+    }
+
+    @Test
+    public void testArrayConversion() throws Exception {
+        PNumbers numbers = PNumbers.of(1, 2.5, -3);
+        PArray array = PArray.from(numbers).orElseThrow();
+        assertEquals(PArray.of(PNumber.of(1), PNumber.of(2.5), PNumber.of(-3)), array);
+        assertEquals(numbers, PNumbers.from(array).orElseThrow());
+        assertTrue(numbers.equivalent(array));
+        assertTrue(array.equivalent(numbers));
+        assertTrue(PNumbers.from(PArray.of(PNumber.ONE, PString.of("foo"))).isEmpty());
+        PNumbers parsed = PNumbers.from(PString.of(numbers.toString())).orElseThrow();
+        assertEquals(numbers, parsed);
+    }
+
+    @Test
+    public void testPrimitiveAccess() {
+        double[] data = {0.5, 1.5, 2.5};
+        PNumbers numbers = PNumbers.of(data);
+        data[0] = 100;
+        assertEquals(0.5, numbers.get(0));
+        double[] dst = new double[3];
+        numbers.read(dst);
+        assertArrayEquals(new double[]{0.5, 1.5, 2.5}, dst);
+        assertArrayEquals(new float[]{0.5f, 1.5f, 2.5f}, numbers.toFloatArray());
+        assertEquals(2.5, numbers.asDoubleBuffer().get(2));
+        assertTrue(numbers.asDoubleBuffer().isReadOnly());
+        assertEquals(4.5, numbers.stream().sum());
+        assertEquals(numbers, PNumbers.of(new float[]{0.5f, 1.5f, 2.5f}));
+    }
+
+    @Test
+    public void testValueMapping() {
+        assertEquals(PNumbers.of(1, 2), Value.ofObject(new double[]{1, 2}));
+        assertEquals(PNumbers.TYPE_NAME, Value.Type.of(PNumbers.class).name());
+        ValueMapper<double[]> doubles = ValueMapper.find(double[].class);
+        assertArrayEquals(new double[]{1, 2, 3},
+                doubles.fromValue(PArray.of(List.of(PNumber.of(1), PNumber.of(2), PNumber.of(3)))));
+        assertEquals(PNumbers.of(1, 2), doubles.toValue(new double[]{1, 2}));
+        ValueMapper<float[]> floats = ValueMapper.find(float[].class);
+        assertArrayEquals(new float[]{0.25f}, floats.fromValue(PString.of("0.25")));
+        assertEquals(PNumbers.EMPTY, floats.toValue(null));
+    }
+
+}
@@ -133,6 +133,7 @@ public class DefaultAudioRoot extends AbstractRootContainer {
                 .merge(ComponentProtocol.API_INFO)
                 .merge(ContainerProtocol.API_INFO)
                 .control(ContainerProtocol.SUPPORTED_TYPES, ContainerProtocol.SUPPORTED_TYPES_INFO)
+                .control(ContainerProtocol.ADD_ALL, ContainerProtocol.ADD_ALL_INFO)
                 .merge(StartableProtocol.API_INFO)
                 .merge(SharedCodeProtocol.API_INFO)
                 .control("sample-rate", c -> c.property()
@@ -198,6 +198,9 @@ public abstract class AbstractComponent implements Component {
                 Objects.requireNonNull(control)) != null) {
             throw new IllegalArgumentException();
         }
+        if (parent != null) {
+            HierarchyListener.notify(parent.getLookup());
+        }
     }
 
     /**
@@ -206,7 +209,9 @@ public abstract class AbstractComponent implements Component {
      * @param id control ID
      */
     protected final void unregisterControl(String id) {
-        controls.remove(id);
+        if (controls.remove(id) != null && parent != null) {
+            HierarchyListener.notify(parent.getLookup());
+        }
     }
 
     /**
@@ -21,7 +21,12 @@
  */
 package org.praxislive.base;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -49,6 +54,8 @@ import org.praxislive.core.protocols.ContainerProtocol;
 import org.praxislive.core.protocols.SupportedTypes;
 import org.praxislive.core.services.ComponentFactoryService;
 import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PReference;
 import org.praxislive.core.types.PString;
 
@@ -65,14 +72,21 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
     private final static System.Logger LOG = System.getLogger(AbstractContainer.class.getName());
 
     private final Map<String, Component> childMap;
+    private final Map<Component, String> childIDMap;
     private final Map<Component, ComponentType> childTypeMap;
     private final Set<Connection> connections;
+    private final Map<Port, PortConnections> portConnections;
+    private final Set<PortConnections> changedPorts;
 
     protected AbstractContainer() {
         childMap = new LinkedHashMap<>();
+        childIDMap = new IdentityHashMap<>();
         childTypeMap = new HashMap<>();
         connections = new LinkedHashSet<>();
+        portConnections = new IdentityHashMap<>();
+        changedPorts = new LinkedHashSet<>();
         registerControl(ContainerProtocol.ADD_CHILD, new AddChildControl());
+        registerControl(ContainerProtocol.ADD_ALL, new AddAllControl());
         registerControl(ContainerProtocol.REMOVE_CHILD, new RemoveChildControl());
         registerControl(ContainerProtocol.CHILDREN, new ChildrenControl());
         registerControl(ContainerProtocol.CONNECT, new ConnectControl());
@@ -143,6 +157,7 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
      * @param writer tree writer
      */
     protected final void writeConnections(TreeWriter writer) {
+        validateConnections();
         connections.forEach(writer::writeConnection);
     }
 
@@ -158,13 +173,19 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
                 Objects.requireNonNull(child)) != null) {
             throw new VetoException("Child ID already in use");
         }
+        if (childIDMap.putIfAbsent(child, id) != null) {
+            childMap.remove(id);
+            throw new VetoException("Child already added");
+        }
         try {
             notifyChild(child);
         } catch (VetoException ex) {
             childMap.remove(id);
+            childIDMap.remove(child);
             throw new VetoException();
         }
         child.hierarchyChanged();
+        HierarchyListener.notify(getLookup());
     }
 
     /**
@@ -200,6 +221,7 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
     protected Component removeChild(String id) {
         Component child = childMap.remove(id);
         if (child != null) {
+            childIDMap.remove(child);
             try {
                 child.parentNotify(null);
             } catch (VetoException ex) {
@@ -209,6 +231,8 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
             }
             child.hierarchyChanged();
             childTypeMap.remove(child);
+            validateConnections();
+            HierarchyListener.notify(getLookup());
         }
         return child;
     }
@@ -220,12 +244,7 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
      * @return ID or null
      */
     protected String getChildID(Component child) {
-        for (Map.Entry<String, Component> entry : childMap.entrySet()) {
-            if (entry.getValue() == child) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return childIDMap.get(child);
     }
 
     /**
@@ -287,6 +306,8 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
 
     private void handleConnection(boolean connect, String component1, String port1, String component2, String port2)
             throws PortConnectionException {
+        // index must be current - ports may have been replaced since last read
+        validateConnections();
         try {
             Component c1 = getChild(component1);
             final Port p1 = c1.getPort(port1);
@@ -297,13 +318,16 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
 
             if (connect) {
                 p1.connect(p2);
-                connections.add(connection);
-                PortListener listener = new ConnectionListener(p1, p2, connection);
-                p1.addListener(listener);
-                p2.addListener(listener);
+                if (connections.add(connection)) {
+                    indexConnection(p1, p2, connection);
+                    indexConnection(p2, p1, connection);
+                }
             } else {
                 p1.disconnect(p2);
-                connections.remove(connection);
+                if (connections.remove(connection)) {
+                    unindexConnection(p1, connection);
+                    unindexConnection(p2, connection);
+                }
             }
         } catch (Exception ex) {
             LOG.log(System.Logger.Level.DEBUG, "Can't connect ports.", ex);
@@ -312,6 +336,35 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
         }
     }
 
+    private void indexConnection(Port port, Port other, Connection connection) {
+        PortConnections index = portConnections.get(port);
+        if (index == null) {
+            index = new PortConnections(port);
+            portConnections.put(port, index);
+            port.addListener(index);
+        }
+        index.connections.put(connection, other);
+    }
+
+    private void validateConnections() {
+        while (!changedPorts.isEmpty()) {
+            Iterator<PortConnections> itr = changedPorts.iterator();
+            PortConnections changed = itr.next();
+            itr.remove();
+            changed.validate();
+        }
+    }
+
+    private void unindexConnection(Port port, Connection connection) {
+        PortConnections index = portConnections.get(port);
+        if (index != null) {
+            index.connections.remove(connection);
+            if (index.connections.isEmpty()) {
+                index.dispose();
+            }
+        }
+    }
+
     /**
      * Control that implements {@link ContainerProtocol#ADD_CHILD}.
      */
@@ -418,34 +471,217 @@ public abstract class AbstractContainer extends AbstractComponent implements Con
 
         @Override
         public void call(Call call, PacketRouter router) throws Exception {
+            validateConnections();
             PArray response = PArray.of(connections);
             router.route(call.reply(response));
         }
 
     }
 
-    private class ConnectionListener implements PortListener {
+    /**
+     * Control that implements {@link ContainerProtocol#ADD_ALL}. Child
+     * additions are sent to this container's
+     * {@link ContainerProtocol#ADD_CHILD} control together, so that
+     * implementations overriding that control are respected. Connections are
+     * made after all children have been added. If any child cannot be added, or
+     * any connection cannot be made, the connections made by the call are
+     * removed, and the children added are removed through this container's
+     * {@link ContainerProtocol#REMOVE_CHILD} control, before responding with an
+     * error.
+     */
+    protected class AddAllControl implements Control {
 
-        Port p1;
-        Port p2;
-        Connection connection;
+        private final Map<Integer, Batch> pending = new HashMap<>();
 
-        private ConnectionListener(Port p1, Port p2, Connection connection) {
-            this.p1 = p1;
-            this.p2 = p2;
-            this.connection = connection;
+        @Override
+        public void call(Call call, PacketRouter router) throws Exception {
+            if (call.isRequest()) {
+                processInvoke(call, router);
+            } else {
+                processResponse(call, router);
+            }
+        }
+
+        private void processInvoke(Call call, PacketRouter router) throws Exception {
+            List<Value> args = call.args();
+            if (args.size() < 2) {
+                throw new IllegalArgumentException("Invalid arguments");
+            }
+            PMap children = PMap.from(args.get(0))
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid children map"));
+            PArray connectionsArray = PArray.from(args.get(1))
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid connections array"));
+            List<Connection> batchConnections = new ArrayList<>(connectionsArray.size());
+            for (Value value : connectionsArray) {
+                batchConnections.add(Connection.from(value)
+                        .orElseThrow(() -> new IllegalArgumentException("Invalid connection " + value)));
+            }
+            for (String id : children.keys()) {
+                if (!ComponentAddress.isValidID(id)) {
+                    throw new IllegalArgumentException("Invalid Component ID " + id);
+                }
+                if (childMap.containsKey(id)) {
+                    throw new IllegalArgumentException("Child ID already in use " + id);
+                }
+            }
+            Batch batch = new Batch(call, batchConnections, children.size());
+            if (children.isEmpty()) {
+                complete(batch, router);
+                return;
+            }
+            ControlAddress to = ControlAddress.of(getAddress(), ContainerProtocol.ADD_CHILD);
+            for (String id : children.keys()) {
+                Call add = Call.create(to, call.to(), call.time(),
+                        List.of(PString.of(id), children.get(id)));
+                pending.put(add.matchID(), batch);
+                batch.adding.put(add.matchID(), id);
+                router.route(add);
+            }
+        }
+
+        private void processResponse(Call call, PacketRouter router) {
+            Batch batch = pending.remove(call.matchID());
+            if (batch == null) {
+                LOG.log(System.Logger.Level.WARNING, "Unexpected response received by AddAllControl");
+                return;
+            }
+            if (batch.removing.remove(call.matchID())) {
+                if (call.isError()) {
+                    LOG.log(System.Logger.Level.WARNING,
+                            "Unable to remove child after failed add-all\n{0}", call.args());
+                }
+                if (batch.removing.isEmpty()) {
+                    router.route(batch.call.error(batch.error));
+                }
+                return;
+            }
+            String id = batch.adding.remove(call.matchID());
+            if (call.isError()) {
+                if (batch.error == null) {
+                    batch.error = call.args();
+                }
+            } else {
+                batch.added.add(id);
+            }
+            if (batch.adding.isEmpty()) {
+                complete(batch, router);
+            }
+        }
+
+        private void complete(Batch batch, PacketRouter router) {
+            if (batch.error == null) {
+                List<Connection> made = new ArrayList<>(batch.connections.size());
+                try {
+                    for (Connection connection : batch.connections) {
+                        handleConnection(true,
+                                connection.sourceComponent(), connection.sourcePort(),
+                                connection.targetComponent(), connection.targetPort());
+                        made.add(connection);
+                    }
+                    router.route(batch.call.reply());
+                    return;
+                } catch (PortConnectionException ex) {
+                    batch.error = List.of(PError.of(ex));
+                    for (Connection connection : made) {
+                        disconnect(connection.sourceComponent(), connection.sourcePort(),
+                                connection.targetComponent(), connection.targetPort());
+                    }
+                }
+            }
+            if (batch.added.isEmpty()) {
+                router.route(batch.call.error(batch.error));
+                return;
+            }
+            ControlAddress to = ControlAddress.of(getAddress(), ContainerProtocol.REMOVE_CHILD);
+            for (String id : batch.added) {
+                Call remove = Call.create(to, batch.call.to(), batch.call.time(),
+                        PString.of(id));
+                pending.put(remove.matchID(), batch);
+                batch.removing.add(remove.matchID());
+                router.route(remove);
+            }
+        }
+
+    }
+
+    private static class Batch {
+
+        private final Call call;
+        private final List<Connection> connections;
+        private final Map<Integer, String> adding;
+        private final List<String> added;
+        private final Set<Integer> removing;
+
+        private List<Value> error;
+
+        private Batch(Call call, List<Connection> connections, int childCount) {
+            this.call = call;
+            this.connections = connections;
+            this.adding = new HashMap<>(childCount * 2);
+            this.added = new ArrayList<>(childCount);
+            this.removing = new HashSet<>();
+        }
+
+    }
+
+    /**
+     * Index of the connections on a port, mapped to the other port of each
+     * connection. Changes to the port connections are recorded, and validated
+     * before the connections are next read or a child is removed. Connections
+     * are removed when the port is no longer connected to the other port.
+     */
+    private class PortConnections implements PortListener {
+
+        private final Port port;
+        private final Map<Connection, Port> connections;
+
+        private PortConnections(Port port) {
+            this.port = port;
+            this.connections = new LinkedHashMap<>();
         }
 
         @Override
         public void connectionsChanged(Port source) {
-            if (p1.isConnectedTo(p2) && p2.isConnectedTo(p1)) {
+            changedPorts.add(this);
+        }
+
+        private void validate() {
+            if (connections.isEmpty()) {
+                return;
+            }
+            List<? extends Port> current = port.connections();
+            Set<Port> connected;
+            if (current.size() > 8) {
+                connected = Collections.newSetFromMap(new IdentityHashMap<>());
+                connected.addAll(current);
             } else {
-                LOG.log(System.Logger.Level.TRACE, "Removing connection\n{0}", connection);
-                connections.remove(connection);
-                p1.removeListener(this);
-                p2.removeListener(this);
+                connected = null;
+            }
+            Iterator<Map.Entry<Connection, Port>> itr = connections.entrySet().iterator();
+            while (itr.hasNext()) {
+                Map.Entry<Connection, Port> entry = itr.next();
+                Port other = entry.getValue();
+                boolean isConnected = connected == null
+                        ? current.contains(other) : connected.contains(other);
+                if (!isConnected) {
+                    Connection connection = entry.getKey();
+                    LOG.log(System.Logger.Level.TRACE, "Removing connection\n{0}", connection);
+                    itr.remove();
+                    AbstractContainer.this.connections.remove(connection);
+                    unindexConnection(other, connection);
+                }
             }
+            if (connections.isEmpty()) {
+                dispose();
+            }
+        }
+
+        private void dispose() {
+            port.removeListener(this);
+            portConnections.remove(port, this);
+            changedPorts.remove(this);
         }
+
     }
 
     /**
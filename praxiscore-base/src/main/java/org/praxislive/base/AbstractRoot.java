@@ -22,7 +22,12 @@
 package org.praxislive.base;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
@@ -37,6 +42,7 @@ import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantLock;
 import org.praxislive.core.Call;
 import org.praxislive.core.ComponentAddress;
@@ -46,16 +52,52 @@ import org.praxislive.core.Packet;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.Root;
 import org.praxislive.core.RootHub;
+import org.praxislive.core.Settings;
 import org.praxislive.core.ThreadContext;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.services.ServiceUnavailableException;
 import org.praxislive.core.services.Services;
 import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
 
 /**
  * A general purpose base implementation of {@link Root}. By default uses a
  * {@link ScheduledExecutorService} but allows for attaching custom
  * {@link Delegate} implementations to drive from a thread of choice.
+ * <p>
+ * Future-dated packets are held in a binary heap by default. Setting
+ * {@code root.packet-queue} to {@code timing-wheel} selects a hierarchical
+ * timing wheel instead, which may perform better with large numbers of pending
+ * packets.
+ * <p>
+ * Inbound packets are passed through a bounded, lock-free queue. The capacity
+ * defaults to 8192, and may be configured by setting
+ * {@code root.queue-capacity}. If the queue is full, packet submission will
+ * fail. Tasks passed to {@link #invokeLater(java.lang.Runnable)} are held in a
+ * separate, unbounded queue, but are still run in submission order relative to
+ * packets.
+ * <p>
+ * Execution metrics (update cycle time, queue wait time, packets and tasks per
+ * cycle, and interrupted cycles) may be recorded by setting
+ * {@code root.metrics} to {@code true}. See {@link #getMetrics()}.
+ * <p>
+ * If no {@link ScheduledExecutorService} is provided in the lookup passed to
+ * {@link Controller#start(org.praxislive.core.Lookup)}, each root creates its
+ * own single thread scheduler and updates every 10ms. Setting
+ * {@code root.event-driven} to {@code true} instead runs each root on a virtual
+ * thread that only updates when a packet or task is received, when the next
+ * future-dated packet is due, or after an interrupted cycle. While the root is
+ * {@link State#ACTIVE_RUNNING} and the execution context has clock listeners,
+ * the root also updates every 10ms, otherwise at least once per second. While
+ * a {@link Delegate} is attached, the virtual thread falls back to checking
+ * every 10ms.
+ * <p>
+ * Setting {@code root.batch-dispatch} to {@code true} makes the default router
+ * collect packets routed from the root thread and dispatch them together, via
+ * {@link RootHub#dispatchAll(java.util.List)}, when the root releases its
+ * update lock. This delivers packets with one notification per destination
+ * root, at the cost of delaying them to the end of the current update or
+ * poll.
  */
 public abstract class AbstractRoot implements Root {
 
@@ -74,11 +116,20 @@ public abstract class AbstractRoot implements Root {
     }
 
     private static final System.Logger LOG = System.getLogger(AbstractRoot.class.getName());
+    private static final String KEY_QUEUE_CAPACITY = "root.queue-capacity";
+    private static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    private static final String KEY_METRICS = "root.metrics";
+    private static final String KEY_EVENT_DRIVEN = "root.event-driven";
+    private static final String KEY_BATCH_DISPATCH = "root.batch-dispatch";
+    private static final long UPDATE_PERIOD_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long MAX_IDLE_NS = TimeUnit.SECONDS.toNanos(1);
 
     private final AtomicReference<State> state;
     private final AtomicReference<Delegate> delegate;
-    private final Queue<Object> queue;
-    private final Queue<Object> pending;
+    private final InboundQueue queue;
+    private final Queue<Task> tasks;
+    private final Queue<Task> pendingTasks;
+    private final RootMetrics metrics;
     private final ReentrantLock lock;
     private final ThreadContext threadContext;
 
@@ -100,8 +151,10 @@ public abstract class AbstractRoot implements Root {
     protected AbstractRoot() {
         state = new AtomicReference<>(State.NEW);
         delegate = new AtomicReference<>();
-        queue = new ConcurrentLinkedQueue<>();
-        pending = new ArrayDeque<>();
+        queue = new InboundQueue(Settings.getInt(KEY_QUEUE_CAPACITY, DEFAULT_QUEUE_CAPACITY));
+        tasks = new ConcurrentLinkedQueue<>();
+        pendingTasks = new ArrayDeque<>();
+        metrics = Settings.getBoolean(KEY_METRICS, false) ? new RootMetrics() : null;
         lock = new ReentrantLock();
         lookup = Lookup.EMPTY;
         threadContext = new ThreadContextImpl();
@@ -116,7 +169,7 @@ public abstract class AbstractRoot implements Root {
             this.address = ComponentAddress.of("/" + id);
             this.hub = hub;
             this.time = hub.getClock().getTime();
-            this.pendingPackets = new PacketQueue(time);
+            this.pendingPackets = PacketQueue.create(time);
             this.context = createContext(time);
             this.router = createRouter();
             this.lookup = Lookup.of(hub.getLookup(), router, context, threadContext);
@@ -351,14 +404,20 @@ public abstract class AbstractRoot implements Root {
     }
 
     /**
-     * Submit a task to be run asynchronously on the main Root thread. The task
-     * is added to the same queue as incoming packets.
+     * Submit a task to be run asynchronously on the main Root thread. Tasks are
+     * run in order with incoming packets - after any packet submitted before
+     * the task, and before any packet submitted after it.
      *
      * @param task
      * @return true if the task has been successfully submitted
      */
     protected final boolean invokeLater(Runnable task) {
-        boolean ok = queue.add(task);
+        Objects.requireNonNull(task);
+        boolean ok;
+        // mark with the packet queue position - lock keeps marks in task order
+        synchronized (tasks) {
+            ok = tasks.add(new Task(queue.tail(), task));
+        }
         if (ok) {
             controller.onQueueReceipt();
         }
@@ -389,6 +448,10 @@ public abstract class AbstractRoot implements Root {
             }
         }
 
+        if (metrics != null) {
+            metrics.cycleStart();
+        }
+
         if (poll) {
             pollQueue();
         }
@@ -408,6 +471,9 @@ public abstract class AbstractRoot implements Root {
 
         Packet pkt = pendingPackets.poll();
         while (pkt != null) {
+            if (metrics != null) {
+                metrics.packet();
+            }
             processPacket(pkt);
             if (interrupted) {
                 break;
@@ -415,6 +481,10 @@ public abstract class AbstractRoot implements Root {
             pkt = pendingPackets.poll();
         }
 
+        if (metrics != null) {
+            metrics.cycleEnd(interrupted);
+        }
+
         return true;
     }
 
@@ -430,38 +500,75 @@ public abstract class AbstractRoot implements Root {
         }
 
         long now = context.time;
+        long clockTime = metrics != null ? hub.getClock().getTime() : 0;
 
-        for (Object obj = queue.poll(); obj != null; obj = queue.poll()) {
-            pending.add(obj);
+        // only process what is available now - tasks may add to the queue
+        int available = queue.sample();
+        for (Task task = tasks.poll(); task != null; task = tasks.poll()) {
+            pendingTasks.add(task);
         }
 
-        for (Object obj = pending.poll(); obj != null; obj = pending.poll()) {
+        for (int i = 0; i < available; i++) {
+            // run tasks submitted before this packet
+            if (!runTasks(queue.head())) {
+                return;
+            }
+            Object obj = queue.poll();
+            if (obj == null) {
+                break;
+            }
             if (obj instanceof Packet) {
                 Packet pkt = (Packet) obj;
                 if ((pkt.time() - now) > 0) {
                     pendingPackets.add(pkt);
                 } else {
+                    if (metrics != null) {
+                        metrics.packet(clockTime - pkt.time());
+                    }
                     processPacket(pkt);
                 }
-            } else if (obj instanceof Runnable) {
-                try {
-                    ((Runnable) obj).run();
-                } catch (Throwable t) {
-                    LOG.log(System.Logger.Level.ERROR, "Runnable task error", t);
-                }
             } else {
                 LOG.log(System.Logger.Level.ERROR, "Unknown Object in queue : {0}", obj);
             }
 
             if (interrupted) {
-                break;
+                return;
             }
 
         }
 
+        runTasks(Long.MAX_VALUE);
+
+    }
+
+    private boolean runTasks(long position) {
+        for (Task task = pendingTasks.peek();
+                task != null && task.mark <= position;
+                task = pendingTasks.peek()) {
+            pendingTasks.poll();
+            if (metrics != null) {
+                metrics.task();
+            }
+            try {
+                task.runnable.run();
+            } catch (Throwable t) {
+                LOG.log(System.Logger.Level.ERROR, "Runnable task error", t);
+            }
+            if (interrupted) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void shutdownQueues() {
+        Queue<Object> pending = new ArrayDeque<>();
+        for (Task task = pendingTasks.poll(); task != null; task = pendingTasks.poll()) {
+            pending.add(task.runnable);
+        }
+        for (Task task = tasks.poll(); task != null; task = tasks.poll()) {
+            pending.add(task.runnable);
+        }
         for (Object obj = queue.poll(); obj != null; obj = queue.poll()) {
             pending.add(obj);
         }
@@ -482,6 +589,59 @@ public abstract class AbstractRoot implements Root {
 
     }
 
+    /**
+     * Get the current depth of the inbound packet queue.
+     *
+     * @return queue depth
+     */
+    protected final int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Get the maximum depth of the inbound packet queue observed so
+     * far. The queue is sampled at the start of each poll. Should only be
+     * called on the root thread.
+     *
+     * @return queue high-water mark
+     */
+    protected final int getQueueHighWaterMark() {
+        return queue.highWaterMark();
+    }
+
+    /**
+     * Get the execution metrics of this Root, if enabled by setting
+     * {@code root.metrics} to {@code true}. The map contains histogram
+     * summaries of update cycle time, queue wait time (time from packet
+     * timestamp to processing), and packets and tasks per cycle, along with
+     * the number of cycles, the number of interrupted cycles, and the current
+     * queue depth and high-water mark. All times are in nanoseconds. Should
+     * only be called on the root thread.
+     *
+     * @return metrics map, or empty optional if metrics not enabled
+     */
+    protected final Optional<PMap> getMetrics() {
+        if (metrics == null) {
+            return Optional.empty();
+        }
+        return Optional.of(metrics.toMap(queue.size(), queue.highWaterMark()));
+    }
+
+    private boolean isQueueEmpty() {
+        return queue.isEmpty() && tasks.isEmpty() && pendingTasks.isEmpty();
+    }
+
+    private void unlock() {
+        if (router instanceof Router r && lock.getHoldCount() == 1) {
+            try {
+                r.flush();
+            } catch (Throwable t) {
+                LOG.log(System.Logger.Level.ERROR, "Uncaught error dispatching packets", t);
+            }
+        }
+        lock.unlock();
+    }
+
     private void processPacket(Packet packet) {
         if (packet instanceof Call) {
             Call call = (Call) packet;
@@ -506,10 +666,70 @@ public abstract class AbstractRoot implements Root {
         }
     }
 
+    private static final class Task {
+
+        private final long mark;
+        private final Runnable runnable;
+
+        private Task(long mark, Runnable runnable) {
+            this.mark = mark;
+            this.runnable = runnable;
+        }
+
+    }
+
     private class Router implements PacketRouter {
 
+        private final List<Packet> outbound;
+        private final boolean batch;
+
+        private Router() {
+            outbound = new ArrayList<>();
+            batch = Settings.getBoolean(KEY_BATCH_DISPATCH, false);
+        }
+
         @Override
         public void route(Packet packet) {
+            if (batch && lock.isHeldByCurrentThread()) {
+                outbound.add(packet);
+            } else {
+                dispatch(packet);
+            }
+        }
+
+        private void flush() {
+            while (!outbound.isEmpty()) {
+                List<Packet> packets = List.copyOf(outbound);
+                outbound.clear();
+                // dispatch each destination separately, so that an exception
+                // only fails the packets that had not been dispatched
+                String rootID = packets.get(0).rootID();
+                if (packets.stream().allMatch(p -> rootID.equals(p.rootID()))) {
+                    dispatchAll(packets);
+                } else {
+                    Map<String, List<Packet>> grouped = new LinkedHashMap<>();
+                    for (Packet packet : packets) {
+                        grouped.computeIfAbsent(packet.rootID(), id -> new ArrayList<>())
+                                .add(packet);
+                    }
+                    grouped.values().forEach(this::dispatchAll);
+                }
+            }
+        }
+
+        private void dispatchAll(List<Packet> packets) {
+            List<Packet> failed;
+            try {
+                failed = List.copyOf(hub.dispatchAll(packets));
+            } catch (Exception ex) {
+                failed = packets;
+            }
+            for (Packet packet : failed) {
+                handleFailure(packet);
+            }
+        }
+
+        private void dispatch(Packet packet) {
             boolean success;
             try {
                 success = hub.dispatch(packet);
@@ -517,11 +737,15 @@ public abstract class AbstractRoot implements Root {
                 success = false;
             }
             if (!success) {
-                if (packet instanceof Call) {
-                    Call call = (Call) packet;
-                    if (call.isReplyRequired()) {
-                        route(call.error(List.of()));
-                    }
+                handleFailure(packet);
+            }
+        }
+
+        private void handleFailure(Packet packet) {
+            if (packet instanceof Call) {
+                Call call = (Call) packet;
+                if (call.isReplyRequired()) {
+                    route(call.error(List.of()));
                 }
             }
         }
@@ -565,7 +789,7 @@ public abstract class AbstractRoot implements Root {
             try {
                 return task.call();
             } finally {
-                lock.unlock();
+                unlock();
             }
         }
 
@@ -591,6 +815,7 @@ public abstract class AbstractRoot implements Root {
 
         private ScheduledExecutorService exec;
         private ScheduledFuture<?> updateTask;
+        private Thread eventThread;
         private ThreadFactory threadFactory;
         private boolean ownsScheduler;
 
@@ -603,6 +828,21 @@ public abstract class AbstractRoot implements Root {
             return ok;
         }
 
+        @Override
+        public int submitPackets(List<Packet> packets) {
+            int count = 0;
+            for (Packet packet : packets) {
+                if (!queue.offer(packet)) {
+                    break;
+                }
+                count++;
+            }
+            if (count > 0) {
+                onQueueReceipt();
+            }
+            return count;
+        }
+
         @Override
         public void start(Lookup lookup) {
             if (state.compareAndSet(State.INITIALIZED, State.ACTIVE_IDLE)) {
@@ -611,6 +851,12 @@ public abstract class AbstractRoot implements Root {
                 this.exec = lookup
                         .find(ScheduledExecutorService.class)
                         .orElse(null);
+                if (exec == null && Settings.getBoolean(KEY_EVENT_DRIVEN, false)) {
+                    eventThread = Thread.ofVirtual().name(threadID)
+                            .unstarted(this::runEventDriven);
+                    eventThread.start();
+                    return;
+                }
                 if (exec == null) {
                     exec = Executors.newScheduledThreadPool(1, threadFactory);
                     ownsScheduler = true;
@@ -625,6 +871,9 @@ public abstract class AbstractRoot implements Root {
         public void shutdown() {
             state.updateAndGet(s -> s == State.TERMINATED
                     ? State.TERMINATED : State.TERMINATING);
+            if (eventThread != null) {
+                LockSupport.unpark(eventThread);
+            }
         }
 
         @Override
@@ -649,6 +898,10 @@ public abstract class AbstractRoot implements Root {
             Delegate del = delegate.get();
             if (del != null && !del.backgroundPoll) {
                 del.onQueueReceipt();
+            } else if (eventThread != null) {
+                if (updateQueued.compareAndSet(false, true)) {
+                    LockSupport.unpark(eventThread);
+                }
             } else {
                 if (updateQueued.compareAndSet(false, true)) {
                     exec.execute(this::doPoll);
@@ -674,14 +927,73 @@ public abstract class AbstractRoot implements Root {
             lock.lock();
             try {
                 if (!update(hub.getClock().getTime(), true)) {
-                    updateTask.cancel(false);
+                    if (updateTask != null) {
+                        updateTask.cancel(false);
+                    }
                     doTerminate();
                 }
             } catch (Throwable t) {
                 LOG.log(System.Logger.Level.ERROR, "Uncaught error", t);
             } finally {
-                lock.unlock();
+                unlock();
+            }
+        }
+
+        private void runEventDriven() {
+            try {
+                activating();
+            } catch (Throwable t) {
+                LOG.log(System.Logger.Level.ERROR, "Uncaught error in activation", t);
+                doTerminate();
+                return;
+            }
+            long lastUpdate = System.nanoTime() - UPDATE_PERIOD_NS;
+            while (state.get() != State.TERMINATED) {
+                Delegate del = delegate.get();
+                long wait;
+                if (del == null) {
+                    updateQueued.set(false);
+                    lastUpdate = System.nanoTime();
+                    doUpdate();
+                    wait = nextWakeup(lastUpdate);
+                } else {
+                    if (updateQueued.get()) {
+                        doPoll();
+                    }
+                    long now = System.nanoTime();
+                    wait = UPDATE_PERIOD_NS - (now - lastUpdate);
+                    if (wait <= 0) {
+                        lastUpdate = now;
+                        doUpdate();
+                        wait = UPDATE_PERIOD_NS;
+                    }
+                }
+                if (wait > 0 && !updateQueued.get()
+                        && state.get() != State.TERMINATED) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+        }
+
+        private long nextWakeup(long lastUpdate) {
+            State s = state.get();
+            if (s != State.ACTIVE_IDLE && s != State.ACTIVE_RUNNING) {
+                return 0;
+            }
+            if (interrupted || !isQueueEmpty()) {
+                return 0;
+            }
+            long max;
+            if (s == State.ACTIVE_RUNNING && context.hasClockListeners()) {
+                max = UPDATE_PERIOD_NS - (System.nanoTime() - lastUpdate);
+            } else {
+                max = MAX_IDLE_NS;
+            }
+            if (pendingPackets.isEmpty()) {
+                return Math.max(0, max);
             }
+            long delta = pendingPackets.nextTime() - hub.getClock().getTime();
+            return Math.max(0, Math.min(delta, max));
         }
 
         private void doPoll() {
@@ -694,7 +1006,7 @@ public abstract class AbstractRoot implements Root {
                     } catch (Throwable t) {
                         LOG.log(System.Logger.Level.ERROR, "Uncaught error", t);
                     } finally {
-                        lock.unlock();
+                        unlock();
                     }
                 }
             }
@@ -719,7 +1031,7 @@ public abstract class AbstractRoot implements Root {
                         }
                         activeFuture.complete(null);
                     } finally {
-                        lock.unlock();
+                        unlock();
                     }
                 } else {
                     s = state.get();
@@ -801,7 +1113,7 @@ public abstract class AbstractRoot implements Root {
                 LOG.log(System.Logger.Level.ERROR, "Uncaught error", t);
                 return true;
             } finally {
-                lock.unlock();
+                unlock();
             }
         }
 
@@ -819,7 +1131,7 @@ public abstract class AbstractRoot implements Root {
                 } catch (Throwable t) {
                     LOG.log(System.Logger.Level.ERROR, "Uncaught error", t);
                 } finally {
-                    lock.unlock();
+                    unlock();
                 }
             }
         }
@@ -837,7 +1149,7 @@ public abstract class AbstractRoot implements Root {
             if (time > 0) {
                 pollLock.lockInterruptibly();
                 try {
-                    if (queue.isEmpty()) {
+                    if (isQueueEmpty()) {
                         pollCondition.await(time, unit);
                     }
                 } finally {
@@ -873,7 +1185,7 @@ public abstract class AbstractRoot implements Root {
             try {
                 return task.call();
             } finally {
-                lock.unlock();
+                unlock();
             }
         }
 
@@ -21,6 +21,8 @@
  */
 package org.praxislive.base;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 import org.praxislive.core.Call;
@@ -43,16 +45,25 @@ import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PMap;
 
 /**
- *
+ * Abstract base class for root containers.
+ * <p>
+ * Incoming calls are dispatched through a cache of control address to control.
+ * The cache is cleared on any structural change, notified through the
+ * {@link HierarchyListener} in this root's lookup, and does not cache unknown
+ * addresses.
  */
 public abstract class AbstractRootContainer extends AbstractRoot implements Container {
 
+    private final static int CONTROL_CACHE_SIZE = 4096;
+
     private final ContainerImpl delegate;
+    private final ControlCache controlCache;
 
     private Lookup lookup;
 
     protected AbstractRootContainer() {
         delegate = new ContainerImpl(this);
+        controlCache = new ControlCache();
         registerControl(StartableProtocol.START, (call, router) -> {
             if (call.isRequest()) {
                 setRunning();
@@ -78,6 +89,13 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
                 router.route(call.reply(response));
             }
         });
+        registerControl("metrics", (call, router) -> {
+            if (call.isRequest()) {
+                PMap response = getMetrics().orElseThrow(
+                        () -> new UnsupportedOperationException("Metrics not enabled"));
+                router.route(call.reply(response));
+            }
+        });
     }
 
     @Override
@@ -107,6 +125,7 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
 
     @Override
     public void hierarchyChanged() {
+        controlCache.hierarchyChanged();
     }
 
     @Override
@@ -122,7 +141,7 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
     @Override
     public Lookup getLookup() {
         if (lookup == null) {
-            lookup = Lookup.of(super.getLookup(), FilteredTypes.create(this));
+            lookup = Lookup.of(super.getLookup(), FilteredTypes.create(this), controlCache);
         }
         return lookup;
     }
@@ -171,13 +190,29 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
 
     protected final void registerControl(String id, Control control) {
         delegate.registerControl(id, control);
+        controlCache.hierarchyChanged();
     }
 
     protected final void unregisterControl(String id) {
         delegate.unregisterControl(id);
+        controlCache.hierarchyChanged();
     }
 
     private Control findControl(ControlAddress address) {
+        Control control = controlCache.controls.get(address);
+        if (control == null) {
+            control = resolveControl(address);
+            if (control != null) {
+                if (controlCache.controls.size() >= CONTROL_CACHE_SIZE) {
+                    controlCache.controls.clear();
+                }
+                controlCache.controls.put(address, control);
+            }
+        }
+        return control;
+    }
+
+    private Control resolveControl(ControlAddress address) {
         Component comp = findComponent(address.component());
         if (comp != null) {
             return comp.getControl(address.controlID());
@@ -219,6 +254,17 @@ public abstract class AbstractRootContainer extends AbstractRoot implements Cont
         return writer.build();
     }
 
+    private static class ControlCache implements HierarchyListener {
+
+        private final Map<ControlAddress, Control> controls = new HashMap<>();
+
+        @Override
+        public void hierarchyChanged() {
+            controls.clear();
+        }
+
+    }
+
     private static class ContainerImpl extends AbstractContainer.Delegate {
 
         private final AbstractRootContainer wrapper;
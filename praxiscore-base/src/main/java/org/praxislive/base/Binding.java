@@ -38,7 +38,9 @@ public abstract class Binding {
     /**
      * Rates for periodic syncing. Except for {@code None}, how these values
      * translate to a sync period in milliseconds is governed by the
-     * {@link BindingContext} implementation.
+     * {@link BindingContext} implementation. A BindingContext may subscribe to
+     * be pushed changes rather than polling, in which case the sync rate is the
+     * maximum rate at which changes will be pushed.
      */
     public static enum SyncRate {
 
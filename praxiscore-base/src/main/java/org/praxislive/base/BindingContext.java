@@ -48,4 +48,18 @@ public interface BindingContext {
      */
     public void unbind(ControlAddress address, Binding.Adaptor adaptor);
 
+    /**
+     * Hint that the value of the property at the given address may have
+     * changed. Implementations that push property changes to subscribers may
+     * use this to check the value in the next update cycle rather than waiting
+     * for the next periodic check. Multiple hints within an update cycle should
+     * be coalesced.
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param address address of changed property
+     */
+    public default void changed(ControlAddress address) {
+    }
+
 }
@@ -23,6 +23,8 @@ package org.praxislive.base;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -41,11 +43,25 @@ import org.praxislive.core.ControlInfo;
 import org.praxislive.core.ExecutionContext;
 import org.praxislive.core.Value;
 import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.types.PString;
 
 /**
  * An implementation of BindingContext based around a single Control. A
  * container just needs to provide an instance as a (hidden) control, and make
  * it available via Lookup.
+ * <p>
+ * Bindings to properties in another root will subscribe to be pushed changes,
+ * rather than polling, if the other root has a BindingContextControl
+ * registered under the same control ID. The subscriber sends a request of
+ * {@code subscribe <address> <rate>}, where rate is the name of a
+ * {@link Binding.SyncRate}, and renews it periodically. The publishing control
+ * reads the property at most once per update cycle, and only when the value
+ * might have changed or the fastest subscriber's sync period has elapsed. It
+ * sends quiet calls of {@code push <address> <values...>} to each subscriber,
+ * only if the values differ from those last pushed, and no more often than
+ * that subscriber's sync rate. A subscriber sends {@code unsubscribe
+ * <address>} when it no longer requires syncing. If the other root does not
+ * support subscriptions, the binding falls back to polling.
  */
 public class BindingContextControl implements Control, BindingContext {
 
@@ -56,12 +72,20 @@ public class BindingContextControl implements Control, BindingContext {
     private static final long HIGH_SYNC_DELAY = TimeUnit.MILLISECONDS.toNanos(50);
     private static final long INVOKE_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(5000);
     private static final long QUIET_TIMEOUT = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long LEASE_PERIOD = TimeUnit.MILLISECONDS.toNanos(5000);
+    private static final long LEASE_TIMEOUT = LEASE_PERIOD * 3;
+
+    private static final String SUBSCRIBE = "subscribe";
+    private static final String UNSUBSCRIBE = "unsubscribe";
+    private static final String PUSH = "push";
 
     private final ExecutionContext context;
     private final PacketRouter router;
     private final ControlAddress controlAddress;
     private final Map<ControlAddress, BindingImpl> bindings;
     private final Set<BindingImpl> syncing;
+    private final Map<Integer, BindingImpl> subscribing;
+    private final Map<ControlAddress, Publication> publications;
 
     /**
      * Create a BindingContextControl.
@@ -81,6 +105,8 @@ public class BindingContextControl implements Control, BindingContext {
         this.router = Objects.requireNonNull(router);
         bindings = new LinkedHashMap<>();
         syncing = new CopyOnWriteArraySet<>();
+        subscribing = new HashMap<>();
+        publications = new LinkedHashMap<>();
         context.addClockListener(this::tick);
     }
 
@@ -108,9 +134,26 @@ public class BindingContextControl implements Control, BindingContext {
         }
     }
 
+    @Override
+    public void changed(ControlAddress address) {
+        Publication publication = publications.get(address);
+        if (publication != null) {
+            publication.dirty = true;
+        }
+    }
+
     @Override
     public void call(Call call, PacketRouter router) throws Exception {
         if (call.isReply() || call.isError()) {
+            BindingImpl subscriber = subscribing.remove(call.matchID());
+            if (subscriber != null) {
+                subscriber.processSubscribeResponse(call);
+                return;
+            }
+            Publication publication = publications.get(call.from());
+            if (publication != null) {
+                publication.process(call);
+            }
             if (call.from().controlID().equals(ComponentProtocol.INFO)) {
                 ComponentAddress infoOf = call.from().component();
                 bindings.forEach((a, b) -> {
@@ -125,13 +168,114 @@ public class BindingContextControl implements Control, BindingContext {
                 }
             }
         } else {
-            throw new UnsupportedOperationException();
+            processRequest(call, router);
+        }
+    }
+
+    private void processRequest(Call call, PacketRouter router) throws Exception {
+        List<Value> args = call.args();
+        String type = args.isEmpty() ? "" : args.get(0).toString();
+        switch (type) {
+            case SUBSCRIBE -> {
+                if (args.size() != 3) {
+                    throw new IllegalArgumentException();
+                }
+                ControlAddress address = ControlAddress.from(args.get(1))
+                        .orElseThrow(IllegalArgumentException::new);
+                Binding.SyncRate rate = Binding.SyncRate.valueOf(args.get(2).toString());
+                subscribe(address, call.from(), rate);
+                if (call.isReplyRequired()) {
+                    router.route(call.reply());
+                }
+            }
+            case UNSUBSCRIBE -> {
+                ControlAddress address = ControlAddress.from(args.get(1))
+                        .orElseThrow(IllegalArgumentException::new);
+                subscribe(address, call.from(), Binding.SyncRate.None);
+                if (call.isReplyRequired()) {
+                    router.route(call.reply());
+                }
+            }
+            case PUSH -> {
+                ControlAddress address = ControlAddress.from(args.get(1))
+                        .orElseThrow(IllegalArgumentException::new);
+                BindingImpl binding = bindings.get(address);
+                if (binding != null && (binding.pushState == PushState.Active
+                        || binding.pushState == PushState.Pending)) {
+                    binding.processPush(args.subList(2, args.size()));
+                } else {
+                    router.route(Call.createQuiet(call.from(), controlAddress,
+                            context.getTime(),
+                            List.of(PString.of(UNSUBSCRIBE), address)));
+                }
+            }
+            default ->
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    private void subscribe(ControlAddress address, ControlAddress subscriber,
+            Binding.SyncRate rate) {
+        Publication publication = publications.get(address);
+        if (rate == Binding.SyncRate.None) {
+            if (publication != null) {
+                publication.subscribers.remove(subscriber);
+            }
+            return;
+        }
+        if (publication == null) {
+            publication = new Publication(address);
+            publications.put(address, publication);
+        }
+        long time = context.getTime();
+        Subscription subscription = publication.subscribers.get(subscriber);
+        if (subscription == null) {
+            subscription = new Subscription(subscriber);
+            publication.subscribers.put(subscriber, subscription);
         }
+        subscription.period = delayForRate(rate);
+        subscription.expiry = time + LEASE_TIMEOUT;
+        publication.updatePollPeriod();
     }
 
     private void tick(ExecutionContext source) {
         long time = source.getTime();
         syncing.forEach(b -> b.processSync(time));
+        if (!publications.isEmpty()) {
+            Iterator<Publication> itr = publications.values().iterator();
+            while (itr.hasNext()) {
+                Publication publication = itr.next();
+                publication.processSync(time);
+                if (publication.subscribers.isEmpty()) {
+                    itr.remove();
+                }
+            }
+        }
+    }
+
+    private static long delayForRate(Binding.SyncRate rate) {
+        return switch (rate) {
+            case Low ->
+                LOW_SYNC_DELAY;
+            case Medium ->
+                MED_SYNC_DELAY;
+            case High ->
+                HIGH_SYNC_DELAY;
+            case None ->
+                0;
+        };
+    }
+
+    private static boolean isTimedOut(Call call, long time) {
+        if (call.isReplyRequired()) {
+            return (time - call.time()) >= INVOKE_TIMEOUT;
+        } else {
+            return (time - call.time()) >= QUIET_TIMEOUT;
+        }
+    }
+
+    private static enum PushState {
+        None, Pending, Active, Unsupported
     }
 
     private class BindingImpl extends Binding {
@@ -139,6 +283,7 @@ public class BindingContextControl implements Control, BindingContext {
         private final List<Binding.Adaptor> adaptors;
         private final ControlAddress boundAddress;
         private final InfoAdaptor infoAdaptor;
+        private final ControlAddress pushAddress;
 
         private ControlInfo bindingInfo;
         private long nextSyncTime;
@@ -150,10 +295,23 @@ public class BindingContextControl implements Control, BindingContext {
         private Adaptor activeAdaptor;
         private List<Value> values;
 
+        private PushState pushState;
+        private SyncRate pushRate;
+        private Call subscribeCall;
+        private long nextSubscribeTime;
+
         private BindingImpl(ControlAddress boundAddress) {
             adaptors = new ArrayList<>();
             this.boundAddress = boundAddress;
             values = List.of();
+            pushState = PushState.None;
+            String boundRoot = boundAddress.component().rootID();
+            if (boundRoot.equals(controlAddress.component().rootID())) {
+                pushAddress = null;
+            } else {
+                pushAddress = ControlAddress.of(ComponentAddress.of("/" + boundRoot),
+                        controlAddress.controlID());
+            }
             if (ComponentProtocol.INFO.equals(boundAddress.controlID())) {
                 infoAdaptor = null;
                 bindingInfo = ComponentProtocol.INFO_INFO;
@@ -230,6 +388,7 @@ public class BindingContextControl implements Control, BindingContext {
         }
 
         private void dispose() {
+            unsubscribe();
             if (infoAdaptor != null) {
                 ControlAddress infoAddress = boundAddress.component()
                         .control(ComponentProtocol.INFO);
@@ -260,24 +419,74 @@ public class BindingContextControl implements Control, BindingContext {
             if (!isSyncable || !active || highRate == SyncRate.None) {
                 syncPeriod = 0;
                 syncing.remove(this);
+                unsubscribe();
             } else {
                 syncPeriod = delayForRate(highRate);
                 nextSyncTime = 0;
                 syncing.add(this);
+                subscribe(highRate);
+            }
+        }
+
+        private void subscribe(SyncRate rate) {
+            if (pushAddress == null || rate == pushRate) {
+                return;
+            }
+            pushRate = rate;
+            if (pushState != PushState.Unsupported) {
+                sendSubscribe(context.getTime());
             }
         }
 
-        private long delayForRate(SyncRate rate) {
-            return switch (rate) {
-                case Low ->
-                    LOW_SYNC_DELAY;
-                case Medium ->
-                    MED_SYNC_DELAY;
-                case High ->
-                    HIGH_SYNC_DELAY;
-                case None ->
-                    0;
-            };
+        private void sendSubscribe(long time) {
+            if (subscribeCall != null) {
+                subscribing.remove(subscribeCall.matchID());
+            }
+            subscribeCall = Call.create(pushAddress, controlAddress, time,
+                    List.of(PString.of(SUBSCRIBE), boundAddress, PString.of(pushRate.name())));
+            router.route(subscribeCall);
+            subscribing.put(subscribeCall.matchID(), this);
+            nextSubscribeTime = time + LEASE_PERIOD;
+            if (pushState == PushState.None) {
+                pushState = PushState.Pending;
+            }
+        }
+
+        private void unsubscribe() {
+            if (subscribeCall != null) {
+                subscribing.remove(subscribeCall.matchID());
+                subscribeCall = null;
+            }
+            if (pushState == PushState.Pending || pushState == PushState.Active) {
+                router.route(Call.createQuiet(pushAddress, controlAddress,
+                        context.getTime(),
+                        List.of(PString.of(UNSUBSCRIBE), boundAddress)));
+            }
+            pushState = PushState.None;
+            pushRate = null;
+        }
+
+        private void processSubscribeResponse(Call call) {
+            subscribeCall = null;
+            if (pushRate == null) {
+                // unsubscribed while waiting for response
+                return;
+            }
+            if (call.isReply()) {
+                pushState = PushState.Active;
+            } else {
+                LOG.log(System.Logger.Level.DEBUG,
+                        "Subscription not supported, polling {0}", boundAddress);
+                pushState = PushState.Unsupported;
+            }
+        }
+
+        private void processPush(List<Value> args) {
+            if (activeCall != null && activeAdaptor != null) {
+                return;
+            }
+            values = List.copyOf(args);
+            adaptors.forEach(Adaptor::update);
         }
 
         private void updateInfo(ControlInfo info) {
@@ -337,6 +546,16 @@ public class BindingContextControl implements Control, BindingContext {
         }
 
         private void processSync(long time) {
+            if (pushRate != null && nextSubscribeTime - time <= 0) {
+                sendSubscribe(time);
+            }
+            if (pushState == PushState.Active) {
+                if (activeCall != null && isTimedOut(activeCall, time)) {
+                    activeCall = null;
+                    activeAdaptor = null;
+                }
+                return;
+            }
             if (nextSyncTime == 0 || nextSyncTime - time < 0) {
                 nextSyncTime = time + syncPeriod;
             }
@@ -376,4 +595,103 @@ public class BindingContextControl implements Control, BindingContext {
         }
 
     }
+
+    private class Publication {
+
+        private final ControlAddress address;
+        private final Map<ControlAddress, Subscription> subscribers;
+
+        private List<Value> values;
+        private Call activeCall;
+        private boolean dirty;
+        private long pollPeriod;
+        private long nextPollTime;
+
+        private Publication(ControlAddress address) {
+            this.address = address;
+            this.subscribers = new LinkedHashMap<>();
+            this.dirty = true;
+        }
+
+        private void updatePollPeriod() {
+            pollPeriod = subscribers.values().stream()
+                    .mapToLong(s -> s.period)
+                    .min()
+                    .orElse(0);
+            dirty = true;
+        }
+
+        private void process(Call call) {
+            if (activeCall != null && call.matchID() == activeCall.matchID()) {
+                activeCall = null;
+                if (call.isReply()) {
+                    values = call.args();
+                    push(context.getTime());
+                } else {
+                    LOG.log(System.Logger.Level.DEBUG,
+                            "Error on publication sync call - {0}", address);
+                }
+            }
+        }
+
+        private void processSync(long time) {
+            if (subscribers.values().removeIf(s -> time - s.expiry > 0)) {
+                if (subscribers.isEmpty()) {
+                    return;
+                }
+                updatePollPeriod();
+            }
+            if (activeCall != null) {
+                if (!isTimedOut(activeCall, time)) {
+                    push(time);
+                    return;
+                }
+                activeCall = null;
+            }
+            if (dirty || nextPollTime - time <= 0) {
+                Call call = Call.create(address, controlAddress, time);
+                router.route(call);
+                activeCall = call;
+                dirty = false;
+                nextPollTime = time + pollPeriod;
+            }
+            push(time);
+        }
+
+        private void push(long time) {
+            if (values == null) {
+                return;
+            }
+            for (Subscription subscription : subscribers.values()) {
+                if (!values.equals(subscription.sent)
+                        && subscription.nextPushTime - time <= 0) {
+                    List<Value> args = new ArrayList<>(values.size() + 2);
+                    args.add(PString.of(PUSH));
+                    args.add(address);
+                    args.addAll(values);
+                    router.route(Call.createQuiet(subscription.subscriber,
+                            controlAddress, time, args));
+                    subscription.sent = values;
+                    subscription.nextPushTime = time + subscription.period;
+                }
+            }
+        }
+
+    }
+
+    private static class Subscription {
+
+        private final ControlAddress subscriber;
+
+        private List<Value> sent;
+        private long period;
+        private long expiry;
+        private long nextPushTime;
+
+        private Subscription(ControlAddress subscriber) {
+            this.subscriber = subscriber;
+        }
+
+    }
+
 }
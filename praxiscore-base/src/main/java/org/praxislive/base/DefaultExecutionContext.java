@@ -137,6 +137,10 @@ public class DefaultExecutionContext implements ExecutionContext {
         return startTime;
     }
 
+    boolean hasClockListeners() {
+        return !clockListeners.isEmpty();
+    }
+
     private void fireStateListeners() {
         stateListeners.forEach(l -> l.stateChanged(this));
     }
@@ -0,0 +1,55 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import org.praxislive.core.Lookup;
+
+/**
+ * A listener for structural changes anywhere within a root - components added
+ * or removed, controls registered or unregistered, or code contexts replaced.
+ * Roots may include an implementation in their lookup in order to invalidate
+ * any cached address lookups, eg. the control dispatch cache in
+ * {@link AbstractRootContainer}.
+ * <p>
+ * The base and code component implementations notify automatically. Other
+ * component implementations that change their children or controls after
+ * being added to a root should call {@link #notify(org.praxislive.core.Lookup)}
+ * with their lookup.
+ */
+@FunctionalInterface
+public interface HierarchyListener {
+
+    /**
+     * Called when the structure of the hierarchy has changed.
+     */
+    public void hierarchyChanged();
+
+    /**
+     * Notify the listener in the provided lookup, if there is one.
+     *
+     * @param lookup lookup to search
+     */
+    public static void notify(Lookup lookup) {
+        lookup.find(HierarchyListener.class).ifPresent(HierarchyListener::hierarchyChanged);
+    }
+
+}
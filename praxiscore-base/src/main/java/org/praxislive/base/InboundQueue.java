@@ -0,0 +1,156 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free, multi-producer single-consumer ring buffer used for the
+ * inbound packet and task queue of {@link AbstractRoot}. Offering and polling
+ * do not allocate. Offering fails if the queue is full.
+ * <p>
+ * Any thread may call {@link #offer(java.lang.Object)}. All other methods,
+ * except {@link #size()} and {@link #isEmpty()}, must only be called from the
+ * consumer (root) thread.
+ */
+final class InboundQueue {
+
+    private final AtomicReferenceArray<Object> buffer;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail;
+    private final AtomicLong head;
+
+    private int highWaterMark;
+
+    InboundQueue(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.capacity = size;
+        this.mask = size - 1;
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+    }
+
+    /**
+     * Add an element to the queue.
+     *
+     * @param obj element
+     * @return false if the queue is full
+     */
+    boolean offer(Object obj) {
+        if (obj == null) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() >= capacity) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                buffer.lazySet((int) (t & mask), obj);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Remove the next element from the queue. May return null if a producer
+     * has claimed the next slot but not yet published into it, in which case
+     * the element will be available after the producer's offer completes.
+     *
+     * @return next element or null
+     */
+    Object poll() {
+        long h = head.get();
+        int idx = (int) (h & mask);
+        Object obj = buffer.get(idx);
+        if (obj == null) {
+            return null;
+        }
+        buffer.lazySet(idx, null);
+        head.lazySet(h + 1);
+        return obj;
+    }
+
+    /**
+     * Sample the current queue depth and update the high-water mark. Must be
+     * called from the consumer thread.
+     *
+     * @return current depth
+     */
+    int sample() {
+        int depth = size();
+        if (depth > highWaterMark) {
+            highWaterMark = depth;
+        }
+        return depth;
+    }
+
+    /**
+     * Approximate number of elements in the queue.
+     *
+     * @return queue depth
+     */
+    int size() {
+        long h = head.get();
+        long t = tail.get();
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+
+    /**
+     * Position of the next element to be offered, ie. the total number of
+     * elements offered so far. May be called from any thread.
+     *
+     * @return tail position
+     */
+    long tail() {
+        return tail.get();
+    }
+
+    /**
+     * Position of the next element to be polled. Must be called from the
+     * consumer thread.
+     *
+     * @return head position
+     */
+    long head() {
+        return head.get();
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int highWaterMark() {
+        return highWaterMark;
+    }
+
+}
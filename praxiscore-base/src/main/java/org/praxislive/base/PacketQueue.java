@@ -24,21 +24,50 @@ package org.praxislive.base;
 import java.util.Collection;
 import java.util.PriorityQueue;
 import org.praxislive.core.Packet;
+import org.praxislive.core.Settings;
 
 /**
- *
+ * Queue of future-dated packets, ordered by time and then by packet ID. The
+ * default implementation uses a binary heap. A hierarchical timing wheel
+ * implementation may be selected by setting {@link #KEY_PACKET_QUEUE} to
+ * {@code timing-wheel}.
  */
-class PacketQueue {
-    
-    private final PriorityQueue<Packet> q;
-    private long time;
+abstract class PacketQueue {
+
+    static final String KEY_PACKET_QUEUE = "root.packet-queue";
+    static final String TIMING_WHEEL = "timing-wheel";
+
+    long time;
 
     PacketQueue(long time) {
-        q = new PriorityQueue<>(this::compare);
         this.time = time;
     }
 
-    private int compare(Packet p1, Packet p2) {
+    void setTime(long time) {
+        this.time = time;
+    }
+
+    long getTime() {
+        return this.time;
+    }
+
+    abstract void add(Packet packet);
+
+    abstract Packet poll();
+
+    abstract void drainTo(Collection<Object> queue);
+
+    abstract boolean isEmpty();
+
+    /**
+     * A time before or equal to the time of the next queued packet. Only valid
+     * if the queue is not empty.
+     *
+     * @return time of next packet
+     */
+    abstract long nextTime();
+
+    static int compare(Packet p1, Packet p2) {
         if (p1 == p2) {
             return 0;
         }
@@ -50,28 +79,61 @@ class PacketQueue {
         return timeDiff < 0 ? -1 : 1;
     }
 
-    void setTime(long time) {
-        this.time = time;
+    static PacketQueue create(long time) {
+        if (TIMING_WHEEL.equals(Settings.get(KEY_PACKET_QUEUE))) {
+            return timingWheel(time);
+        } else {
+            return heap(time);
+        }
     }
 
-    long getTime() {
-        return this.time;
+    static PacketQueue heap(long time) {
+        return new Heap(time);
     }
 
-    void add(Packet packet) {
-        q.add(packet);
+    static PacketQueue timingWheel(long time) {
+        return new TimingWheelPacketQueue(time);
     }
 
-    Packet poll() {
-        if (!q.isEmpty() && q.peek().time() - time <= 0) {
-            return q.poll();
+    private static class Heap extends PacketQueue {
+
+        private final PriorityQueue<Packet> q;
+
+        private Heap(long time) {
+            super(time);
+            q = new PriorityQueue<>(PacketQueue::compare);
         }
-        return null;
-    }
-    
-    void drainTo(Collection<Object> queue) {
-        queue.addAll(q);
-        q.clear();
+
+        @Override
+        void add(Packet packet) {
+            q.add(packet);
+        }
+
+        @Override
+        Packet poll() {
+            if (!q.isEmpty() && q.peek().time() - time <= 0) {
+                return q.poll();
+            }
+            return null;
+        }
+
+        @Override
+        void drainTo(Collection<Object> queue) {
+            queue.addAll(q);
+            q.clear();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return q.isEmpty();
+        }
+
+        @Override
+        long nextTime() {
+            Packet next = q.peek();
+            return next == null ? time : next.time();
+        }
+
     }
-    
+
 }
@@ -0,0 +1,199 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import org.praxislive.core.types.PMap;
+
+/**
+ * Execution metrics for {@link AbstractRoot}. Recording is allocation-free,
+ * using fixed log-linear bucket histograms. All methods must be called on the
+ * root thread.
+ */
+final class RootMetrics {
+
+    static final String KEY_CYCLE_TIME = "cycle-time";
+    static final String KEY_QUEUE_WAIT = "queue-wait";
+    static final String KEY_PACKETS = "packets-per-cycle";
+    static final String KEY_TASKS = "tasks-per-cycle";
+    static final String KEY_CYCLES = "cycles";
+    static final String KEY_INTERRUPTED = "interrupted-cycles";
+    static final String KEY_QUEUE_DEPTH = "queue-depth";
+    static final String KEY_QUEUE_HIGH_WATER_MARK = "queue-high-water-mark";
+
+    private final Histogram cycleTime;
+    private final Histogram queueWait;
+    private final Histogram packets;
+    private final Histogram tasks;
+
+    private long cycleStart;
+    private int cyclePackets;
+    private int cycleTasks;
+    private long interruptedCycles;
+
+    RootMetrics() {
+        cycleTime = new Histogram();
+        queueWait = new Histogram();
+        packets = new Histogram();
+        tasks = new Histogram();
+    }
+
+    void cycleStart() {
+        cycleStart = System.nanoTime();
+    }
+
+    void cycleEnd(boolean interrupted) {
+        cycleTime.record(System.nanoTime() - cycleStart);
+        packets.record(cyclePackets);
+        tasks.record(cycleTasks);
+        cyclePackets = 0;
+        cycleTasks = 0;
+        if (interrupted) {
+            interruptedCycles++;
+        }
+    }
+
+    void packet() {
+        cyclePackets++;
+    }
+
+    void packet(long wait) {
+        cyclePackets++;
+        queueWait.record(wait);
+    }
+
+    void task() {
+        cycleTasks++;
+    }
+
+    PMap toMap(int queueDepth, int queueHighWaterMark) {
+        return PMap.builder()
+                .put(KEY_CYCLES, cycleTime.count)
+                .put(KEY_INTERRUPTED, interruptedCycles)
+                .put(KEY_CYCLE_TIME, cycleTime.toMap())
+                .put(KEY_QUEUE_WAIT, queueWait.toMap())
+                .put(KEY_PACKETS, packets.toMap())
+                .put(KEY_TASKS, tasks.toMap())
+                .put(KEY_QUEUE_DEPTH, queueDepth)
+                .put(KEY_QUEUE_HIGH_WATER_MARK, queueHighWaterMark)
+                .build();
+    }
+
+    /**
+     * Log-linear histogram of non-negative long values. Values below 16 are
+     * recorded exactly. Above that, each power of two is split into 8 linear
+     * sub-buckets, giving a worst case relative error of 12.5%.
+     */
+    static final class Histogram {
+
+        private static final int SUB_BITS = 3;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final int LINEAR = SUB_COUNT * 2;
+        private static final int LINEAR_BITS = SUB_BITS + 1;
+        private static final int BUCKETS = LINEAR + (63 - LINEAR_BITS) * SUB_COUNT;
+
+        private final long[] counts;
+
+        private long count;
+        private long sum;
+        private long min;
+        private long max;
+
+        Histogram() {
+            counts = new long[BUCKETS];
+            min = Long.MAX_VALUE;
+        }
+
+        void record(long value) {
+            if (value < 0) {
+                value = 0;
+            }
+            counts[index(value)]++;
+            count++;
+            sum += value;
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+        }
+
+        long count() {
+            return count;
+        }
+
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(count * percentile / 100);
+            if (target < 1) {
+                target = 1;
+            }
+            long acc = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                acc += counts[i];
+                if (acc >= target) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        PMap toMap() {
+            if (count == 0) {
+                return PMap.of("count", 0);
+            }
+            return PMap.builder()
+                    .put("count", count)
+                    .put("min", min)
+                    .put("mean", (double) sum / count)
+                    .put("p50", percentile(50))
+                    .put("p90", percentile(90))
+                    .put("p99", percentile(99))
+                    .put("p99.9", percentile(99.9))
+                    .put("max", max)
+                    .build();
+        }
+
+        static int index(long value) {
+            if (value < LINEAR) {
+                return (int) value;
+            }
+            int exp = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+            return LINEAR + (exp - LINEAR_BITS) * SUB_COUNT + sub;
+        }
+
+        static long upperBound(int index) {
+            if (index < LINEAR) {
+                return index;
+            }
+            int exp = (index - LINEAR) / SUB_COUNT + LINEAR_BITS;
+            int sub = (index - LINEAR) % SUB_COUNT;
+            long lower = (long) (SUB_COUNT + sub) << (exp - SUB_BITS);
+            return lower + (1L << (exp - SUB_BITS)) - 1;
+        }
+
+    }
+
+}
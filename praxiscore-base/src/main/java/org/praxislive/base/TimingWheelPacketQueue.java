@@ -0,0 +1,247 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.PriorityQueue;
+import org.praxislive.core.Packet;
+
+/**
+ * A {@link PacketQueue} implementation using a hierarchical timing wheel keyed
+ * on clock time in nanoseconds. Adding a packet is constant time. Packets are
+ * cascaded down through the wheel levels as time advances, and moved into a
+ * small due queue once their tick is reached, where they are ordered by exact
+ * time and packet ID.
+ * <p>
+ * Each tick is 2<sup>20</sup>ns (~1ms). Five levels of 64 slots cover ~13
+ * days. Packets further in the future are parked in the top level and
+ * re-evaluated as it cascades.
+ */
+final class TimingWheelPacketQueue extends PacketQueue {
+
+    private static final int TICK_SHIFT = 20;
+    private static final long TICK_NANOS = 1L << TICK_SHIFT;
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 5;
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+    private static final long MAX_STEP_TICKS = 1L << (WHEEL_BITS * 2);
+
+    private final Slot[][] wheels;
+    private final PriorityQueue<Packet> due;
+
+    private Slot scratch;
+    private long wheelTime;
+    private long tick;
+    private int count;
+
+    TimingWheelPacketQueue(long time) {
+        super(time);
+        this.wheels = new Slot[LEVELS][WHEEL_SIZE];
+        for (Slot[] wheel : wheels) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                wheel[i] = new Slot();
+            }
+        }
+        this.due = new PriorityQueue<>(PacketQueue::compare);
+        this.scratch = new Slot();
+        this.wheelTime = time;
+    }
+
+    @Override
+    void setTime(long time) {
+        super.setTime(time);
+        long delta = time - wheelTime;
+        if (delta < TICK_NANOS) {
+            return;
+        }
+        long ticks = delta >>> TICK_SHIFT;
+        if (count == 0) {
+            advance(ticks);
+        } else if (ticks > MAX_STEP_TICKS) {
+            rebuild(ticks);
+        } else {
+            for (long t = 0; t < ticks; t++) {
+                step();
+            }
+        }
+    }
+
+    @Override
+    void add(Packet packet) {
+        long delta = packet.time() - wheelTime;
+        if (delta < TICK_NANOS) {
+            due.add(packet);
+        } else {
+            insert(packet, delta >>> TICK_SHIFT);
+        }
+    }
+
+    @Override
+    Packet poll() {
+        Packet pkt = due.peek();
+        if (pkt != null && pkt.time() - time <= 0) {
+            return due.poll();
+        }
+        return null;
+    }
+
+    @Override
+    void drainTo(Collection<Object> queue) {
+        queue.addAll(due);
+        due.clear();
+        for (Slot[] wheel : wheels) {
+            for (Slot slot : wheel) {
+                slot.drainTo(queue);
+            }
+        }
+        count = 0;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return due.isEmpty() && count == 0;
+    }
+
+    @Override
+    long nextTime() {
+        Packet next = due.peek();
+        if (next != null) {
+            return next.time();
+        }
+        if (count == 0) {
+            return time;
+        }
+        // first non-empty level 0 slot, or next cascade
+        for (int i = 1; i <= WHEEL_SIZE; i++) {
+            long t = tick + i;
+            if ((t & WHEEL_MASK) == 0 || wheels[0][(int) (t & WHEEL_MASK)].size > 0) {
+                return wheelTime + ((long) i << TICK_SHIFT);
+            }
+        }
+        return wheelTime + TICK_NANOS;
+    }
+
+    private void insert(Packet packet, long ticks) {
+        if (ticks > MAX_TICKS) {
+            ticks = MAX_TICKS;
+        }
+        long target = tick + ticks;
+        int level = 0;
+        while (ticks >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        int idx = (int) ((target >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        wheels[level][idx].add(packet);
+        count++;
+    }
+
+    private void advance(long ticks) {
+        tick += ticks;
+        wheelTime += ticks << TICK_SHIFT;
+    }
+
+    private void step() {
+        advance(1);
+        int idx = (int) (tick & WHEEL_MASK);
+        if (idx == 0) {
+            for (int level = 1; level < LEVELS; level++) {
+                int cidx = (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                cascade(level, cidx);
+                if (cidx != 0) {
+                    break;
+                }
+            }
+        }
+        Slot slot = wheels[0][idx];
+        count -= slot.size;
+        slot.drainTo(due);
+    }
+
+    private void cascade(int level, int idx) {
+        Slot slot = wheels[level][idx];
+        if (slot.size == 0) {
+            return;
+        }
+        wheels[level][idx] = scratch;
+        scratch = slot;
+        count -= slot.size;
+        for (int i = 0; i < slot.size; i++) {
+            add(slot.packets[i]);
+        }
+        slot.clear();
+    }
+
+    private void rebuild(long ticks) {
+        for (Slot[] wheel : wheels) {
+            for (Slot slot : wheel) {
+                slot.drainTo(scratch);
+            }
+        }
+        count = 0;
+        advance(ticks);
+        for (int i = 0; i < scratch.size; i++) {
+            add(scratch.packets[i]);
+        }
+        scratch.clear();
+    }
+
+    private static final class Slot {
+
+        private Packet[] packets;
+        private int size;
+
+        private Slot() {
+            packets = new Packet[4];
+        }
+
+        private void add(Packet packet) {
+            if (size == packets.length) {
+                packets = Arrays.copyOf(packets, size * 2);
+            }
+            packets[size++] = packet;
+        }
+
+        private void drainTo(Slot slot) {
+            for (int i = 0; i < size; i++) {
+                slot.add(packets[i]);
+            }
+            clear();
+        }
+
+        private void drainTo(Collection<? super Packet> queue) {
+            for (int i = 0; i < size; i++) {
+                queue.add(packets[i]);
+            }
+            clear();
+        }
+
+        private void clear() {
+            Arrays.fill(packets, 0, size, null);
+            size = 0;
+        }
+
+    }
+
+}
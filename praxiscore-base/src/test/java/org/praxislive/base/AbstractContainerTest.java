@@ -0,0 +1,312 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Call;
+import org.praxislive.core.Component;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ComponentType;
+import org.praxislive.core.Connection;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Port;
+import org.praxislive.core.PortConnectionException;
+import org.praxislive.core.PortListener;
+import org.praxislive.core.VetoException;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.protocols.ContainerProtocol;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PString;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class AbstractContainerTest {
+
+    private static final ComponentAddress ADDRESS = ComponentAddress.of("/test");
+    private static final ComponentType TYPE = ComponentType.of("test:node");
+    private static final ComponentType INVALID = ComponentType.of("test:invalid");
+    private static final int NODES = 10_000;
+
+    public AbstractContainerTest() {
+    }
+
+    @Test
+    public void testChildIndex() throws Exception {
+        ContainerImpl container = new ContainerImpl();
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            Node node = new Node();
+            container.addChild("n" + i, node);
+            nodes.add(node);
+        }
+        for (int i = 0; i < NODES; i++) {
+            assertEquals("n" + i, container.getChildID(nodes.get(i)));
+            assertEquals(ComponentAddress.of(ADDRESS, "n" + i),
+                    container.getAddress(nodes.get(i)));
+        }
+        assertThrows(VetoException.class, () -> container.addChild("other", nodes.get(0)));
+        assertNull(container.getChild("other"));
+        container.removeChild("n0");
+        assertNull(container.getChildID(nodes.get(0)));
+        container.reorderChildren(List.of("n2", "n1"));
+        assertEquals("n1", container.getChildID(nodes.get(1)));
+        assertEquals("n2", container.children().findFirst().orElseThrow());
+    }
+
+    @Test
+    public void testConnectionIndex() throws Exception {
+        ContainerImpl container = new ContainerImpl();
+        Node source = new Node();
+        container.addChild("source", source);
+        for (int i = 0; i < NODES; i++) {
+            container.addChild("n" + i, new Node());
+            container.connect("source", "out", "n" + i, "in");
+        }
+        assertEquals(NODES, connections(container).size());
+        container.disconnect("source", "out", "n0", "in");
+        assertEquals(NODES - 1, connections(container).size());
+        container.removeChild("n1");
+        assertEquals(NODES - 2, connections(container).size());
+        assertFalse(connections(container).asList().contains(Connection.of("source", "out", "n1", "in")));
+        container.removeChild("source");
+        assertTrue(connections(container).isEmpty());
+        assertTrue(source.out.listeners.isEmpty());
+    }
+
+    @Test
+    public void testReconnectReplacedPort() throws Exception {
+        ContainerImpl container = new ContainerImpl();
+        Node source = new Node();
+        Node target = new Node();
+        container.addChild("source", source);
+        container.addChild("target", target);
+        container.connect("source", "out", "target", "in");
+        TestPort oldIn = target.in;
+        target.replaceIn();
+        container.connect("source", "out", "target", "in");
+        assertEquals(List.of(target.in), source.out.connections());
+        assertTrue(oldIn.listeners.isEmpty());
+        assertEquals(List.of(Connection.of("source", "out", "target", "in")),
+                connections(container).asList().stream()
+                        .map(v -> Connection.from(v).orElseThrow())
+                        .toList());
+        container.disconnect("source", "out", "target", "in");
+        assertTrue(source.out.connections().isEmpty());
+        assertTrue(connections(container).isEmpty());
+    }
+
+    @Test
+    public void testAddAll() throws Exception {
+        ContainerImpl container = new ContainerImpl();
+        PMap.Builder children = PMap.builder();
+        List<Connection> connections = new ArrayList<>();
+        children.put("source", TYPE);
+        for (int i = 0; i < NODES; i++) {
+            children.put("n" + i, TYPE);
+            connections.add(Connection.of("source", "out", "n" + i, "in"));
+        }
+        Call reply = addAll(container, children.build(), PArray.of(connections));
+        assertTrue(reply.isReply());
+        assertEquals(NODES + 1, container.children().count());
+        assertEquals(NODES, connections(container).size());
+
+        Call error = addAll(container,
+                PMap.of("x", TYPE, "y", TYPE),
+                PArray.of(Connection.of("x", "out", "y", "in"),
+                        Connection.of("x", "out", "missing", "in")));
+        assertTrue(error.isError());
+        assertNull(container.getChild("x"));
+        assertNull(container.getChild("y"));
+        assertEquals(NODES, connections(container).size());
+        assertEquals(List.of("x", "y"), container.removed.stream().sorted().toList());
+
+        container.removed.clear();
+        error = addAll(container,
+                PMap.of("a", TYPE, "b", INVALID),
+                PArray.EMPTY);
+        assertTrue(error.isError());
+        assertNull(container.getChild("a"));
+        assertNull(container.getChild("b"));
+        assertEquals(List.of("a"), container.removed);
+        assertEquals(NODES + 1, container.children().count());
+    }
+
+    private Call addAll(ContainerImpl container, PMap children, PArray connections)
+            throws Exception {
+        ControlAddress self = ControlAddress.of(ADDRESS, ContainerProtocol.ADD_ALL);
+        Queue<Packet> packets = new ArrayDeque<>();
+        Call call = Call.create(self, ControlAddress.of("/client.reply"), 0,
+                List.of(children, connections));
+        container.getControl(ContainerProtocol.ADD_ALL).call(call, packets::add);
+        Packet packet;
+        while ((packet = packets.poll()) != null) {
+            Call next = (Call) packet;
+            if (next.to().equals(self)) {
+                container.getControl(ContainerProtocol.ADD_ALL).call(next, packets::add);
+            } else if (next.to().controlID().equals(ContainerProtocol.ADD_CHILD)) {
+                try {
+                    if (INVALID.equals(ComponentType.from(next.args().get(1)).orElseThrow())) {
+                        throw new VetoException();
+                    }
+                    container.addChild(next.args().get(0).toString(), new Node());
+                    packets.add(next.reply());
+                } catch (VetoException ex) {
+                    packets.add(next.error(PError.of(ex)));
+                }
+            } else if (next.to().controlID().equals(ContainerProtocol.REMOVE_CHILD)) {
+                container.removed.add(next.args().get(0).toString());
+                container.getControl(ContainerProtocol.REMOVE_CHILD).call(next, packets::add);
+            } else {
+                return next;
+            }
+        }
+        throw new AssertionError("No reply");
+    }
+
+    private PArray connections(ContainerImpl container) throws Exception {
+        Queue<Packet> packets = new ArrayDeque<>();
+        Call call = Call.create(ControlAddress.of(ADDRESS, ContainerProtocol.CONNECTIONS),
+                ControlAddress.of("/client.reply"), 0);
+        container.getControl(ContainerProtocol.CONNECTIONS).call(call, packets::add);
+        return PArray.from(((Call) packets.poll()).args().get(0)).orElseThrow();
+    }
+
+    private static class ContainerImpl extends AbstractContainer.Delegate {
+
+        private final List<String> removed = new ArrayList<>();
+
+        @Override
+        public Lookup getLookup() {
+            return Lookup.EMPTY;
+        }
+
+        @Override
+        protected ComponentAddress getAddress() {
+            return ADDRESS;
+        }
+
+        @Override
+        protected void notifyChild(Component child) throws VetoException {
+            child.parentNotify(this);
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ContainerProtocol.API_INFO;
+        }
+
+    }
+
+    private static class Node extends AbstractComponent {
+
+        private final TestPort out;
+
+        private TestPort in;
+
+        private Node() {
+            in = new TestPort();
+            out = new TestPort();
+            registerPort("in", in);
+            registerPort("out", out);
+        }
+
+        private void replaceIn() {
+            in.disconnectAll();
+            unregisterPort("in");
+            in = new TestPort();
+            registerPort("in", in);
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ComponentProtocol.API_INFO;
+        }
+
+    }
+
+    private static class TestPort implements Port {
+
+        private final List<TestPort> connections = new ArrayList<>();
+        private final List<PortListener> listeners = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void connect(Port port) throws PortConnectionException {
+            if (!(port instanceof TestPort other) || other == this) {
+                throw new PortConnectionException();
+            }
+            if (!connections.contains(other)) {
+                connections.add(other);
+                other.connections.add(this);
+                fire();
+                other.fire();
+            }
+        }
+
+        @Override
+        public void disconnect(Port port) {
+            if (port instanceof TestPort other && connections.remove(other)) {
+                other.connections.remove(this);
+                fire();
+                other.fire();
+            }
+        }
+
+        @Override
+        public void disconnectAll() {
+            List.copyOf(connections).forEach(this::disconnect);
+        }
+
+        @Override
+        public List<? extends Port> connections() {
+            return List.copyOf(connections);
+        }
+
+        @Override
+        public void addListener(PortListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeListener(PortListener listener) {
+            listeners.remove(listener);
+        }
+
+        private void fire() {
+            listeners.forEach(l -> l.connectionsChanged(this));
+        }
+
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Call;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.Control;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Packet;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.protocols.ContainerProtocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class AbstractRootContainerTest {
+
+    private static final ControlAddress CHILD_CONTROL = ControlAddress.of("/test/child.ping");
+    private static final ControlAddress ROOT_CONTROL = ControlAddress.of("/test.ping");
+    private static final ControlAddress CLIENT = ControlAddress.of("/client.reply");
+
+    public AbstractRootContainerTest() {
+    }
+
+    @Test
+    public void testCacheInvalidatedOnChildChanges() throws Exception {
+        RootImpl root = new RootImpl();
+        Node node1 = new Node();
+        root.addChild("child", node1);
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(2, node1.count);
+
+        root.removeChild("child");
+        assertTrue(root.call(CHILD_CONTROL).isError());
+        assertEquals(2, node1.count);
+
+        Node node2 = new Node();
+        root.addChild("child", node2);
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(2, node1.count);
+        assertEquals(1, node2.count);
+    }
+
+    @Test
+    public void testCacheInvalidatedOnNestedChildChanges() throws Exception {
+        RootImpl root = new RootImpl();
+        ContainerImpl container = new ContainerImpl();
+        root.addChild("container", container);
+        Node node1 = new Node();
+        container.addChild("child", node1);
+        ControlAddress address = ControlAddress.of("/test/container/child.ping");
+        assertTrue(root.call(address).isReply());
+        assertEquals(1, node1.count);
+
+        container.removeChild("child");
+        Node node2 = new Node();
+        container.addChild("child", node2);
+        assertTrue(root.call(address).isReply());
+        assertEquals(1, node1.count);
+        assertEquals(1, node2.count);
+    }
+
+    @Test
+    public void testCacheInvalidatedOnControlChanges() throws Exception {
+        RootImpl root = new RootImpl();
+        Node node = new Node();
+        root.addChild("child", node);
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(1, node.count);
+
+        node.unregisterControl("ping");
+        assertTrue(root.call(CHILD_CONTROL).isError());
+        assertEquals(1, node.count);
+
+        List<Call> calls = new ArrayList<>();
+        node.registerControl("ping", (call, router) -> {
+            calls.add(call);
+            router.route(call.reply());
+        });
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(1, node.count);
+        assertEquals(1, calls.size());
+
+        List<Call> rootCalls = new ArrayList<>();
+        root.registerControl("ping", (call, router) -> {
+            rootCalls.add(call);
+            router.route(call.reply());
+        });
+        assertTrue(root.call(ROOT_CONTROL).isReply());
+        assertEquals(1, rootCalls.size());
+        root.unregisterControl("ping");
+        assertTrue(root.call(ROOT_CONTROL).isError());
+        assertEquals(1, rootCalls.size());
+    }
+
+    @Test
+    public void testCacheInvalidatedOnHierarchyNotification() throws Exception {
+        RootImpl root = new RootImpl();
+        SwappableNode node = new SwappableNode();
+        root.addChild("child", node);
+        Node delegate1 = node.delegate;
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(1, delegate1.count);
+
+        node.swap();
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(1, delegate1.count);
+        assertEquals(1, node.delegate.count);
+    }
+
+    @Test
+    public void testCacheDoesNotRetainRemovedChild() throws Exception {
+        RootImpl root = new RootImpl();
+        WeakReference<Node> ref = addCallAndRemove(root);
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(ref.get());
+    }
+
+    private WeakReference<Node> addCallAndRemove(RootImpl root) throws Exception {
+        Node node = new Node();
+        root.addChild("child", node);
+        assertTrue(root.call(CHILD_CONTROL).isReply());
+        assertEquals(1, node.count);
+        root.removeChild("child");
+        return new WeakReference<>(node);
+    }
+
+    private static class RootImpl extends AbstractRootContainer {
+
+        private Call call(ControlAddress to) {
+            List<Packet> packets = new ArrayList<>();
+            PacketRouter router = packets::add;
+            processCall(Call.create(to, CLIENT, 0), router);
+            assertEquals(1, packets.size());
+            return (Call) packets.get(0);
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ContainerProtocol.API_INFO;
+        }
+
+    }
+
+    private static class ContainerImpl extends AbstractContainer {
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ContainerProtocol.API_INFO;
+        }
+
+    }
+
+    private static class Node extends AbstractComponent {
+
+        private int count;
+
+        private Node() {
+            registerControl("ping", (call, router) -> {
+                count++;
+                router.route(call.reply());
+            });
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ComponentProtocol.API_INFO;
+        }
+
+    }
+
+    private static class SwappableNode extends AbstractComponent {
+
+        private Node delegate;
+
+        private SwappableNode() {
+            delegate = new Node();
+        }
+
+        @Override
+        public Control getControl(String id) {
+            return delegate.getControl(id);
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ComponentProtocol.API_INFO;
+        }
+
+        private void swap() {
+            delegate = new Node();
+            HierarchyListener.notify(getParent().getLookup());
+        }
+
+    }
+
+}
@@ -21,7 +21,9 @@
  */
 package org.praxislive.base;
 
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +36,7 @@ import org.praxislive.core.Packet;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.Root;
 import org.praxislive.core.RootHub;
+import org.praxislive.core.Settings;
 import org.praxislive.core.types.PString;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -69,6 +72,156 @@ public class AbstractRootTest {
         }
     }
 
+    @Test
+    public void testEventDrivenProcessCall() {
+        RootImpl root = new RootImpl();
+        LinkedBlockingQueue<Packet> responseQueue = new LinkedBlockingQueue<>();
+        RootHubImpl hub = new RootHubImpl(root, responseQueue);
+        Settings.put("root.event-driven", "true", false);
+        try {
+            hub.ctrl.start();
+        } finally {
+            Settings.put("root.event-driven", null, false);
+        }
+        for (int i = 0; i < 2; i++) {
+            hub.ctrl.submitPacket(Call.create(ControlAddress.of("/test.hello"),
+                    ControlAddress.of("/hub.world"),
+                    hub.getClock().getTime() + TimeUnit.MILLISECONDS.toNanos(100)));
+            try {
+                Call reply = (Call) responseQueue.poll(2, TimeUnit.SECONDS);
+                assertEquals("OK", reply.args().get(0).toString());
+                assertTrue(root.threadVirtual);
+            } catch (Exception ex) {
+                fail();
+            }
+        }
+        hub.ctrl.shutdown();
+        try {
+            assertTrue(root.latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testEventDrivenClockListener() {
+        ClockRootImpl root = new ClockRootImpl();
+        LinkedBlockingQueue<Packet> responseQueue = new LinkedBlockingQueue<>();
+        RootHubImpl hub = new RootHubImpl(root, responseQueue);
+        Settings.put("root.event-driven", "true", false);
+        try {
+            hub.ctrl.start();
+        } finally {
+            Settings.put("root.event-driven", null, false);
+        }
+        try {
+            assertTrue(root.ticks.await(1, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+        hub.ctrl.shutdown();
+        try {
+            assertTrue(root.latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testBatchDispatch() {
+        RootImpl root = new RootImpl();
+        LinkedBlockingQueue<Packet> responseQueue = new LinkedBlockingQueue<>();
+        RootHubImpl hub;
+        Settings.put("root.batch-dispatch", "true", false);
+        try {
+            hub = new RootHubImpl(root, responseQueue);
+        } finally {
+            Settings.put("root.batch-dispatch", null, false);
+        }
+        hub.ctrl.start();
+        long time = hub.getClock().getTime() + TimeUnit.MILLISECONDS.toNanos(50);
+        int count = 10;
+        for (int i = 0; i < count; i++) {
+            hub.ctrl.submitPacket(Call.create(ControlAddress.of("/test.hello"),
+                    ControlAddress.of("/hub.world"), time));
+        }
+        try {
+            for (int i = 0; i < count; i++) {
+                Call reply = (Call) responseQueue.poll(2, TimeUnit.SECONDS);
+                assertEquals("OK", reply.args().get(0).toString());
+            }
+            assertEquals(1, hub.batches);
+        } catch (Exception ex) {
+            fail();
+        }
+        hub.ctrl.shutdown();
+        try {
+            assertTrue(root.latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testInvokeLaterBeyondQueueCapacity() {
+        int count = 100;
+        TaskRootImpl root;
+        Settings.put("root.queue-capacity", "16", false);
+        try {
+            root = new TaskRootImpl(count);
+        } finally {
+            Settings.put("root.queue-capacity", null, false);
+        }
+        LinkedBlockingQueue<Packet> responseQueue = new LinkedBlockingQueue<>();
+        RootHubImpl hub = new RootHubImpl(root, responseQueue);
+        hub.ctrl.start();
+        hub.ctrl.submitPacket(Call.create(ControlAddress.of("/test.hello"),
+                ControlAddress.of("/hub.world"),
+                hub.getClock().getTime()));
+        try {
+            Call reply = (Call) responseQueue.poll(2, TimeUnit.SECONDS);
+            assertEquals("OK", reply.args().get(0).toString());
+            assertTrue(root.tasksLatch.await(2, TimeUnit.SECONDS));
+            assertTrue(root.submitted);
+        } catch (Exception ex) {
+            fail();
+        }
+        hub.ctrl.shutdown();
+        try {
+            assertTrue(root.latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testInvokeLaterOrder() {
+        OrderRootImpl root = new OrderRootImpl();
+        LinkedBlockingQueue<Packet> responseQueue = new LinkedBlockingQueue<>();
+        RootHubImpl hub = new RootHubImpl(root, responseQueue);
+        hub.ctrl.start();
+        hub.ctrl.submitPacket(Call.create(ControlAddress.of("/test.start"),
+                ControlAddress.of("/hub.world"),
+                hub.getClock().getTime()));
+        try {
+            for (int i = 0; i < 3; i++) {
+                Call reply = (Call) responseQueue.poll(2, TimeUnit.SECONDS);
+                assertNotNull(reply);
+            }
+            assertTrue(root.done.await(2, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+        assertEquals(List.of("start", "task1", "a", "task2", "task3", "b", "task4"),
+                root.order);
+        hub.ctrl.shutdown();
+        try {
+            assertTrue(root.latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            fail();
+        }
+    }
+
     @Test
     public void testDelegateProcessCall() {
         DelegatingRootImpl root = new DelegatingRootImpl();
@@ -118,6 +271,7 @@ public class AbstractRootTest {
     public class RootImpl extends AbstractRoot {
 
         CountDownLatch latch = new CountDownLatch(1);
+        volatile boolean threadVirtual;
 
         @Override
         protected void activating() {
@@ -126,6 +280,7 @@ public class AbstractRootTest {
 
         @Override
         public void processCall(Call call, PacketRouter router) {
+            threadVirtual = Thread.currentThread().isVirtual();
             router.route(call.reply(PString.of("OK")));
         }
 
@@ -137,6 +292,69 @@ public class AbstractRootTest {
 
     }
 
+    public class ClockRootImpl extends RootImpl {
+
+        final CountDownLatch ticks = new CountDownLatch(20);
+
+        @Override
+        protected void activating() {
+            getExecutionContext().addClockListener(ctxt -> ticks.countDown());
+            super.activating();
+        }
+
+    }
+
+    public class TaskRootImpl extends RootImpl {
+
+        final int count;
+        final CountDownLatch tasksLatch;
+        volatile boolean submitted;
+
+        TaskRootImpl(int count) {
+            this.count = count;
+            this.tasksLatch = new CountDownLatch(count);
+        }
+
+        @Override
+        public void processCall(Call call, PacketRouter router) {
+            boolean ok = true;
+            for (int i = 0; i < count; i++) {
+                ok &= invokeLater(tasksLatch::countDown);
+            }
+            submitted = ok;
+            super.processCall(call, router);
+        }
+
+    }
+
+    public class OrderRootImpl extends RootImpl {
+
+        final List<String> order = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        @Override
+        public void processCall(Call call, PacketRouter router) {
+            String id = call.to().controlID();
+            order.add(id);
+            if ("start".equals(id)) {
+                long time = call.time();
+                invokeLater(() -> order.add("task1"));
+                getRootHub().dispatch(Call.create(ControlAddress.of("/test.a"),
+                        call.from(), time));
+                invokeLater(() -> order.add("task2"));
+                invokeLater(() -> order.add("task3"));
+                getRootHub().dispatch(Call.create(ControlAddress.of("/test.b"),
+                        call.from(), time));
+                invokeLater(() -> {
+                    order.add("task4");
+                    done.countDown();
+                });
+            }
+            super.processCall(call, router);
+        }
+
+    }
+
     public class DelegatingRootImpl extends AbstractRoot {
 
         CountDownLatch latch = new CountDownLatch(1);
@@ -200,6 +418,7 @@ public class AbstractRootTest {
         private final Root root;
         private final Root.Controller ctrl;
         private final Queue<Packet> queue;
+        private volatile int batches;
 
         private RootHubImpl(Root root, Queue<Packet> queue) {
             this.root = root;
@@ -218,6 +437,12 @@ public class AbstractRootTest {
             return true;
         }
 
+        @Override
+        public List<Packet> dispatchAll(List<Packet> packets) {
+            batches++;
+            return RootHub.super.dispatchAll(packets);
+        }
+
         @Override
         public Clock getClock() {
             return System::nanoTime;
@@ -0,0 +1,197 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Call;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.ExecutionContext;
+import org.praxislive.core.Info;
+import org.praxislive.core.Packet;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Value;
+import org.praxislive.core.protocols.ComponentProtocol;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PNumber;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class BindingContextControlTest {
+
+    private static final ControlAddress GUI_BINDINGS = ControlAddress.of("/gui._bindings");
+    private static final ControlAddress AUDIO_BINDINGS = ControlAddress.of("/audio._bindings");
+    private static final ControlAddress FREQ = ControlAddress.of("/audio/osc.freq");
+    private static final ControlAddress INFO = ControlAddress.of("/audio/osc.info");
+    private static final ComponentInfo OSC_INFO = Info.component(cmp -> cmp
+            .merge(ComponentProtocol.API_INFO)
+            .control("freq", c -> c.property().input(PNumber.class))
+    );
+
+    private int pushes;
+
+    public BindingContextControlTest() {
+    }
+
+    @Test
+    public void testPushSubscription() throws Exception {
+        Queue<Packet> packets = new ArrayDeque<>();
+        DefaultExecutionContext guiContext = new DefaultExecutionContext(0);
+        DefaultExecutionContext audioContext = new DefaultExecutionContext(0);
+        guiContext.updateState(0, ExecutionContext.State.ACTIVE);
+        audioContext.updateState(0, ExecutionContext.State.ACTIVE);
+        BindingContextControl gui = new BindingContextControl(GUI_BINDINGS,
+                guiContext, packets::add);
+        BindingContextControl audio = new BindingContextControl(AUDIO_BINDINGS,
+                audioContext, packets::add);
+        Component osc = new Component();
+
+        Binding.PropertyAdaptor adaptor = new Binding.PropertyAdaptor();
+        adaptor.setSyncRate(Binding.SyncRate.High);
+        adaptor.setActive(true);
+        gui.bind(FREQ, adaptor);
+
+        long time = 0;
+        for (int i = 0; i < 100; i++) {
+            time += TimeUnit.MILLISECONDS.toNanos(10);
+            guiContext.updateClock(time);
+            audioContext.updateClock(time);
+            deliver(packets, gui, audio, osc);
+        }
+        assertEquals(PNumber.of(440), adaptor.value().orElseThrow());
+        assertEquals(2, pushes);
+        int remoteCalls = osc.remoteCalls;
+
+        osc.value = PNumber.of(880);
+        audio.changed(FREQ);
+        for (int i = 0; i < 100; i++) {
+            time += TimeUnit.MILLISECONDS.toNanos(10);
+            guiContext.updateClock(time);
+            audioContext.updateClock(time);
+            deliver(packets, gui, audio, osc);
+        }
+        assertEquals(PNumber.of(880), adaptor.value().orElseThrow());
+        assertEquals(3, pushes);
+        assertEquals(remoteCalls, osc.remoteCalls);
+        assertTrue(osc.localCalls > 0);
+
+        gui.unbind(FREQ, adaptor);
+        deliver(packets, gui, audio, osc);
+        for (int i = 0; i < 10; i++) {
+            time += TimeUnit.MILLISECONDS.toNanos(10);
+            guiContext.updateClock(time);
+            audioContext.updateClock(time);
+            deliver(packets, gui, audio, osc);
+        }
+        int localCalls = osc.localCalls;
+        osc.value = PNumber.of(220);
+        audio.changed(FREQ);
+        time += TimeUnit.MILLISECONDS.toNanos(10);
+        audioContext.updateClock(time);
+        deliver(packets, gui, audio, osc);
+        assertEquals(localCalls, osc.localCalls);
+        assertEquals(3, pushes);
+    }
+
+    @Test
+    public void testPollingFallback() throws Exception {
+        Queue<Packet> packets = new ArrayDeque<>();
+        DefaultExecutionContext guiContext = new DefaultExecutionContext(0);
+        guiContext.updateState(0, ExecutionContext.State.ACTIVE);
+        BindingContextControl gui = new BindingContextControl(GUI_BINDINGS,
+                guiContext, packets::add);
+        Component osc = new Component();
+
+        Binding.PropertyAdaptor adaptor = new Binding.PropertyAdaptor();
+        adaptor.setSyncRate(Binding.SyncRate.High);
+        adaptor.setActive(true);
+        gui.bind(FREQ, adaptor);
+
+        long time = 0;
+        for (int i = 0; i < 20; i++) {
+            time += TimeUnit.MILLISECONDS.toNanos(10);
+            guiContext.updateClock(time);
+            deliver(packets, gui, null, osc);
+        }
+        assertEquals(PNumber.of(440), adaptor.value().orElseThrow());
+        osc.value = PNumber.of(880);
+        for (int i = 0; i < 20; i++) {
+            time += TimeUnit.MILLISECONDS.toNanos(10);
+            guiContext.updateClock(time);
+            deliver(packets, gui, null, osc);
+        }
+        assertEquals(PNumber.of(880), adaptor.value().orElseThrow());
+    }
+
+    private void deliver(Queue<Packet> packets,
+            BindingContextControl gui,
+            BindingContextControl audio,
+            Component osc) throws Exception {
+        Packet packet;
+        while ((packet = packets.poll()) != null) {
+            Call call = (Call) packet;
+            ControlAddress to = call.to();
+            if (to.equals(GUI_BINDINGS)) {
+                if (call.isRequest() && "push".equals(call.args().get(0).toString())) {
+                    pushes++;
+                }
+                gui.call(call, packets::add);
+            } else if (to.equals(AUDIO_BINDINGS)) {
+                if (audio == null) {
+                    packets.add(call.error(PError.of(new UnsupportedOperationException())));
+                } else {
+                    audio.call(call, packets::add);
+                }
+            } else if (to.equals(FREQ) || to.equals(INFO)) {
+                osc.call(call, packets::add);
+            }
+        }
+    }
+
+    private static class Component {
+
+        private Value value = PNumber.of(440);
+        private int localCalls;
+        private int remoteCalls;
+
+        private void call(Call call, PacketRouter router) {
+            if (call.from().equals(AUDIO_BINDINGS)) {
+                localCalls++;
+            } else {
+                remoteCalls++;
+            }
+            if (call.to().equals(INFO)) {
+                router.route(call.reply(OSC_INFO));
+            } else {
+                router.route(call.reply(value));
+            }
+        }
+
+    }
+
+}
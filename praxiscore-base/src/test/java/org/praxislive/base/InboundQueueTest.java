@@ -0,0 +1,106 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class InboundQueueTest {
+
+    public InboundQueueTest() {
+    }
+
+    @Test
+    public void testCapacity() {
+        InboundQueue q = new InboundQueue(5);
+        assertEquals(8, q.capacity());
+        for (int i = 0; i < 8; i++) {
+            assertTrue(q.offer(i));
+        }
+        assertFalse(q.offer(8));
+        assertEquals(8, q.sample());
+        assertEquals(8, q.highWaterMark());
+        assertEquals(0, q.poll());
+        assertTrue(q.offer(8));
+        for (int i = 1; i < 9; i++) {
+            assertEquals(i, q.poll());
+        }
+        assertNull(q.poll());
+        assertTrue(q.isEmpty());
+        assertEquals(0, q.sample());
+        assertEquals(8, q.highWaterMark());
+    }
+
+    @Test
+    public void testMultipleProducers() throws Exception {
+        int producers = 4;
+        int count = 20_000;
+        InboundQueue q = new InboundQueue(1024);
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int base = p * count;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                for (int i = 0; i < count; i++) {
+                    while (!q.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            threads[p].start();
+        }
+        start.countDown();
+        Set<Object> received = new HashSet<>();
+        int[] last = new int[producers];
+        Arrays.fill(last, -1);
+        while (received.size() < producers * count) {
+            Object obj = q.poll();
+            if (obj == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            int val = (Integer) obj;
+            int p = val / count;
+            assertTrue(val % count > last[p], "Out of order for producer " + p);
+            last[p] = val % count;
+            assertTrue(received.add(obj));
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(q.isEmpty());
+    }
+
+}
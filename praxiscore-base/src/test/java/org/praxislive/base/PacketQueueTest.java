@@ -21,9 +21,16 @@
  */
 package org.praxislive.base;
 
-import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.praxislive.core.Call;
 import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Packet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,9 +43,14 @@ public class PacketQueueTest {
     public PacketQueueTest() {
     }
 
-    @Test
-    public void testPoll() {
-        PacketQueue pq = new PacketQueue(0);
+    static Stream<LongFunction<PacketQueue>> queues() {
+        return Stream.of(PacketQueue::heap, PacketQueue::timingWheel);
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    public void testPoll(LongFunction<PacketQueue> factory) {
+        PacketQueue pq = factory.apply(0);
         Call c1 = Call.create(ControlAddress.of("/to.c1"), ControlAddress.of("/from.c1"), 1000);
         Call c2 = Call.create(ControlAddress.of("/to.c2"), ControlAddress.of("/from.c2"), 2000);
         pq.add(c1);
@@ -55,9 +67,10 @@ public class PacketQueueTest {
 
     }
 
-    @Test
-    public void testWrappingPoll() {
-        PacketQueue pq = new PacketQueue(Long.MAX_VALUE - 5000);
+    @ParameterizedTest
+    @MethodSource("queues")
+    public void testWrappingPoll(LongFunction<PacketQueue> factory) {
+        PacketQueue pq = factory.apply(Long.MAX_VALUE - 5000);
         Call c1 = Call.create(ControlAddress.of("/to.c1"), ControlAddress.of("/from.c1"), Long.MAX_VALUE - 1000);
         Call c2 = Call.create(ControlAddress.of("/to.c2"), ControlAddress.of("/from.c2"), Long.MAX_VALUE + 1000);
         pq.add(c1);
@@ -74,4 +87,52 @@ public class PacketQueueTest {
 
     }
 
+    @ParameterizedTest
+    @MethodSource("queues")
+    public void testOrdering(LongFunction<PacketQueue> factory) {
+        long start = Long.MAX_VALUE - 2_000_000_000L;
+        PacketQueue pq = factory.apply(start);
+        PacketQueue ref = PacketQueue.heap(start);
+        ControlAddress to = ControlAddress.of("/to.c");
+        ControlAddress from = ControlAddress.of("/from.c");
+        Random rnd = new Random(42);
+        long time = start;
+        for (int i = 0; i < 200; i++) {
+            for (int j = 0; j < 50; j++) {
+                long delay = switch (j % 4) {
+                    case 0 -> rnd.nextInt(1_000_000);
+                    case 1 -> rnd.nextInt(100_000_000);
+                    case 2 -> rnd.nextLong(10_000_000_000L);
+                    default -> 0;
+                };
+                Call call = Call.create(to, from, time + delay);
+                pq.add(call);
+                ref.add(call);
+            }
+            time += rnd.nextInt(50_000_000);
+            pq.setTime(time);
+            ref.setTime(time);
+            assertEquals(drain(ref), drain(pq));
+            assertEquals(ref.isEmpty(), pq.isEmpty());
+            if (!ref.isEmpty()) {
+                assertTrue(pq.nextTime() - ref.nextTime() <= 0);
+            }
+        }
+        time += 20_000_000_000L;
+        pq.setTime(time);
+        ref.setTime(time);
+        assertEquals(drain(ref), drain(pq));
+        List<Object> remaining = new ArrayList<>();
+        pq.drainTo(remaining);
+        assertTrue(remaining.isEmpty());
+    }
+
+    private List<Packet> drain(PacketQueue pq) {
+        List<Packet> list = new ArrayList<>();
+        for (Packet p = pq.poll(); p != null; p = pq.poll()) {
+            list.add(p);
+        }
+        return list;
+    }
+
 }
@@ -0,0 +1,86 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.base;
+
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PNumber;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class RootMetricsTest {
+
+    public RootMetricsTest() {
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        long[] values = {0, 1, 15, 16, 17, 31, 32, 1000, 1_000_000, Long.MAX_VALUE};
+        for (long value : values) {
+            int idx = RootMetrics.Histogram.index(value);
+            long upper = RootMetrics.Histogram.upperBound(idx);
+            assertTrue(upper >= value, "Upper bound below value " + value);
+            if (idx > 0) {
+                assertTrue(RootMetrics.Histogram.upperBound(idx - 1) < value,
+                        "Previous bucket contains value " + value);
+            }
+        }
+    }
+
+    @Test
+    public void testPercentiles() {
+        RootMetrics.Histogram histogram = new RootMetrics.Histogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(500_000, histogram.percentile(50), 500_000 * 0.125);
+        assertEquals(990_000, histogram.percentile(99), 990_000 * 0.125);
+        assertEquals(1_000_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void testMetricsMap() {
+        RootMetrics metrics = new RootMetrics();
+        metrics.cycleStart();
+        metrics.packet(100);
+        metrics.packet(200);
+        metrics.task();
+        metrics.cycleEnd(true);
+        metrics.cycleStart();
+        metrics.cycleEnd(false);
+        PMap map = metrics.toMap(3, 7);
+        assertEquals(2, map.getInt(RootMetrics.KEY_CYCLES, 0));
+        assertEquals(1, map.getInt(RootMetrics.KEY_INTERRUPTED, 0));
+        assertEquals(3, map.getInt(RootMetrics.KEY_QUEUE_DEPTH, 0));
+        assertEquals(7, map.getInt(RootMetrics.KEY_QUEUE_HIGH_WATER_MARK, 0));
+        PMap wait = PMap.from(map.get(RootMetrics.KEY_QUEUE_WAIT)).orElseThrow();
+        assertEquals(2, wait.getInt("count", 0));
+        assertEquals(PNumber.of(200), PNumber.from(wait.get("max")).orElseThrow());
+        PMap packets = PMap.from(map.get(RootMetrics.KEY_PACKETS)).orElseThrow();
+        assertEquals(2, packets.getInt("max", -1));
+    }
+
+}
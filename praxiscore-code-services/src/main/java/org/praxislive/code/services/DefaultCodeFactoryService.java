@@ -27,6 +27,7 @@ import java.net.URI;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -54,6 +55,7 @@ import org.praxislive.core.ControlAddress;
 import org.praxislive.core.Lookup;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.RootHub;
+import org.praxislive.core.Value;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.types.PArray;
 import org.praxislive.core.types.PError;
@@ -398,76 +400,142 @@ public class DefaultCodeFactoryService extends AbstractRoot
         }
     }
 
-    private class NewContextControl extends AbstractAsyncControl {
+    /**
+     * Context requests are not serialized. Requests that need compiling are
+     * collected and sent to the compiler together, as a single compile call
+     * or as a batch compile call, once the requests already in the root queue
+     * have been processed. This allows all code components in a project to be
+     * compiled in parallel on load.
+     */
+    private class NewContextControl implements Control {
 
-        private boolean usingShared;
+        private final List<PendingContext> batch;
+        private final Map<Integer, List<PendingContext>> pending;
+
+        private NewContextControl() {
+            batch = new ArrayList<>();
+            pending = new HashMap<>();
+        }
 
         @Override
-        @SuppressWarnings("unchecked")
-        protected Call processInvoke(Call call) throws Exception {
-            usingShared = false;
-            CodeContextFactoryService.Task<CodeDelegate> task = findTask();
-            CodeFactory<CodeDelegate> factory = task.getFactory();
-            String src = task.getCode();
-            Class<? extends CodeDelegate> cls;
-            if (src.isBlank()) {
-                src = factory.sourceTemplate();
-                cls = factory.defaultDelegateClass().orElse(null);
+        public void call(Call call, PacketRouter router) throws Exception {
+            if (call.isRequest()) {
+                processInvoke(call, router);
             } else {
-                // @TODO weak code cache for user code
-                cls = null;
+                processResponse(call, router);
             }
-            if (cls != null) {
-                LogBuilder log = new LogBuilder(task.getLogLevel());
-                CodeDelegate delegate = cls.getDeclaredConstructor().newInstance();
-                return call.reply(PReference.of(createContext(task, log, delegate)));
-            } else {
-                usingShared = src.contains(SHARED_PREFIX);
-                String fullClassName = codeAddressToPackage(call.from()) + "." + WRAPPED_CLASS_NAME;
-                return Call.create(
-                        findCompilerService(),
-                        call.to(),
-                        call.time(),
-                        createCompilerTask(task.getFactory(),
-                                task.getLogLevel(),
-                                fullClassName,
-                                src,
-                                usingShared ? task.getSharedClassLoader() : null));
+        }
+
+        private void processInvoke(Call call, PacketRouter router) {
+            try {
+                CodeContextFactoryService.Task<CodeDelegate> task = findTask(call);
+                CodeFactory<CodeDelegate> factory = task.getFactory();
+                String src = task.getCode();
+                Class<? extends CodeDelegate> cls;
+                if (src.isBlank()) {
+                    src = factory.sourceTemplate();
+                    cls = factory.defaultDelegateClass().orElse(null);
+                } else {
+                    // @TODO weak code cache for user code
+                    cls = null;
+                }
+                if (cls != null) {
+                    LogBuilder log = new LogBuilder(task.getLogLevel());
+                    CodeDelegate delegate = cls.getDeclaredConstructor().newInstance();
+                    router.route(call.reply(PReference.of(createContext(task, log, delegate))));
+                } else {
+                    boolean usingShared = src.contains(SHARED_PREFIX);
+                    String fullClassName = codeAddressToPackage(call.from()) + "." + WRAPPED_CLASS_NAME;
+                    PMap compilerTask = createCompilerTask(task.getFactory(),
+                            task.getLogLevel(),
+                            fullClassName,
+                            src,
+                            usingShared ? task.getSharedClassLoader() : null);
+                    batch.add(new PendingContext(call, task, usingShared, compilerTask));
+                    if (batch.size() == 1) {
+                        invokeLater(() -> flush(router));
+                    }
+                }
+            } catch (Exception ex) {
+                router.route(call.error(PError.of(ex)));
             }
+        }
 
+        private void flush(PacketRouter router) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<PendingContext> contexts = List.copyOf(batch);
+            batch.clear();
+            Call first = contexts.get(0).call();
+            try {
+                Call compile;
+                if (contexts.size() == 1) {
+                    compile = Call.create(
+                            findCompilerService(),
+                            first.to(),
+                            first.time(),
+                            contexts.get(0).compilerTask());
+                } else {
+                    PMap.Builder tasks = PMap.builder();
+                    for (int i = 0; i < contexts.size(); i++) {
+                        tasks.put(String.valueOf(i), contexts.get(i).compilerTask());
+                    }
+                    compile = Call.create(
+                            ControlAddress.of(findService(CodeCompilerService.class),
+                                    CodeCompilerService.COMPILE_BATCH),
+                            first.to(),
+                            first.time(),
+                            tasks.build());
+                }
+                pending.put(compile.matchID(), contexts);
+                router.route(compile);
+            } catch (Exception ex) {
+                PError err = PError.of(ex);
+                contexts.forEach(ctxt -> router.route(ctxt.call().error(err)));
+            }
         }
 
-        @Override
-        protected Call processResponse(Call call) throws Exception {
-            boolean shared = usingShared;
-            usingShared = false;
+        private void processResponse(Call call, PacketRouter router) {
+            List<PendingContext> contexts = pending.remove(call.matchID());
+            if (contexts == null) {
+                return;
+            }
+            if (call.isError()) {
+                contexts.forEach(ctxt -> router.route(ctxt.call().error(call.args())));
+            } else if (contexts.size() == 1) {
+                router.route(processResult(contexts.get(0), call.args().get(0)));
+            } else {
+                PMap results = PMap.from(call.args().get(0)).orElse(PMap.EMPTY);
+                for (int i = 0; i < contexts.size(); i++) {
+                    router.route(processResult(contexts.get(i),
+                            results.get(String.valueOf(i))));
+                }
+            }
+        }
+
+        private Call processResult(PendingContext ctxt, Value result) {
             try {
-                PMap data = PMap.from(call.args().get(0)).orElseThrow(IllegalArgumentException::new);
-                CodeContextFactoryService.Task<CodeDelegate> task = findTask();
+                if (result instanceof PError err) {
+                    return ctxt.call().error(err);
+                }
+                PMap data = PMap.from(result).orElseThrow(IllegalArgumentException::new);
+                CodeContextFactoryService.Task<CodeDelegate> task = ctxt.task();
                 Class<? extends CodeDelegate> cls = extractCodeDelegateClass(data,
-                        shared ? task.getSharedClassLoader() : null);
+                        ctxt.usingShared() ? task.getSharedClassLoader() : null);
                 CodeDelegate delegate = cls.getDeclaredConstructor().newInstance();
                 LogBuilder log = new LogBuilder(task.getLogLevel());
                 extractCompilerLog(data, log);
-                return getActiveCall().reply(PReference.of(createContext(task, log, delegate)));
+                return ctxt.call().reply(PReference.of(createContext(task, log, delegate)));
             } catch (Throwable throwable) {
-                if (throwable instanceof Exception) {
-                    throw (Exception) throwable;
-                } else {
-                    throw new Exception(throwable);
-                }
+                return ctxt.call().error(PError.of(throwable instanceof Exception ex
+                        ? ex : new Exception(throwable)));
             }
         }
 
-        @Override
-        protected Call processError(Call call) throws Exception {
-            usingShared = false;
-            return super.processError(call);
-        }
-
         @SuppressWarnings("unchecked")
-        private CodeContextFactoryService.Task<CodeDelegate> findTask() throws Exception {
-            return PReference.from(getActiveCall().args().get(0))
+        private CodeContextFactoryService.Task<CodeDelegate> findTask(Call call) throws Exception {
+            return PReference.from(call.args().get(0))
                     .flatMap(r -> r.as(CodeContextFactoryService.Task.class))
                     .orElseThrow();
         }
@@ -485,6 +553,13 @@ public class DefaultCodeFactoryService extends AbstractRoot
 
     }
 
+    private static record PendingContext(Call call,
+            CodeContextFactoryService.Task<CodeDelegate> task,
+            boolean usingShared,
+            PMap compilerTask) {
+
+    }
+
     private class NewSharedControl extends AbstractAsyncControl {
 
         @Override
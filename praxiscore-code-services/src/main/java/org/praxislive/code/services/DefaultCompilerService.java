@@ -24,13 +24,21 @@ package org.praxislive.code.services;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,6 +48,8 @@ import javax.tools.JavaCompiler;
 import javax.tools.ToolProvider;
 import org.praxislive.code.CodeCompilerService;
 import org.praxislive.code.LibraryResolver;
+import org.praxislive.code.services.tools.ClassCache;
+import org.praxislive.code.services.tools.CompilerPool;
 import org.praxislive.code.services.tools.CompilerTask;
 import org.praxislive.code.services.tools.MessageHandler;
 import org.praxislive.core.Call;
@@ -50,6 +60,8 @@ import org.praxislive.core.Info;
 import org.praxislive.core.Lookup;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.RootHub;
+import org.praxislive.core.Settings;
+import org.praxislive.core.Value;
 import org.praxislive.core.protocols.ComponentProtocol;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.types.PArray;
@@ -64,13 +76,33 @@ import org.praxislive.core.services.LogService;
 import org.praxislive.core.services.Services;
 
 /**
- *
+ * Default implementation of {@link CodeCompilerService}.
+ * <p>
+ * Successfully compiled classes are cached, keyed on a hash of the sources,
+ * compiler options, library fingerprints, shared classes and JDK version. The
+ * number of entries kept in memory can be set with the
+ * {@code compiler.cache-size} setting (default 256). Setting
+ * {@code compiler.cache-dir} to a directory path enables a persistent on-disk
+ * cache that is reused across runs.
+ * <p>
+ * Compilation runs on a pool of worker threads, sized by the
+ * {@code compiler.threads} setting (default the number of available
+ * processors), so that independent compile requests, and the tasks of a
+ * {@link CodeCompilerService#COMPILE_BATCH} request, are compiled in parallel.
+ * A warm pool of file managers, with the class path and module path already
+ * configured, is reused between compiles. The pool is only invalidated when
+ * libraries are added.
  */
 public class DefaultCompilerService extends AbstractRoot
         implements RootHub.ServiceProvider {
 
     static final String EXT_CLASSPATH = "ext-classpath";
 
+    static final String KEY_CACHE_SIZE = "compiler.cache-size";
+    static final String KEY_CACHE_DIR = "compiler.cache-dir";
+    static final int DEFAULT_CACHE_SIZE = 256;
+    static final String KEY_THREADS = "compiler.threads";
+
     private static final ComponentInfo INFO;
 
     static {
@@ -92,17 +124,24 @@ public class DefaultCompilerService extends AbstractRoot
     private final List<LibraryResolver> libResolvers;
     private final String defClasspath;
     private final String defModulepath;
+    private final ClassCache cache;
+    private final ExecutorService executor;
+    private final CompilerPool pool;
+    private final Set<Call> inFlight;
 
     private SourceVersion release;
     private PArray libs;
     private PArray libsAll;
     private PArray libPath;
     private PArray libsSys;
+    private String libFingerprint;
 
     public DefaultCompilerService() {
 
+        CompileControl compileControl = new CompileControl();
         controls = Map.of(
-                CodeCompilerService.COMPILE, new CompileControl(),
+                CodeCompilerService.COMPILE, compileControl,
+                CodeCompilerService.COMPILE_BATCH, new BatchCompileControl(compileControl),
                 "add-libs", new AddLibsControl(),
                 "release", new JavaReleaseControl(),
                 "libraries", (call, router) -> {
@@ -156,6 +195,19 @@ public class DefaultCompilerService extends AbstractRoot
         libsSys = PArray.of(libSystem);
         this.defClasspath = System.getProperty("java.class.path", "");
         this.defModulepath = System.getProperty("jdk.module.path", "");
+        String cacheDir = Settings.get(KEY_CACHE_DIR);
+        this.cache = ClassCache.create(
+                Math.max(1, Settings.getInt(KEY_CACHE_SIZE, DEFAULT_CACHE_SIZE)),
+                cacheDir == null || cacheDir.isBlank() ? null : Path.of(cacheDir));
+        int threads = Settings.getInt(KEY_THREADS, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "praxis-compiler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pool = CompilerPool.create(compiler, buildClasspath(), buildModulepath());
+        this.inFlight = new LinkedHashSet<>();
     }
 
     @Override
@@ -172,21 +224,76 @@ public class DefaultCompilerService extends AbstractRoot
         }
     }
 
+    @Override
+    protected void activating() {
+        executor.execute(pool::warm);
+    }
+
+    @Override
+    protected void terminating() {
+        executor.shutdownNow();
+        pool.close();
+        PError err = PError.of("Compiler service terminated");
+        inFlight.forEach(call -> getRouter().route(call.error(err)));
+        inFlight.clear();
+    }
+
+    private List<Path> buildClasspath() {
+        return Stream.concat(libFiles.stream().map(Path::toAbsolutePath),
+                splitPath(defClasspath))
+                .toList();
+    }
+
+    private List<Path> buildModulepath() {
+        return splitPath(defModulepath).toList();
+    }
+
+    private static Stream<Path> splitPath(String path) {
+        return Stream.of(path.split(File.pathSeparator))
+                .filter(s -> !s.isBlank())
+                .map(Path::of);
+    }
+
+    private CompletableFuture<Value> submit(Callable<PMap> job) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return job.call();
+            } catch (Exception ex) {
+                return PError.of(ex);
+            }
+        }, executor);
+    }
+
+    private void complete(Call call, Runnable task) {
+        invokeLater(() -> {
+            // call will have been removed if replied to on termination
+            if (inFlight.remove(call)) {
+                task.run();
+            }
+        });
+    }
+
     private class CompileControl implements Control {
 
         @Override
         public void call(Call call, PacketRouter router) throws Exception {
             if (call.isRequest()) {
                 PMap map = PMap.from(call.args().get(0)).orElseThrow();
-                PMap ret;
-                ret = process(map);
-                router.route(call.reply(ret));
+                Callable<PMap> job = prepare(map);
+                inFlight.add(call);
+                submit(job).thenAccept(result -> complete(call, () -> {
+                    if (result instanceof PError err) {
+                        router.route(call.error(err));
+                    } else {
+                        router.route(call.reply(result));
+                    }
+                }));
             } else {
                 throw new UnsupportedOperationException();
             }
         }
 
-        private PMap process(PMap map) throws Exception {
+        Callable<PMap> prepare(PMap map) throws Exception {
             PMap sources = PMap.from(map.get(CodeCompilerService.KEY_SOURCES))
                     .orElseThrow(IllegalArgumentException::new);
 
@@ -195,34 +302,59 @@ public class DefaultCompilerService extends AbstractRoot
                             .collect(Collectors.toUnmodifiableMap(k -> k,
                                     k -> sources.get(k).toString()));
 
-            LogBuilder log = new LogBuilder(getLogLevel(map));
+            LogLevel logLevel = getLogLevel(map);
 
             List<String> options = List.of(
                     "-proc:none",
                     "-parameters",
                     "--release", String.valueOf(release.ordinal()),
-                    "--add-modules", "ALL-MODULE-PATH",
-                    "--module-path", defModulepath,
-                    "--class-path", buildClasspath());
-
-            Map<String, Supplier<InputStream>> shared
-                    = Optional.ofNullable(map.get(CodeCompilerService.KEY_SHARED_CLASSES))
-                            .flatMap(PMap::from)
-                            .map(m -> processExistingClasses(m))
-                            .orElse(Map.of());
-
-            Map<String, byte[]> classFiles
-                    = CompilerTask.create(extractedSources)
-                            .existingClasses(shared)
-                            .options(options)
-                            .messageHandler(new LogMessageHandler(log))
-                            .compile();
-
-            PMap classes = convertClasses(classFiles);
-            PMap response = PMap.of(CodeCompilerService.KEY_CLASSES, classes,
-                    CodeCompilerService.KEY_LOG, PArray.of(log.toList()),
-                    EXT_CLASSPATH, libPath);
-            return response;
+                    "--add-modules", "ALL-MODULE-PATH");
+
+            PMap sharedClasses = Optional.ofNullable(map.get(CodeCompilerService.KEY_SHARED_CLASSES))
+                    .flatMap(PMap::from)
+                    .orElse(PMap.EMPTY);
+
+            // snapshot paths - add-libs may change them before the job runs
+            List<Path> classpath = buildClasspath();
+            List<Path> modulepath = buildModulepath();
+            String fingerprint = fingerprint();
+            PArray extClasspath = libPath;
+
+            return () -> {
+                LogBuilder log = new LogBuilder(logLevel);
+                String key = ClassCache.keyBuilder()
+                        .add(options)
+                        .add(defModulepath)
+                        .add(fingerprint)
+                        .addSources(extractedSources)
+                        .addClasses(extractClasses(sharedClasses))
+                        .build();
+
+                Map<String, byte[]> classFiles;
+                Optional<ClassCache.Entry> cached = cache.find(key);
+                if (cached.isPresent()) {
+                    classFiles = cached.get().classes();
+                    cached.get().warnings().forEach(w -> log.log(LogLevel.WARNING, w));
+                } else {
+                    List<String> warnings = new ArrayList<>();
+                    try (CompilerPool.Lease lease = pool.acquire(classpath, modulepath)) {
+                        classFiles = CompilerTask.create(extractedSources)
+                                .compiler(pool.compiler())
+                                .fileManager(lease.fileManager())
+                                .existingClasses(processExistingClasses(sharedClasses))
+                                .options(options)
+                                .messageHandler(new LogMessageHandler(log, warnings))
+                                .compile();
+                    }
+                    cache.store(key, new ClassCache.Entry(classFiles, warnings));
+                }
+
+                PMap classes = convertClasses(classFiles);
+                PMap response = PMap.of(CodeCompilerService.KEY_CLASSES, classes,
+                        CodeCompilerService.KEY_LOG, PArray.of(log.toList()),
+                        EXT_CLASSPATH, extClasspath);
+                return response;
+            };
         }
 
         private LogLevel getLogLevel(PMap map) {
@@ -234,18 +366,34 @@ public class DefaultCompilerService extends AbstractRoot
             }
         }
 
-        private String buildClasspath() {
-            if (libFiles.isEmpty()) {
-                return defClasspath;
-            } else {
-                String cp = libFiles.stream()
-                        .map(p -> p.toAbsolutePath().toString())
-                        .collect(Collectors.joining(File.pathSeparator));
-                if (!defClasspath.isBlank()) {
-                    cp += (File.pathSeparator + defClasspath);
-                }
-                return cp;
+        private String fingerprint() {
+            if (libFingerprint == null) {
+                StringBuilder sb = new StringBuilder();
+                buildClasspath().forEach(p -> {
+                    sb.append(p.toAbsolutePath()).append('|');
+                    try {
+                        if (Files.isRegularFile(p)) {
+                            sb.append(Files.size(p)).append('|')
+                                    .append(Files.getLastModifiedTime(p).toMillis());
+                        }
+                    } catch (Exception ex) {
+                        // include path only
+                    }
+                    sb.append('\n');
+                });
+                libFingerprint = sb.toString();
             }
+            return libFingerprint;
+        }
+
+        private Map<String, byte[]> extractClasses(PMap classes) {
+            return classes.keys().stream()
+                    .collect(Collectors.toUnmodifiableMap(cls -> cls, cls -> {
+                        PBytes bytes = PBytes.from(classes.get(cls)).orElse(PBytes.EMPTY);
+                        byte[] data = new byte[bytes.size()];
+                        bytes.read(data);
+                        return data;
+                    }));
         }
 
         private PMap convertClasses(Map<String, byte[]> classes) {
@@ -267,6 +415,39 @@ public class DefaultCompilerService extends AbstractRoot
 
     }
 
+    private class BatchCompileControl implements Control {
+
+        private final CompileControl compile;
+
+        private BatchCompileControl(CompileControl compile) {
+            this.compile = compile;
+        }
+
+        @Override
+        public void call(Call call, PacketRouter router) throws Exception {
+            if (call.isRequest()) {
+                PMap tasks = PMap.from(call.args().get(0))
+                        .orElseThrow(IllegalArgumentException::new);
+                Map<String, CompletableFuture<Value>> results = new LinkedHashMap<>();
+                for (String id : tasks.keys()) {
+                    PMap task = PMap.from(tasks.get(id))
+                            .orElseThrow(IllegalArgumentException::new);
+                    results.put(id, submit(compile.prepare(task)));
+                }
+                inFlight.add(call);
+                CompletableFuture.allOf(results.values().toArray(CompletableFuture[]::new))
+                        .thenRun(() -> complete(call, () -> {
+                            PMap.Builder response = PMap.builder();
+                            results.forEach((id, result) -> response.put(id, result.join()));
+                            router.route(call.reply(response.build()));
+                        }));
+            } else {
+                throw new UnsupportedOperationException();
+            }
+        }
+
+    }
+
     private class AddLibsControl implements Control, LibraryResolver.Context {
 
         private final LogBuilder log;
@@ -306,6 +487,9 @@ public class DefaultCompilerService extends AbstractRoot
                 libProvided.addAll(entry.provides());
                 libFiles.addAll(entry.files());
             }
+            libFingerprint = null;
+            pool.invalidate(buildClasspath(), buildModulepath());
+            Lookup.refreshSystem();
             libs = PArray.of(libResolved);
             libsAll = PArray.of(libProvided);
             libPath = libFiles.stream()
@@ -395,9 +579,11 @@ public class DefaultCompilerService extends AbstractRoot
     private static class LogMessageHandler implements MessageHandler {
 
         private final LogBuilder log;
+        private final List<String> warnings;
 
-        private LogMessageHandler(LogBuilder log) {
+        private LogMessageHandler(LogBuilder log, List<String> warnings) {
             this.log = log;
+            this.warnings = warnings;
         }
 
         @Override
@@ -407,6 +593,7 @@ public class DefaultCompilerService extends AbstractRoot
 
         @Override
         public void handleWarning(String msg) {
+            warnings.add(msg);
             log.log(LogLevel.WARNING, msg);
         }
 
@@ -0,0 +1,288 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.code.services.tools;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * A content-addressed cache of compiled classes. Entries are keyed on a hash
+ * of everything that affects the compiler output - see {@link KeyBuilder}. The
+ * cache has an in-memory LRU tier, and an optional on-disk tier that persists
+ * across runs.
+ * <p>
+ * Only successful compilations should be cached. Any warnings are cached
+ * alongside the classes so that they can be reported again.
+ * <p>
+ * This class is thread safe. Disk access is done without holding the lock on
+ * the memory tier.
+ */
+public final class ClassCache {
+
+    private static final System.Logger LOG = System.getLogger(ClassCache.class.getName());
+    private static final int MAGIC = 0x50584343;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".classes";
+
+    private final Map<String, Entry> memory;
+    private final Path directory;
+
+    private ClassCache(int memoryEntries, Path directory) {
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > memoryEntries;
+            }
+        };
+        this.directory = directory;
+    }
+
+    /**
+     * Find a cached entry for the given key, checking the memory tier and then
+     * the disk tier. Entries found on disk are promoted to memory.
+     *
+     * @param key cache key
+     * @return entry if found
+     */
+    public Optional<Entry> find(String key) {
+        Entry entry;
+        synchronized (this) {
+            entry = memory.get(key);
+        }
+        if (entry == null && directory != null) {
+            entry = read(key);
+            if (entry != null) {
+                synchronized (this) {
+                    memory.putIfAbsent(key, entry);
+                }
+            }
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Store an entry in the cache under the given key. The entry is written
+     * through to the disk tier if configured.
+     *
+     * @param key cache key
+     * @param entry entry to store
+     */
+    public void store(String key, Entry entry) {
+        synchronized (this) {
+            memory.put(Objects.requireNonNull(key), Objects.requireNonNull(entry));
+        }
+        if (directory != null) {
+            write(key, entry);
+        }
+    }
+
+    /**
+     * Clear the in-memory tier. The disk tier is not affected.
+     */
+    public synchronized void clear() {
+        memory.clear();
+    }
+
+    private Entry read(String key) {
+        Path file = directory.resolve(key + EXTENSION);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int warningCount = in.readInt();
+            List<String> warnings = new ArrayList<>(warningCount);
+            for (int i = 0; i < warningCount; i++) {
+                warnings.add(readString(in));
+            }
+            int classCount = in.readInt();
+            Map<String, byte[]> classes = new TreeMap<>();
+            for (int i = 0; i < classCount; i++) {
+                String name = readString(in);
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                classes.put(name, data);
+            }
+            return new Entry(classes, warnings);
+        } catch (IOException ex) {
+            LOG.log(System.Logger.Level.DEBUG, "Unable to read cached classes " + file, ex);
+            return null;
+        }
+    }
+
+    private void write(String key, Entry entry) {
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entry.warnings().size());
+                for (String warning : entry.warnings()) {
+                    writeString(out, warning);
+                }
+                out.writeInt(entry.classes().size());
+                for (var cls : entry.classes().entrySet()) {
+                    writeString(out, cls.getKey());
+                    out.writeInt(cls.getValue().length);
+                    out.write(cls.getValue());
+                }
+            }
+            Files.move(tmp, directory.resolve(key + EXTENSION),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.log(System.Logger.Level.WARNING, "Unable to write class cache entry", ex);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] data = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    /**
+     * Create a cache.
+     *
+     * @param memoryEntries maximum number of entries to keep in memory
+     * @param directory directory for on-disk tier, or null for memory only
+     * @return cache
+     */
+    public static ClassCache create(int memoryEntries, Path directory) {
+        if (memoryEntries < 1) {
+            throw new IllegalArgumentException();
+        }
+        return new ClassCache(memoryEntries, directory);
+    }
+
+    /**
+     * Create a key builder.
+     *
+     * @return key builder
+     */
+    public static KeyBuilder keyBuilder() {
+        return new KeyBuilder();
+    }
+
+    /**
+     * A cache entry.
+     *
+     * @param classes compiled classes by binary name
+     * @param warnings compiler warnings
+     */
+    public static record Entry(Map<String, byte[]> classes, List<String> warnings) {
+
+        public Entry {
+            classes = Map.copyOf(classes);
+            warnings = List.copyOf(warnings);
+        }
+
+    }
+
+    /**
+     * Builder for cache keys. Callers should add everything that can affect
+     * the compiler output - sources, compiler options (including release and
+     * class path), fingerprints of libraries, and any existing classes. The
+     * JDK version is always included. Each added value is length prefixed, and
+     * maps are added in key order.
+     */
+    public static final class KeyBuilder {
+
+        private final MessageDigest digest;
+
+        private KeyBuilder() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException(ex);
+            }
+            add(Runtime.version().toString());
+        }
+
+        public KeyBuilder add(String value) {
+            return add(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public KeyBuilder add(byte[] value) {
+            int len = value.length;
+            digest.update(new byte[]{(byte) (len >>> 24), (byte) (len >>> 16),
+                (byte) (len >>> 8), (byte) len});
+            digest.update(value);
+            return this;
+        }
+
+        public KeyBuilder add(List<String> values) {
+            add(String.valueOf(values.size()));
+            values.forEach(this::add);
+            return this;
+        }
+
+        public KeyBuilder addSources(Map<String, String> sources) {
+            add(String.valueOf(sources.size()));
+            new TreeMap<>(sources).forEach((name, source) -> {
+                add(name);
+                add(source);
+            });
+            return this;
+        }
+
+        public KeyBuilder addClasses(Map<String, byte[]> classes) {
+            add(String.valueOf(classes.size()));
+            new TreeMap<>(classes).forEach((name, data) -> {
+                add(name);
+                add(data);
+            });
+            return this;
+        }
+
+        public String build() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+
+    }
+
+}
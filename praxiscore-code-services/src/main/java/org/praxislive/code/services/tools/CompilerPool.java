@@ -0,0 +1,242 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.code.services.tools;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+
+/**
+ * A pool of warm file managers for a single compiler. File managers are
+ * created with the class path and module path already set as locations, so
+ * that archives are opened and indexed once and reused by subsequent
+ * compiles, rather than being resolved from command line options on every
+ * compile. Tasks using a pooled file manager should not pass class path or
+ * module path options.
+ * <p>
+ * Call {@link #invalidate(java.util.List, java.util.List)} when the class
+ * path or module path changes. File managers in use at that point are closed
+ * when released rather than being returned to the pool.
+ */
+public final class CompilerPool {
+
+    private static final System.Logger LOG = System.getLogger(CompilerPool.class.getName());
+
+    private final JavaCompiler compiler;
+    private final Deque<StandardJavaFileManager> idle;
+
+    private List<Path> classpath;
+    private List<Path> modulepath;
+    private int generation;
+
+    private CompilerPool(JavaCompiler compiler, List<Path> classpath, List<Path> modulepath) {
+        this.compiler = compiler;
+        this.classpath = classpath;
+        this.modulepath = modulepath;
+        this.idle = new ArrayDeque<>();
+    }
+
+    /**
+     * The compiler used by this pool.
+     *
+     * @return compiler
+     */
+    public JavaCompiler compiler() {
+        return compiler;
+    }
+
+    /**
+     * Acquire a file manager for exclusive use by a single compile task. The
+     * lease must be closed after the compile to return the file manager to
+     * the pool.
+     *
+     * @return file manager lease
+     * @throws IOException if a new file manager cannot be configured
+     */
+    public Lease acquire() throws IOException {
+        List<Path> cp;
+        List<Path> mp;
+        int gen;
+        synchronized (this) {
+            StandardJavaFileManager fm = idle.pollFirst();
+            if (fm != null) {
+                return new Lease(fm, generation);
+            }
+            cp = classpath;
+            mp = modulepath;
+            gen = generation;
+        }
+        return new Lease(createFileManager(cp, mp), gen);
+    }
+
+    /**
+     * Acquire a file manager for the given class path and module path. If the
+     * paths match the current paths of the pool, this is the same as
+     * {@link #acquire()}. Otherwise, eg. if the pool has been invalidated since
+     * the paths were read, a new file manager is created for the given paths,
+     * and closed rather than pooled on release.
+     *
+     * @param classpath class path entries
+     * @param modulepath module path entries
+     * @return file manager lease
+     * @throws IOException if a new file manager cannot be configured
+     */
+    public Lease acquire(List<Path> classpath, List<Path> modulepath) throws IOException {
+        synchronized (this) {
+            if (!classpath.equals(this.classpath) || !modulepath.equals(this.modulepath)) {
+                return new Lease(createFileManager(classpath, modulepath), -1);
+            }
+        }
+        return acquire();
+    }
+
+    /**
+     * Update the class path and module path. All idle file managers are
+     * closed.
+     *
+     * @param classpath class path entries
+     * @param modulepath module path entries
+     */
+    public void invalidate(List<Path> classpath, List<Path> modulepath) {
+        List<StandardJavaFileManager> stale;
+        synchronized (this) {
+            this.classpath = List.copyOf(classpath);
+            this.modulepath = List.copyOf(modulepath);
+            generation++;
+            stale = List.copyOf(idle);
+            idle.clear();
+        }
+        stale.forEach(CompilerPool::close);
+    }
+
+    /**
+     * Compile a trivial class with a pooled file manager, to load the compiler
+     * classes and index the platform and class path archives ahead of the
+     * first real compile. Intended to be called on a background thread.
+     */
+    public void warm() {
+        try (Lease lease = acquire()) {
+            CompilerTask.create(Map.of("warm.Warm", "package warm; class Warm {}"))
+                    .compiler(compiler)
+                    .fileManager(lease.fileManager())
+                    .options(List.of("-proc:none", "--add-modules", "ALL-MODULE-PATH"))
+                    .compile();
+        } catch (Exception ex) {
+            LOG.log(System.Logger.Level.DEBUG, "Compiler warm up failed", ex);
+        }
+    }
+
+    /**
+     * Close all idle file managers. Leased file managers are closed when
+     * released.
+     */
+    public void close() {
+        invalidate(List.of(), List.of());
+    }
+
+    private void release(StandardJavaFileManager fm, int gen) {
+        synchronized (this) {
+            if (gen == generation) {
+                idle.addFirst(fm);
+                return;
+            }
+        }
+        close(fm);
+    }
+
+    private StandardJavaFileManager createFileManager(List<Path> cp, List<Path> mp)
+            throws IOException {
+        StandardJavaFileManager fm = compiler.getStandardFileManager(null, null, null);
+        fm.setLocationFromPaths(StandardLocation.CLASS_PATH, cp);
+        if (!mp.isEmpty()) {
+            fm.setLocationFromPaths(StandardLocation.MODULE_PATH, mp);
+        }
+        return fm;
+    }
+
+    private static void close(StandardJavaFileManager fm) {
+        try {
+            fm.close();
+        } catch (IOException ex) {
+            LOG.log(System.Logger.Level.DEBUG, "Error closing file manager", ex);
+        }
+    }
+
+    /**
+     * Create a compiler pool.
+     *
+     * @param compiler Java compiler
+     * @param classpath initial class path entries
+     * @param modulepath initial module path entries
+     * @return pool
+     */
+    public static CompilerPool create(JavaCompiler compiler,
+            List<Path> classpath, List<Path> modulepath) {
+        return new CompilerPool(Objects.requireNonNull(compiler),
+                List.copyOf(classpath), List.copyOf(modulepath));
+    }
+
+    /**
+     * Exclusive use of a pooled file manager.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final StandardJavaFileManager fileManager;
+        private final int generation;
+
+        private boolean released;
+
+        private Lease(StandardJavaFileManager fileManager, int generation) {
+            this.fileManager = fileManager;
+            this.generation = generation;
+        }
+
+        /**
+         * The leased file manager.
+         *
+         * @return file manager
+         */
+        public StandardJavaFileManager fileManager() {
+            return fileManager;
+        }
+
+        /**
+         * Return the file manager to the pool.
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(fileManager, generation);
+            }
+        }
+
+    }
+
+}
@@ -58,6 +58,8 @@ public class CompilerTask {
     private Map<String, Supplier<InputStream>> existingClasses;
     private MessageHandler messageHandler;
     private List<String> options;
+    private JavaCompiler compiler;
+    private JavaFileManager fileManager;
 
     private Map<String, byte[]> classes;
 
@@ -80,6 +82,34 @@ public class CompilerTask {
         return this;
     }
 
+    /**
+     * Use the provided compiler rather than looking up the system compiler.
+     *
+     * @param compiler Java compiler
+     * @return this
+     */
+    public CompilerTask compiler(JavaCompiler compiler) {
+        assertNotCompiled();
+        this.compiler = Objects.requireNonNull(compiler);
+        return this;
+    }
+
+    /**
+     * Use the provided file manager as the delegate for in-memory sources and
+     * classes, rather than creating a new standard file manager. This allows a
+     * file manager, and its cache of opened archives, to be reused across
+     * compiles. The file manager must not be used by more than one task at a
+     * time, and will not be closed by this task.
+     *
+     * @param fileManager file manager to delegate to
+     * @return this
+     */
+    public CompilerTask fileManager(JavaFileManager fileManager) {
+        assertNotCompiled();
+        this.fileManager = Objects.requireNonNull(fileManager);
+        return this;
+    }
+
     public CompilerTask messageHandler(MessageHandler messageHandler) {
         assertNotCompiled();
         this.messageHandler = Objects.requireNonNull(messageHandler);
@@ -90,7 +120,8 @@ public class CompilerTask {
 
         assertNotCompiled();
 
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaCompiler compiler = this.compiler == null
+                ? ToolProvider.getSystemJavaCompiler() : this.compiler;
 
         if (compiler == null) {
             throw new CompilationException(
@@ -101,7 +132,8 @@ public class CompilerTask {
 
         // Get the original FM, which reads class files through this JVM's BOOTCLASSPATH and
         // CLASSPATH.
-        final JavaFileManager fm = compiler.getStandardFileManager(null, null, null);
+        final JavaFileManager fm = this.fileManager == null
+                ? compiler.getStandardFileManager(null, null, null) : this.fileManager;
 
         // Wrap it so that the output files (in our case class files) are stored in memory rather
         // than in files.
@@ -0,0 +1,200 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.code.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.praxislive.code.CodeCompilerService;
+import org.praxislive.code.CodeContextFactoryService;
+import org.praxislive.code.CodeFactory;
+import org.praxislive.code.DefaultCodeDelegate;
+import org.praxislive.core.Call;
+import org.praxislive.core.Clock;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Root;
+import org.praxislive.core.RootHub;
+import org.praxislive.core.services.LogLevel;
+import org.praxislive.core.services.Service;
+import org.praxislive.core.services.Services;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class DefaultCodeFactoryServiceTest {
+
+    private static final ControlAddress NEW_CONTEXT
+            = ControlAddress.of("/factory." + CodeContextFactoryService.NEW_CONTEXT);
+
+    public DefaultCodeFactoryServiceTest() {
+    }
+
+    @Test
+    public void testSingleContextCompile() throws Exception {
+        HubImpl hub = new HubImpl();
+        hub.start();
+        Call request = contextRequest(hub, "a");
+        hub.factory.submitPacket(request);
+        Call compile = (Call) hub.compilerCalls.poll(10, TimeUnit.SECONDS);
+        assertNotNull(compile);
+        assertEquals(CodeCompilerService.COMPILE, compile.to().controlID());
+        PMap task = PMap.from(compile.args().get(0)).orElseThrow();
+        assertNotNull(task.get(CodeCompilerService.KEY_SOURCES));
+        hub.factory.submitPacket(compile.error(PError.of("failed")));
+        Call response = (Call) hub.responses.poll(10, TimeUnit.SECONDS);
+        assertNotNull(response);
+        assertTrue(response.isError());
+        assertEquals(request.matchID(), response.matchID());
+        hub.shutdown();
+    }
+
+    @Test
+    public void testBatchContextCompile() throws Exception {
+        HubImpl hub = new HubImpl();
+        hub.start();
+        Call request1 = contextRequest(hub, "a");
+        Call request2 = contextRequest(hub, "b");
+        hub.factory.submitPackets(List.of(request1, request2));
+        Call compile = (Call) hub.compilerCalls.poll(10, TimeUnit.SECONDS);
+        assertNotNull(compile);
+        assertEquals(CodeCompilerService.COMPILE_BATCH, compile.to().controlID());
+        PMap tasks = PMap.from(compile.args().get(0)).orElseThrow();
+        assertEquals(List.of("0", "1"), tasks.keys());
+        assertNull(hub.compilerCalls.poll(100, TimeUnit.MILLISECONDS));
+        hub.factory.submitPacket(compile.reply(PMap.of(
+                "0", PError.of("failed 0"),
+                "1", PError.of("failed 1"))));
+        Call response1 = (Call) hub.responses.poll(10, TimeUnit.SECONDS);
+        Call response2 = (Call) hub.responses.poll(10, TimeUnit.SECONDS);
+        assertTrue(response1.isError());
+        assertTrue(response2.isError());
+        assertEquals(request1.matchID(), response1.matchID());
+        assertEquals(request2.matchID(), response2.matchID());
+        assertEquals("failed 0", PError.from(response1.args().get(0)).orElseThrow().message());
+        assertEquals("failed 1", PError.from(response2.args().get(0)).orElseThrow().message());
+        hub.shutdown();
+    }
+
+    @Test
+    public void testBatchCompileError() throws Exception {
+        HubImpl hub = new HubImpl();
+        hub.start();
+        Call request1 = contextRequest(hub, "a");
+        Call request2 = contextRequest(hub, "b");
+        hub.factory.submitPackets(List.of(request1, request2));
+        Call compile = (Call) hub.compilerCalls.poll(10, TimeUnit.SECONDS);
+        assertNotNull(compile);
+        assertEquals(CodeCompilerService.COMPILE_BATCH, compile.to().controlID());
+        hub.factory.submitPacket(compile.error(PError.of("terminated")));
+        Call response1 = (Call) hub.responses.poll(10, TimeUnit.SECONDS);
+        Call response2 = (Call) hub.responses.poll(10, TimeUnit.SECONDS);
+        assertTrue(response1.isError());
+        assertTrue(response2.isError());
+        assertEquals(request1.matchID(), response1.matchID());
+        assertEquals(request2.matchID(), response2.matchID());
+        hub.shutdown();
+    }
+
+    private static Call contextRequest(HubImpl hub, String id) {
+        CodeFactory<DefaultCodeDelegate> factory = CodeFactory.base(
+                DefaultCodeDelegate.class, List.of(), (task, delegate) -> null)
+                .create("core:test", "");
+        var task = new CodeContextFactoryService.Task<>(factory,
+                "public void init() {}", LogLevel.ERROR, null);
+        return Call.create(NEW_CONTEXT,
+                ControlAddress.of("/test/" + id + ".code"),
+                hub.getClock().getTime(),
+                PReference.of(task));
+    }
+
+    private static class HubImpl implements RootHub, Services {
+
+        private final BlockingQueue<Packet> compilerCalls = new LinkedBlockingQueue<>();
+        private final BlockingQueue<Packet> responses = new LinkedBlockingQueue<>();
+        private final Root.Controller factory;
+        private final Lookup lookup;
+
+        private HubImpl() {
+            lookup = Lookup.of(this);
+            factory = new DefaultCodeFactoryService().initialize("factory", this);
+        }
+
+        private void start() {
+            factory.start();
+        }
+
+        private void shutdown() throws Exception {
+            factory.shutdown();
+            factory.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public boolean dispatch(Packet packet) {
+            switch (packet.rootID()) {
+                case "factory" ->
+                    factory.submitPacket(packet);
+                case "compiler" ->
+                    compilerCalls.add(packet);
+                default ->
+                    responses.add(packet);
+            }
+            return true;
+        }
+
+        @Override
+        public Clock getClock() {
+            return System::nanoTime;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return lookup;
+        }
+
+        @Override
+        public Optional<ComponentAddress> locate(Class<? extends Service> service) {
+            if (service == CodeCompilerService.class) {
+                return Optional.of(ComponentAddress.of("/compiler"));
+            }
+            return Optional.empty();
+        }
+
+        @Override
+        public Stream<ComponentAddress> locateAll(Class<? extends Service> service) {
+            return locate(service).stream();
+        }
+
+    }
+
+}
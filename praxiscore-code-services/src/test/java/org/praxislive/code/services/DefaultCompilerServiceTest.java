@@ -0,0 +1,134 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.code.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.praxislive.code.CodeCompilerService;
+import org.praxislive.core.Call;
+import org.praxislive.core.Clock;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Root;
+import org.praxislive.core.RootHub;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ *
+ */
+public class DefaultCompilerServiceTest {
+
+    private static final ControlAddress FROM = ControlAddress.of("/test.response");
+
+    public DefaultCompilerServiceTest() {
+    }
+
+    @Test
+    public void testBatchCompile() throws Exception {
+        assumeFalse(ToolProvider.getSystemJavaCompiler() == null, "No compiler available");
+        HubImpl hub = new HubImpl();
+        Root.Controller ctrl = new DefaultCompilerService().initialize("compiler", hub);
+        ctrl.start();
+        PMap tasks = PMap.of(
+                "0", task("test.Good", "package test; public class Good {}"),
+                "1", task("test.Bad", "package test; public class Bad { int x = ; }")
+        );
+        ctrl.submitPacket(Call.create(
+                ControlAddress.of("/compiler." + CodeCompilerService.COMPILE_BATCH),
+                FROM, hub.getClock().getTime(), tasks));
+        Call reply = (Call) hub.responses.poll(30, TimeUnit.SECONDS);
+        assertNotNull(reply);
+        assertTrue(reply.isReply());
+        PMap results = PMap.from(reply.args().get(0)).orElseThrow();
+        PMap good = PMap.from(results.get("0")).orElseThrow();
+        PMap classes = PMap.from(good.get(CodeCompilerService.KEY_CLASSES)).orElseThrow();
+        assertTrue(classes.keys().contains("test.Good"));
+        assertInstanceOf(PError.class, results.get("1"));
+        ctrl.shutdown();
+        ctrl.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testTerminateRepliesToInFlightCalls() throws Exception {
+        assumeFalse(ToolProvider.getSystemJavaCompiler() == null, "No compiler available");
+        HubImpl hub = new HubImpl();
+        Root.Controller ctrl = new DefaultCompilerService().initialize("compiler", hub);
+        ctrl.start();
+        int count = 4;
+        List<Call> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Call call = Call.create(
+                    ControlAddress.of("/compiler." + CodeCompilerService.COMPILE),
+                    FROM, hub.getClock().getTime(),
+                    task("test.Foo" + i, "package test; public class Foo" + i + " {}"));
+            calls.add(call);
+            ctrl.submitPacket(call);
+        }
+        Thread.sleep(50);
+        ctrl.shutdown();
+        ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        for (int i = 0; i < count; i++) {
+            Call response = (Call) hub.responses.poll(10, TimeUnit.SECONDS);
+            assertNotNull(response);
+            assertTrue(calls.removeIf(c -> c.matchID() == response.matchID()));
+        }
+        assertTrue(calls.isEmpty());
+        assertNull(hub.responses.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private static PMap task(String className, String source) {
+        return PMap.of(CodeCompilerService.KEY_SOURCES, PMap.of(className, source));
+    }
+
+    private static class HubImpl implements RootHub {
+
+        private final BlockingQueue<Packet> responses = new LinkedBlockingQueue<>();
+
+        @Override
+        public boolean dispatch(Packet packet) {
+            responses.add(packet);
+            return true;
+        }
+
+        @Override
+        public Clock getClock() {
+            return System::nanoTime;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return Lookup.EMPTY;
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+package org.praxislive.code.services.tools;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class ClassCacheTest {
+
+    @TempDir
+    Path dir;
+
+    public ClassCacheTest() {
+    }
+
+    @Test
+    public void testKey() {
+        String key1 = ClassCache.keyBuilder()
+                .add(List.of("--release", "21"))
+                .addSources(Map.of("A", "class A {}", "B", "class B {}"))
+                .build();
+        String key2 = ClassCache.keyBuilder()
+                .add(List.of("--release", "21"))
+                .addSources(Map.of("B", "class B {}", "A", "class A {}"))
+                .build();
+        String key3 = ClassCache.keyBuilder()
+                .add(List.of("--release", "17"))
+                .addSources(Map.of("A", "class A {}", "B", "class B {}"))
+                .build();
+        String key4 = ClassCache.keyBuilder()
+                .add(List.of("--release", "21"))
+                .addSources(Map.of("A", "class A {}", "B", "class B { }"))
+                .build();
+        assertEquals(key1, key2);
+        assertNotEquals(key1, key3);
+        assertNotEquals(key1, key4);
+    }
+
+    @Test
+    public void testMemoryEviction() {
+        ClassCache cache = ClassCache.create(2, null);
+        cache.store("a", entry("A"));
+        cache.store("b", entry("B"));
+        assertTrue(cache.find("a").isPresent());
+        cache.store("c", entry("C"));
+        assertTrue(cache.find("a").isPresent());
+        assertFalse(cache.find("b").isPresent());
+        assertTrue(cache.find("c").isPresent());
+    }
+
+    @Test
+    public void testDiskCache() throws Exception {
+        ClassCache cache = ClassCache.create(4, dir);
+        cache.store("abc", new ClassCache.Entry(
+                Map.of("A", new byte[]{1, 2, 3}, "B", new byte[0]),
+                List.of("warning")));
+        try (var files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+        ClassCache other = ClassCache.create(4, dir);
+        ClassCache.Entry entry = other.find("abc").orElseThrow();
+        assertArrayEquals(new byte[]{1, 2, 3}, entry.classes().get("A"));
+        assertArrayEquals(new byte[0], entry.classes().get("B"));
+        assertEquals(List.of("warning"), entry.warnings());
+        assertFalse(other.find("def").isPresent());
+    }
+
+    private static ClassCache.Entry entry(String name) {
+        return new ClassCache.Entry(Map.of(name, new byte[]{0}), List.of());
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.praxislive.code.services.tools;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.praxislive.code.DefaultCodeDelegate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ *
+ */
+public class CompilerPoolTest {
+
+    private static final List<String> OPTIONS = List.of(
+            "-proc:none",
+            "--release", "11",
+            "--add-modules", "ALL-MODULE-PATH"
+    );
+
+    public CompilerPoolTest() {
+    }
+
+    @Test
+    public void testPooledCompile() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeFalse(compiler == null, "No compiler available");
+        CompilerPool pool = CompilerPool.create(compiler,
+                paths(System.getProperty("java.class.path", "")),
+                paths(System.getProperty("jdk.module.path", "")));
+        pool.warm();
+        String wrapped = ClassBodyWrapper.create()
+                .className("foo.BarDelegate")
+                .extendsType(DefaultCodeDelegate.class)
+                .wrap("public int value() { return 42; }");
+        StandardJavaFileManager first;
+        try (CompilerPool.Lease lease = pool.acquire()) {
+            first = lease.fileManager();
+            Map<String, byte[]> classes = CompilerTask.create(Map.of("foo.BarDelegate", wrapped))
+                    .compiler(pool.compiler())
+                    .fileManager(lease.fileManager())
+                    .options(OPTIONS)
+                    .compile();
+            assertTrue(classes.containsKey("foo.BarDelegate"));
+        }
+        try (CompilerPool.Lease lease = pool.acquire()) {
+            assertSame(first, lease.fileManager());
+        }
+        pool.invalidate(List.of(), List.of());
+        try (CompilerPool.Lease lease = pool.acquire()) {
+            assertNotSame(first, lease.fileManager());
+            assertThrows(CompilationException.class, () -> {
+                CompilerTask.create(Map.of("foo.BarDelegate", wrapped))
+                        .compiler(pool.compiler())
+                        .fileManager(lease.fileManager())
+                        .options(OPTIONS)
+                        .compile();
+            });
+        }
+        pool.close();
+    }
+
+    @Test
+    public void testAcquireWithPaths() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeFalse(compiler == null, "No compiler available");
+        List<Path> classpath = paths(System.getProperty("java.class.path", ""));
+        List<Path> modulepath = paths(System.getProperty("jdk.module.path", ""));
+        CompilerPool pool = CompilerPool.create(compiler, classpath, modulepath);
+        StandardJavaFileManager first;
+        try (CompilerPool.Lease lease = pool.acquire(classpath, modulepath)) {
+            first = lease.fileManager();
+        }
+        try (CompilerPool.Lease lease = pool.acquire()) {
+            assertSame(first, lease.fileManager());
+        }
+        pool.invalidate(List.of(), List.of());
+        StandardJavaFileManager stale;
+        try (CompilerPool.Lease lease = pool.acquire(classpath, modulepath)) {
+            stale = lease.fileManager();
+            assertNotSame(first, stale);
+            assertNotNull(stale.getLocationAsPaths(StandardLocation.CLASS_PATH));
+        }
+        try (CompilerPool.Lease lease = pool.acquire()) {
+            assertNotSame(stale, lease.fileManager());
+        }
+        pool.close();
+    }
+
+    private static List<Path> paths(String path) {
+        return Stream.of(path.split(File.pathSeparator))
+                .filter(s -> !s.isBlank())
+                .map(Path::of)
+                .toList();
+    }
+
+}
@@ -7,6 +7,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
 import javax.tools.ToolProvider;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.AfterAll;
@@ -225,6 +227,31 @@ public class CompilerTaskTest {
         assertEquals(25, value);
     }
 
+    @Test
+    public void testReuseFileManager() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeFalse(compiler == null, "No compiler available");
+        try (StandardJavaFileManager fm = compiler.getStandardFileManager(null, null, null)) {
+            for (int i = 0; i < 3; i++) {
+                String code = "package foo;\n"
+                        + "public class Bar {\n"
+                        + "  public static int value() {\n"
+                        + "    return " + i + ";\n"
+                        + "  }\n"
+                        + "}\n";
+                Map<String, byte[]> classes = CompilerTask.create(Map.of("foo.Bar", code))
+                        .compiler(compiler)
+                        .fileManager(fm)
+                        .options(DEFAULT_COMPILER_OPTIONS)
+                        .compile();
+                assertEquals(1, classes.size(), "Classes contains more classes than expected");
+                ByteMapCL classloader = new ByteMapCL(classes, this.getClass().getClassLoader());
+                Class<?> cls = Class.forName("foo.Bar", true, classloader);
+                assertEquals(i, (int) cls.getMethod("value").invoke(null));
+            }
+        }
+    }
+
     private static Map<String, byte[]> compile(Map<String, String> sources)
             throws Exception {
         return compile(sources, null);
@@ -41,9 +41,24 @@ public class CodeCompilerService implements Service {
                     List.of(PMap.info()),
                     PMap.EMPTY);
 
+    /**
+     * Compile multiple independent tasks in one call. The argument is a map of
+     * task ID to a task map, as accepted by {@link #COMPILE}. The response is a
+     * map of task ID to either the response map, as returned by
+     * {@link #COMPILE}, or an error if that task failed. Implementations may
+     * compile tasks in parallel.
+     */
+    public static final String COMPILE_BATCH = "compile-batch";
+    public static final ControlInfo COMPILE_BATCH_INFO =
+            ControlInfo.createFunctionInfo(
+                    List.of(PMap.info()),
+                    List.of(PMap.info()),
+                    PMap.EMPTY);
+
     public static final ComponentInfo API_INFO = Info.component(cmp -> cmp
             .protocol(CodeCompilerService.class)
             .control(COMPILE, COMPILE_INFO)
+            .control(COMPILE_BATCH, COMPILE_BATCH_INFO)
     );
     
     public static final String KEY_SOURCES = "sources";
@@ -59,13 +74,15 @@ public class CodeCompilerService implements Service {
     
     @Override
     public Stream<String> controls() {
-        return Stream.of(COMPILE);
+        return Stream.of(COMPILE, COMPILE_BATCH);
     }
 
     @Override
     public ControlInfo getControlInfo(String control) {
         if (COMPILE.equals(control)) {
             return COMPILE_INFO;
+        } else if (COMPILE_BATCH.equals(control)) {
+            return COMPILE_BATCH_INFO;
         }
         throw new IllegalArgumentException();
     }
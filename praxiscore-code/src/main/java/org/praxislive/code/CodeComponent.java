@@ -22,6 +22,7 @@
 package org.praxislive.code;
 
 import java.util.Optional;
+import org.praxislive.base.HierarchyListener;
 import org.praxislive.base.MetaProperty;
 import org.praxislive.core.Component;
 import org.praxislive.core.ComponentAddress;
@@ -149,6 +150,7 @@ public class CodeComponent<D extends CodeDelegate> implements Component {
         }
         codeCtxt = cc;
         codeCtxt.handleHierarchyChanged();
+        HierarchyListener.notify(getLookup());
     }
 
     Lookup getLookup() {
@@ -694,10 +694,18 @@ public abstract class CodeConnector<D extends CodeDelegate> {
     }
 
     private boolean analyseResourcePropertyField(P ann, Field field) {
-        if (field.getAnnotation(Type.Resource.class) != null
-                && String.class.equals(field.getType())) {
+        if (field.getAnnotation(Type.Resource.class) == null) {
+            return false;
+        }
+        ResourceProperty.Loader<?> loader;
+        if (String.class.equals(field.getType())) {
+            loader = ResourceProperty.getStringLoader();
+        } else {
+            loader = TableProperty.findResourceLoader(field);
+        }
+        if (loader != null) {
             ResourceProperty.Descriptor rpd
-                    = ResourceProperty.Descriptor.create(this, ann, field, ResourceProperty.getStringLoader());
+                    = ResourceProperty.Descriptor.create(this, ann, field, loader);
             if (rpd != null) {
                 addControl(rpd);
                 if (shouldAddPort(field)) {
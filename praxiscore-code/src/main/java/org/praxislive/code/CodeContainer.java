@@ -443,6 +443,8 @@ public class CodeContainer<D extends CodeContainerDelegate> extends CodeComponen
                     ContainerProtocol.CONNECTIONS_INFO));
             addControl(containerControl(ContainerProtocol.SUPPORTED_TYPES,
                     ContainerProtocol.SUPPORTED_TYPES_INFO));
+            addControl(containerControl(ContainerProtocol.ADD_ALL,
+                    ContainerProtocol.ADD_ALL_INFO));
         }
 
         @Override
@@ -21,6 +21,7 @@
  */
 package org.praxislive.code;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -576,23 +577,79 @@ public abstract class CodeContext<D extends CodeDelegate> {
                     Throwable t = ex.getCause();
                     ex = t instanceof Exception ? (Exception) t : ex;
                 }
-                StringBuilder sb = new StringBuilder("Exception thrown from ");
-                sb.append(method.getName());
-                sb.append('(');
-                Class<?>[] types = method.getParameterTypes();
-                for (int i = 0; i < types.length; i++) {
-                    sb.append(types[i].getSimpleName());
-                    if (i < (types.length - 1)) {
-                        sb.append(',');
-                    }
-                }
-                sb.append(')');
-                log.log(LogLevel.ERROR, ex, sb.toString());
+                logInvokeException(method, ex);
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Invoke a method handle of type {@code (double)void}, usually bound to the
+     * delegate, with the same clock, logging and flush behaviour as
+     * {@link #invoke(long, java.lang.reflect.Method, java.lang.Object...)}.
+     */
+    void invoke(long time, Method method, MethodHandle handle, double arg) {
+        if (checkActive()) {
+            update(time);
+            try {
+                handle.invokeExact(arg);
+            } catch (Throwable t) {
+                logInvokeException(method, t);
             }
             flush();
         }
     }
 
+    /**
+     * Invoke a method handle of type {@code (int)void}, usually bound to the
+     * delegate, with the same clock, logging and flush behaviour as
+     * {@link #invoke(long, java.lang.reflect.Method, java.lang.Object...)}.
+     */
+    void invoke(long time, Method method, MethodHandle handle, int arg) {
+        if (checkActive()) {
+            update(time);
+            try {
+                handle.invokeExact(arg);
+            } catch (Throwable t) {
+                logInvokeException(method, t);
+            }
+            flush();
+        }
+    }
+
+    /**
+     * Invoke a method handle of type {@code (Object)void}, usually bound to the
+     * delegate, with the same clock, logging and flush behaviour as
+     * {@link #invoke(long, java.lang.reflect.Method, java.lang.Object...)}.
+     */
+    void invoke(long time, Method method, MethodHandle handle, Object arg) {
+        if (checkActive()) {
+            update(time);
+            try {
+                handle.invokeExact(arg);
+            } catch (Throwable t) {
+                logInvokeException(method, t);
+            }
+            flush();
+        }
+    }
+
+    private void logInvokeException(Method method, Throwable t) {
+        Exception ex = t instanceof Exception e ? e : new InvocationTargetException(t);
+        StringBuilder sb = new StringBuilder("Exception thrown from ");
+        sb.append(method.getName());
+        sb.append('(');
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            sb.append(types[i].getSimpleName());
+            if (i < (types.length - 1)) {
+                sb.append(',');
+            }
+        }
+        sb.append(')');
+        log.log(LogLevel.ERROR, ex, sb.toString());
+    }
+
     /**
      * Flush the code context. By default this message checks for pending log
      * messages and delivers to the log.
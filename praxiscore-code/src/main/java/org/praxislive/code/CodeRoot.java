@@ -21,10 +21,19 @@
  */
 package org.praxislive.code;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -44,6 +53,7 @@ import org.praxislive.core.Lookup;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.Root;
 import org.praxislive.core.RootHub;
+import org.praxislive.core.ThreadContext;
 import org.praxislive.core.VetoException;
 import org.praxislive.core.protocols.SerializableProtocol;
 import org.praxislive.core.protocols.StartableProtocol;
@@ -69,10 +79,12 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
     private final Control isRunningControl;
     private final Control serializeControl;
     private final Control bindingsControl;
+    private final Control metricsControl;
     private final SharedCodeProperty sharedCode;
 
     private BindingContextControl bindings;
     private Lookup lookup;
+    private DriverAdapter driverAdapter;
 
     CodeRoot() {
         root = new RootImpl(this);
@@ -115,6 +127,13 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
                 throw new UnsupportedOperationException();
             }
         };
+        metricsControl = (call, router) -> {
+            if (call.isRequest()) {
+                PMap response = root.metrics().orElseThrow(
+                        () -> new UnsupportedOperationException("Metrics not enabled"));
+                router.route(call.reply(response));
+            }
+        };
     }
 
     @Override
@@ -216,6 +235,19 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
         return root;
     }
 
+    private DriverAdapter driverAdapter(Class<?> type) throws Exception {
+        if (driverAdapter == null || driverAdapter.type != type) {
+            try {
+                driverAdapter = new DriverAdapter(this, type);
+            } catch (Exception | Error ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+        return driverAdapter;
+    }
+
     /**
      * CodeContext subclass for CodeRoots.
      *
@@ -324,6 +356,11 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
                     getInternalIndex(),
                     ctxt -> ctxt instanceof Context c ? c.getComponent().bindingsControl : null
             ));
+            addControl(new WrapperControlDescriptor("metrics",
+                    null,
+                    getInternalIndex(),
+                    ctxt -> ctxt instanceof Context c ? c.getComponent().metricsControl : null
+            ));
         }
 
         @Override
@@ -447,6 +484,10 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
             }
         }
 
+        private Optional<PMap> metrics() {
+            return getMetrics();
+        }
+
         private long currentTime() {
             return getRootHub().getClock().getTime();
         }
@@ -539,19 +580,29 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
     private static class DriverDescriptor extends ReferenceDescriptor<DriverDescriptor>
             implements ProxyContext.Handler {
 
+        private static final Object[] NO_ARGS = new Object[0];
+        private static final MethodType BRIDGE_TYPE
+                = MethodType.methodType(Object.class, Object[].class);
+
         private final Field field;
         private final Object driver;
+        private final MethodHandle bridge;
+        private final Map<Method, MethodHandle> bridges;
         private final DriverThreadContext threadContext;
         private final boolean backgroundPoll;
 
         private CodeRoot.Context<?> context;
         private DriverDescriptor next;
+        private DriverAdapter adapter;
 
         private DriverDescriptor(Field field, Object driver,
+                MethodHandle bridge, Map<Method, MethodHandle> bridges,
                 DriverThreadContext threadContext, boolean backgroundPoll) {
             super(DriverDescriptor.class, field.getName());
             this.field = field;
             this.driver = driver;
+            this.bridge = bridge;
+            this.bridges = bridges;
             this.threadContext = threadContext;
             this.backgroundPoll = backgroundPoll;
         }
@@ -566,10 +617,18 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
                 previous.next = this;
             }
             try {
-                Object proxy = this.context.getComponent().getProxyContext()
-                        .wrap(field.getType(), field.getName(), this, true);
-                field.set(context.getDelegate(), proxy);
-                this.context.getComponent().getRootImpl().setThreadContext(threadContext);
+                CodeRoot<?> cmp = this.context.getComponent();
+                Object ref;
+                if (bridge != null) {
+                    adapter = cmp.driverAdapter(field.getType());
+                    adapter.configure(this);
+                    ref = adapter.instance;
+                } else {
+                    ref = cmp.getProxyContext()
+                            .wrap(field.getType(), field.getName(), this, true);
+                }
+                field.set(context.getDelegate(), ref);
+                cmp.getRootImpl().setThreadContext(threadContext);
             } catch (Exception ex) {
                 context.getLog().log(LogLevel.ERROR, ex);
             }
@@ -577,7 +636,11 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
 
         @Override
         public void dispose() {
-            if (context != null) {
+            if (adapter != null) {
+                if (adapter.descriptor == this) {
+                    adapter.configure(null);
+                }
+            } else if (context != null) {
                 context.getComponent().getProxyContext().clear(field.getType(), field.getName());
             }
             context = null;
@@ -585,6 +648,10 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
 
         @Override
         public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return dispatch(active -> active.invokeDriver(method, args));
+        }
+
+        private Object dispatch(DriverCall call) throws Exception {
             RootImpl root = context.getComponent().getRootImpl();
             return root.invokeFromDriver(() -> {
                 // check active
@@ -607,10 +674,14 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
                 try {
                     if (active.context != null
                             && (active.context == context || active.context.checkActive())) {
-                        return method.invoke(active.driver, args);
+                        return call.invoke(active);
                     } else {
                         return null;
                     }
+                } catch (Exception | Error ex) {
+                    throw ex;
+                } catch (Throwable t) {
+                    throw new InvocationTargetException(t);
                 } finally {
                     context.flush();
                 }
@@ -618,6 +689,18 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
 
         }
 
+        private Object invokeDriver(Method method, Object[] args) throws Throwable {
+            MethodHandle handle = bridges.get(method);
+            if (handle == null) {
+                return method.invoke(driver, args);
+            }
+            try {
+                return (Object) handle.invokeExact(args == null ? NO_ARGS : args);
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
         private boolean isCompatible(DriverDescriptor other) {
             return other.field.getName().equals(field.getName())
                     && other.field.getGenericType().equals(field.getGenericType())
@@ -637,7 +720,11 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
                 field.setAccessible(true);
                 Object driver = field.get(connector.getDelegate());
                 field.set(connector.getDelegate(), null);
-                return new DriverDescriptor(field, driver, threadContext, backgroundPoll);
+                Class<?> type = field.getType();
+                MethodHandle bridge = createBridge(type, driver);
+                return new DriverDescriptor(field, driver, bridge,
+                        bridge == null ? createBridges(type, driver) : Map.of(),
+                        threadContext, backgroundPoll);
             } catch (Exception ex) {
                 connector.getLog().log(LogLevel.ERROR, ex,
                         "Cannot access @Driver annotated field " + field.getName());
@@ -645,6 +732,54 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
             }
         }
 
+        private static MethodHandle createBridge(Class<?> type, Object driver) {
+            if (driver == null || !DriverAdapter.isSupported(type)) {
+                return null;
+            }
+            Method method = DriverAdapter.findMethod(type);
+            try {
+                for (Method m : type.getMethods()) {
+                    if (m.isDefault() && !driver.getClass()
+                            .getMethod(m.getName(), m.getParameterTypes()).isDefault()) {
+                        // default method overridden by driver - use proxy
+                        return null;
+                    }
+                }
+                CodeRoot.class.getModule().addReads(type.getModule());
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method)
+                        .bindTo(driver)
+                        .asType(MethodType.genericMethodType(method.getParameterCount()));
+            } catch (Exception ex) {
+                return null;
+            }
+        }
+
+        private static Map<Method, MethodHandle> createBridges(Class<?> type, Object driver) {
+            if (driver == null) {
+                return Map.of();
+            }
+            CodeRoot.class.getModule().addReads(type.getModule());
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Map<Method, MethodHandle> bridges = new HashMap<>();
+            for (Method method : type.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                try {
+                    method.setAccessible(true);
+                    MethodHandle handle = lookup.unreflect(method)
+                            .bindTo(driver)
+                            .asSpreader(Object[].class, method.getParameterCount())
+                            .asType(BRIDGE_TYPE);
+                    bridges.put(method, handle);
+                } catch (Exception ex) {
+                    // fall back to reflection for this method
+                }
+            }
+            return Map.copyOf(bridges);
+        }
+
         private static DriverThreadContext findThreadContext(
                 CodeRoot.Connector<?> connector, CodeRootDelegate.Driver ann) {
             Class<? extends DriverThreadContext> contextCls = ann.driverThreadContext();
@@ -664,4 +799,146 @@ public class CodeRoot<D extends CodeRootDelegate> extends CodeComponent<D> imple
 
     }
 
+    private static interface DriverCall {
+
+        Object invoke(DriverDescriptor active) throws Throwable;
+
+    }
+
+    /**
+     * Implementation of a functional @Driver interface, generated through
+     * {@link LambdaMetafactory} to call into one of the erased invoke methods
+     * with the driver call arguments. The adapter instance is retained by the
+     * root and reconfigured with each attached descriptor, so that the
+     * reference passed to external code remains constant. Interfaces with more
+     * than one abstract method or more than {@link #MAX_PARAMETERS} parameters,
+     * or that are not visible to this module, and drivers overriding default
+     * methods, are wrapped in a proxy instead.
+     */
+    private static final class DriverAdapter {
+
+        private static final int MAX_PARAMETERS = 4;
+        private static final ClassValue<Optional<MethodHandle>> FACTORIES
+                = new ClassValue<>() {
+            @Override
+            protected Optional<MethodHandle> computeValue(Class<?> type) {
+                return Optional.ofNullable(createFactory(type));
+            }
+        };
+
+        private final Class<?> type;
+        private final Object instance;
+        private final ThreadContext threadCtxt;
+        private final CodeComponent<?> component;
+
+        private volatile DriverDescriptor descriptor;
+
+        private DriverAdapter(CodeComponent<?> component, Class<?> type) throws Throwable {
+            this.component = component;
+            this.type = type;
+            this.threadCtxt = component.getLookup().find(ThreadContext.class)
+                    .orElseThrow(UnsupportedOperationException::new);
+            this.instance = FACTORIES.get(type)
+                    .orElseThrow(UnsupportedOperationException::new)
+                    .invoke(this);
+        }
+
+        private void configure(DriverDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        private Object invoke0() throws Exception {
+            return dispatch(active -> (Object) active.bridge.invokeExact());
+        }
+
+        private Object invoke1(Object arg0) throws Exception {
+            return dispatch(active -> (Object) active.bridge.invokeExact(arg0));
+        }
+
+        private Object invoke2(Object arg0, Object arg1) throws Exception {
+            return dispatch(active -> (Object) active.bridge.invokeExact(arg0, arg1));
+        }
+
+        private Object invoke3(Object arg0, Object arg1, Object arg2) throws Exception {
+            return dispatch(active -> (Object) active.bridge.invokeExact(arg0, arg1, arg2));
+        }
+
+        private Object invoke4(Object arg0, Object arg1, Object arg2, Object arg3)
+                throws Exception {
+            return dispatch(active -> (Object) active.bridge.invokeExact(arg0, arg1, arg2, arg3));
+        }
+
+        private Object dispatch(DriverCall call) throws Exception {
+            Callable<Object> task = () -> {
+                CodeContext<?> context = component.getCodeContext();
+                DriverDescriptor dsc = descriptor;
+                if (dsc != null && context.checkActive()) {
+                    try {
+                        return dsc.dispatch(call);
+                    } finally {
+                        context.flush();
+                    }
+                }
+                return null;
+            };
+            if (threadCtxt.isInUpdate()) {
+                return task.call();
+            } else {
+                return threadCtxt.invoke(task);
+            }
+        }
+
+        private static boolean isSupported(Class<?> type) {
+            return FACTORIES.get(type).isPresent();
+        }
+
+        private static Method findMethod(Class<?> type) {
+            Method method = null;
+            for (Method m : type.getMethods()) {
+                if (!Modifier.isAbstract(m.getModifiers())) {
+                    continue;
+                }
+                if (method != null) {
+                    return null;
+                }
+                method = m;
+            }
+            if (method == null || method.getParameterCount() > MAX_PARAMETERS) {
+                return null;
+            }
+            try {
+                if (Class.forName(type.getName(), false, CodeRoot.class.getClassLoader()) != type) {
+                    return null;
+                }
+            } catch (ClassNotFoundException ex) {
+                return null;
+            }
+            return method;
+        }
+
+        private static MethodHandle createFactory(Class<?> type) {
+            Method method = findMethod(type);
+            if (method == null) {
+                return null;
+            }
+            int count = method.getParameterCount();
+            try {
+                CodeRoot.class.getModule().addReads(type.getModule());
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle target = lookup.findVirtual(DriverAdapter.class,
+                        "invoke" + count, MethodType.genericMethodType(count));
+                MethodType samType = MethodType.methodType(method.getReturnType(),
+                        method.getParameterTypes());
+                return LambdaMetafactory.metafactory(lookup,
+                        method.getName(),
+                        MethodType.methodType(type, DriverAdapter.class),
+                        samType, target, samType)
+                        .getTarget();
+            } catch (Throwable t) {
+                return null;
+            }
+        }
+
+    }
+
 }
@@ -295,6 +295,8 @@ public class CodeRootContainer<D extends CodeRootContainerDelegate> extends Code
                     ContainerProtocol.CONNECTIONS_INFO));
             addControl(containerControl(ContainerProtocol.SUPPORTED_TYPES,
                     ContainerProtocol.SUPPORTED_TYPES_INFO));
+            addControl(containerControl(ContainerProtocol.ADD_ALL,
+                    ContainerProtocol.ADD_ALL_INFO));
         }
 
         @Override
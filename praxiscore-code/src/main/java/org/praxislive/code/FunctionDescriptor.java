@@ -22,6 +22,9 @@
  */
 package org.praxislive.code;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
@@ -52,6 +55,7 @@ import org.praxislive.core.types.PMap;
 class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
 
     private final Method method;
+    private final MethodHandle handle;
     private final ControlInfo info;
     private final boolean async;
     private final List<ValueMapper<?>> parameterMappers;
@@ -63,12 +67,14 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
     private FunctionDescriptor(String id,
             int index,
             Method method,
+            MethodHandle handle,
             ControlInfo info,
             List<ValueMapper<?>> parameterMappers,
             ValueMapper<?> returnMapper,
             boolean async) {
         super(FunctionDescriptor.class, id, Category.Function, index);
         this.method = method;
+        this.handle = handle;
         this.info = info;
         this.parameterMappers = parameterMappers;
         this.returnMapper = (ValueMapper<Object>) returnMapper;
@@ -242,7 +248,17 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
                     .build();
         }
 
-        return new FunctionDescriptor(id, index, method, controlInfo,
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method)
+                    .asSpreader(Object[].class, parameters.length)
+                    .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+        } catch (IllegalAccessException ex) {
+            connector.getLog().log(LogLevel.ERROR, ex);
+            return null;
+        }
+
+        return new FunctionDescriptor(id, index, method, handle, controlInfo,
                 List.of(parameterMappers), returnMapper, async);
     }
 
@@ -250,6 +266,24 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
 
         abstract void attach(CodeContext<?> context, FunctionDescriptor descriptor);
 
+        /**
+         * Bind the descriptor method handle to the context delegate, returning
+         * a handle of type {@code (Object[])Object}.
+         */
+        static MethodHandle bind(CodeContext<?> context, FunctionDescriptor descriptor) {
+            return descriptor.handle.bindTo(context.getDelegate());
+        }
+
+        static Object invoke(MethodHandle invoker, Object[] parameters) throws Exception {
+            try {
+                return (Object) invoker.invokeExact(parameters);
+            } catch (Exception ex) {
+                throw ex;
+            } catch (Throwable t) {
+                throw new InvocationTargetException(t);
+            }
+        }
+
         abstract void dispose();
 
         void onStop() {
@@ -262,6 +296,7 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
 
         private CodeContext<?> context;
         private FunctionDescriptor dsc;
+        private MethodHandle invoker;
 
         private DirectFunctionControl() {
         }
@@ -280,7 +315,7 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
                 }
                 try {
                     Object response = context.invokeCallable(call.time(),
-                            () -> dsc.method.invoke(context.getDelegate(), parameters));
+                            () -> invoke(invoker, parameters));
                     if (call.isReplyRequired()) {
                         if (dsc.returnMapper != null) {
                             router.route(call.reply(dsc.returnMapper.toValue(response)));
@@ -302,12 +337,14 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
         void attach(CodeContext<?> context, FunctionDescriptor descriptor) {
             this.context = context;
             this.dsc = descriptor;
+            this.invoker = bind(context, descriptor);
         }
 
         @Override
         void dispose() {
             this.context = null;
             this.dsc = null;
+            this.invoker = null;
         }
 
     }
@@ -318,6 +355,7 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
 
         private CodeContext<?> context;
         private FunctionDescriptor dsc;
+        private MethodHandle invoker;
 
         private AsyncFunctionControl() {
             pending = new LinkedHashMap<>();
@@ -338,7 +376,7 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
                 }
                 try {
                     Object response = context.invokeCallable(call.time(),
-                            () -> dsc.method.invoke(context.getDelegate(), parameters));
+                            () -> invoke(invoker, parameters));
                     if (call.isReplyRequired()) {
                         Async<Object> async = (Async<Object>) response;
                         if (async.done()) {
@@ -379,6 +417,7 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
         void attach(CodeContext<?> context, FunctionDescriptor descriptor) {
             this.context = context;
             this.dsc = descriptor;
+            this.invoker = bind(context, descriptor);
         }
 
         @Override
@@ -395,6 +434,7 @@ class FunctionDescriptor extends ControlDescriptor<FunctionDescriptor> {
             onStop();
             this.context = null;
             this.dsc = null;
+            this.invoker = null;
         }
 
         private void handleComplete(Call call, Object result, PacketRouter router) {
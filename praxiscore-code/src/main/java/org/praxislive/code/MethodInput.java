@@ -22,6 +22,9 @@
  */
 package org.praxislive.code;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Optional;
 import org.praxislive.code.userapi.AuxIn;
@@ -38,22 +41,35 @@ import org.praxislive.core.services.LogLevel;
 abstract class MethodInput {
 
     final Method method;
+    final MethodHandle handle;
     CodeContext<?> context;
+    MethodHandle invoker;
 
-    private MethodInput(Method method) {
+    private MethodInput(Method method, MethodHandle handle, Class<?> parameterType) {
         this.method = method;
+        this.handle = handle.asType(
+                MethodType.methodType(void.class, Object.class, parameterType));
     }
 
     private void attach(CodeContext<?> context) {
         this.context = context;
+        this.invoker = handle.bindTo(context.getDelegate());
     }
 
     abstract void receive(long time, double value);
 
     abstract void receive(long time, Value value);
 
-    void invoke(long time, final Object value) {
-        context.invoke(time, method, value);
+    void invoke(long time, double value) {
+        context.invoke(time, method, invoker, value);
+    }
+
+    void invoke(long time, int value) {
+        context.invoke(time, method, invoker, value);
+    }
+
+    void invoke(long time, Object value) {
+        context.invoke(time, method, invoker, value);
     }
 
 //    static boolean isSuppportedType(Class<?> type) {
@@ -76,15 +92,22 @@ abstract class MethodInput {
         Class<?>[] types = method.getParameterTypes();
         MethodInput input = null;
         if (types.length == 1) {
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException ex) {
+                connector.getLog().log(LogLevel.ERROR, ex);
+                return null;
+            }
             Class<?> type = types[0];
             if (type == double.class) {
-                input = new DoubleInput(method);
+                input = new DoubleInput(method, handle);
             } else if (type == int.class) {
-                input = new IntInput(method);
+                input = new IntInput(method, handle);
             } else if (type == String.class) {
-                input = new StringInput(method);
+                input = new StringInput(method, handle);
             } else if (Value.class.isAssignableFrom(type)) {
-                input = new ValueInput((Class<Value>) type, method);
+                input = new ValueInput((Class<Value>) type, method, handle);
             }
         }
         if (input == null) {
@@ -141,8 +164,8 @@ abstract class MethodInput {
 
     private static class DoubleInput extends MethodInput {
 
-        private DoubleInput(Method method) {
-            super(method);
+        private DoubleInput(Method method, MethodHandle handle) {
+            super(method, handle, double.class);
         }
 
         @Override
@@ -161,8 +184,8 @@ abstract class MethodInput {
 
     private static class IntInput extends MethodInput {
 
-        private IntInput(Method method) {
-            super(method);
+        private IntInput(Method method, MethodHandle handle) {
+            super(method, handle, int.class);
         }
 
         @Override
@@ -182,8 +205,8 @@ abstract class MethodInput {
 
     private static class StringInput extends MethodInput {
 
-        private StringInput(Method method) {
-            super(method);
+        private StringInput(Method method, MethodHandle handle) {
+            super(method, handle, Object.class);
         }
 
         @Override
@@ -202,8 +225,8 @@ abstract class MethodInput {
 
         private Value.Type<Value> type;
         
-        private ValueInput(Class<Value> cls, Method method) {
-            super(method);
+        private ValueInput(Class<Value> cls, Method method, MethodHandle handle) {
+            super(method, handle, Object.class);
             type = Value.Type.of(cls);
         }
 
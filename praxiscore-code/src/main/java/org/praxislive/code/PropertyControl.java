@@ -34,8 +34,10 @@ import org.praxislive.code.userapi.Property;
 import org.praxislive.code.userapi.ReadOnly;
 import org.praxislive.code.userapi.Transient;
 import org.praxislive.code.userapi.Type;
+import org.praxislive.base.BindingContext;
 import org.praxislive.core.Call;
 import org.praxislive.core.Control;
+import org.praxislive.core.ControlAddress;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.Port;
 import org.praxislive.core.ArgumentInfo;
@@ -60,6 +62,7 @@ public class PropertyControl extends Property implements Control {
     private final boolean readOnly;
 
     private CodeContext<?> context;
+    private ControlAddress address;
 
     private boolean latestSet;
     private long latest;
@@ -120,6 +123,7 @@ public class PropertyControl extends Property implements Control {
 
     private void attach(CodeContext<?> context, PropertyControl previous) {
         this.context = context;
+        this.address = null;
         if (previous != null) {
             binding.attach(context, previous.binding);
             latest = previous.latest;
@@ -148,6 +152,7 @@ public class PropertyControl extends Property implements Control {
                     try {
                         setImpl(time, (Value) args.get(0));
                         checkInvoke(time, false);
+                        notifyChanged();
                     } catch (Exception ex) {
                         checkInvoke(time, true);
                         throw ex;
@@ -163,6 +168,17 @@ public class PropertyControl extends Property implements Control {
         }
     }
 
+    private void notifyChanged() {
+        if (address == null) {
+            address = context.getAddress(this);
+            if (address == null) {
+                return;
+            }
+        }
+        context.getLookup().find(BindingContext.class)
+                .ifPresent(bindings -> bindings.changed(address));
+    }
+
     private void setLatest(long time) {
         latestSet = true;
         latest = time;
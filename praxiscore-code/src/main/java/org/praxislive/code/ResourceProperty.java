@@ -162,6 +162,16 @@ public final class ResourceProperty<V> extends AbstractAsyncProperty<V> {
             throw caughtException;
         }
 
+        @Override
+        public boolean isBlocking() {
+            return true;
+        }
+
+        @Override
+        public boolean isSupersedable() {
+            return true;
+        }
+
     }
 
     public static abstract class Loader<V> {
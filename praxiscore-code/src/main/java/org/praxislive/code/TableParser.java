@@ -22,6 +22,7 @@
 package org.praxislive.code;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import org.praxislive.code.userapi.Table;
@@ -36,6 +37,11 @@ import org.praxislive.core.types.PString;
  */
 class TableParser {
 
+    private static final byte KIND_EMPTY = 0;
+    private static final byte KIND_INTEGER = 1;
+    private static final byte KIND_DOUBLE = 2;
+    private static final byte KIND_TEXT = 3;
+
     private TableParser() {
     }
     
@@ -53,7 +59,7 @@ class TableParser {
         
     }
 
-    static Response parse(String data) throws ValueFormatException {
+    static Response parse(CharSequence data) throws ValueFormatException {
         if (data.isEmpty()) {
             return new Response(List.of());
         }
@@ -61,9 +67,9 @@ class TableParser {
 
     }
     
-    private static List<Table> parseImpl(String data) throws ValueFormatException {
+    private static List<Table> parseImpl(CharSequence data) throws ValueFormatException {
         List<TableImpl> tables = new ArrayList<>();
-        List<Optional<Value>> table = new ArrayList<>();
+        Builder table = new Builder();
         int maxColumn = 0;
         int column = 0;
         Tokenizer tk = new Tokenizer(data);
@@ -77,9 +83,9 @@ class TableParser {
                         throw new ValueFormatException();
                     }
                     if (type == Token.Type.PLAIN) {
-                        table.add(getPlainArgument(t.getText()));
+                        table.addPlain(t.getText());
                     } else {
-                        table.add(getQuotedArgument(t.getText()));
+                        table.addText(t.getText());
                     }
                     column++;
                     break;
@@ -91,17 +97,14 @@ class TableParser {
                         } else {
                             // pad to end of row
                             while (column < maxColumn) {
-                                table.add(Optional.empty());
+                                table.addEmpty();
                                 column++;
                             }
                         }
                         column = 0;
                     } else if (maxColumn > 0) {
                         // end of pattern
-                        int columns = maxColumn;
-                        int size = table.size();
-                        int rows = size / columns;
-                        tables.add(new TableImpl(List.copyOf(table), rows, columns));
+                        tables.add(table.build(maxColumn));
                         column = 0;
                         maxColumn = 0;
                         table.clear();
@@ -116,60 +119,207 @@ class TableParser {
         }
         if (maxColumn > 0) {
             // still in pattern
-            int columns = maxColumn;
-            int size = table.size();
-            int rows = size / columns;
-            tables.add(new TableImpl(List.copyOf(table), rows, columns));
+            tables.add(table.build(maxColumn));
         }
 
         return List.copyOf(tables);
     }
 
-    private static Optional<Value> getPlainArgument(String token) {
-        if (".".equals(token)) {
-            return Optional.empty();
-        } else if (token.isEmpty()) {
-            return Optional.of(PString.EMPTY);
-        } else if ("0123456789-.".indexOf(token.charAt(0)) > -1) {
-            try {
-                return Optional.of(PNumber.parse(token));
-            } catch (ValueFormatException ex) {
-                // fall through
+    /**
+     * Collects cells in row order, storing numbers unboxed. Number tokens are
+     * only kept as text if they would not print the same from the parsed
+     * value.
+     */
+    private static class Builder {
+
+        private byte[] kinds;
+        private double[] numbers;
+        private String[] texts;
+        private int size;
+
+        private Builder() {
+            kinds = new byte[64];
+            numbers = new double[64];
+        }
+
+        private void addEmpty() {
+            add(KIND_EMPTY, 0, null);
+        }
+
+        private void addPlain(String token) {
+            if (".".equals(token)) {
+                add(KIND_EMPTY, 0, null);
+            } else if (!token.isEmpty() && "0123456789-.".indexOf(token.charAt(0)) > -1) {
+                try {
+                    PNumber number = PNumber.parse(token);
+                    double value = number.value();
+                    if (number.isInteger()) {
+                        add(KIND_INTEGER, value,
+                                token.equals(Integer.toString((int) value)) ? null : token);
+                    } else {
+                        add(KIND_DOUBLE, value,
+                                token.equals(Double.toString(value)) ? null : token);
+                    }
+                    return;
+                } catch (ValueFormatException ex) {
+                    // fall through
+                }
+                add(KIND_TEXT, 0, token);
+            } else {
+                add(KIND_TEXT, 0, token);
             }
         }
-        return Optional.of(PString.of(token));
-    }
 
-    private static Optional<Value> getQuotedArgument(String token) {
-        if (token.isEmpty()) {
-            return Optional.of(PString.EMPTY);
-        } else {
-            return Optional.of(PString.of(token));
+        private void addText(String token) {
+            add(KIND_TEXT, 0, token);
+        }
+
+        private void add(byte kind, double number, String text) {
+            if (size == kinds.length) {
+                kinds = Arrays.copyOf(kinds, size * 2);
+                numbers = Arrays.copyOf(numbers, size * 2);
+                if (texts != null) {
+                    texts = Arrays.copyOf(texts, size * 2);
+                }
+            }
+            kinds[size] = kind;
+            numbers[size] = number;
+            if (text != null) {
+                if (texts == null) {
+                    texts = new String[kinds.length];
+                }
+                texts[size] = text;
+            }
+            size++;
+        }
+
+        private TableImpl build(int columns) {
+            int rows = size / columns;
+            byte[][] columnKinds = new byte[columns][rows];
+            double[][] columnNumbers = new double[columns][];
+            String[][] columnTexts = new String[columns][];
+            for (int c = 0; c < columns; c++) {
+                byte[] k = columnKinds[c];
+                double[] n = null;
+                String[] t = null;
+                for (int r = 0; r < rows; r++) {
+                    int idx = r * columns + c;
+                    byte kind = kinds[idx];
+                    k[r] = kind;
+                    if (kind == KIND_INTEGER || kind == KIND_DOUBLE) {
+                        if (n == null) {
+                            n = new double[rows];
+                        }
+                        n[r] = numbers[idx];
+                    }
+                    if (texts != null && texts[idx] != null) {
+                        if (t == null) {
+                            t = new String[rows];
+                        }
+                        t[r] = texts[idx];
+                    }
+                }
+                columnNumbers[c] = n;
+                columnTexts[c] = t;
+            }
+            return new TableImpl(rows, columns, columnKinds, columnNumbers, columnTexts);
+        }
+
+        private void clear() {
+            size = 0;
+            if (texts != null) {
+                Arrays.fill(texts, null);
+            }
         }
+
     }
 
+    /**
+     * Columnar table. Cells are stored per column as a kind, an unboxed number
+     * and, where required, the source text. Values for
+     * {@link #valueAt(int, int)} are created on first access and cached.
+     */
     static class TableImpl extends Table {
 
-        private final List<Optional<Value>> values;
         private final int rows;
         private final int columns;
+        private final byte[][] kinds;
+        private final double[][] numbers;
+        private final String[][] texts;
+
+        private Optional<Value>[][] values;
 
-        private TableImpl(List<Optional<Value>> values, int rows, int columns) {
-            assert values.size() == rows * columns;
-            this.values = values;
+        private TableImpl(int rows, int columns,
+                byte[][] kinds, double[][] numbers, String[][] texts) {
             this.rows = rows;
             this.columns = columns;
+            this.kinds = kinds;
+            this.numbers = numbers;
+            this.texts = texts;
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public Optional<Value> valueAt(int row, int column) {
-            if (row < 0 || row >= rows) {
+            if (!inRange(row, column) || kinds[column][row] == KIND_EMPTY) {
                 return Optional.empty();
             }
-            if (column < 0 || column >= columns) {
-                return Optional.empty();
+            if (values == null) {
+                values = new Optional[columns][];
+            }
+            Optional<Value>[] columnValues = values[column];
+            if (columnValues == null) {
+                columnValues = new Optional[rows];
+                values[column] = columnValues;
+            }
+            Optional<Value> value = columnValues[row];
+            if (value == null) {
+                value = Optional.of(createValue(row, column));
+                columnValues[row] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public boolean hasValue(int row, int column) {
+            return inRange(row, column) && kinds[column][row] != KIND_EMPTY;
+        }
+
+        @Override
+        public boolean isNumber(int row, int column) {
+            if (inRange(row, column)) {
+                byte kind = kinds[column][row];
+                return kind == KIND_INTEGER || kind == KIND_DOUBLE;
+            }
+            return false;
+        }
+
+        @Override
+        public double getDouble(int row, int column, double defaultValue) {
+            if (isNumber(row, column)) {
+                return numbers[column][row];
+            } else {
+                return super.getDouble(row, column, defaultValue);
+            }
+        }
+
+        @Override
+        public int getInt(int row, int column, int defaultValue) {
+            if (isNumber(row, column)) {
+                double value = numbers[column][row];
+                return kinds[column][row] == KIND_INTEGER ? (int) value : (int) Math.round(value);
+            } else {
+                return super.getInt(row, column, defaultValue);
+            }
+        }
+
+        @Override
+        public String getString(int row, int column, String defaultValue) {
+            if (inRange(row, column) && kinds[column][row] == KIND_TEXT) {
+                return texts[column][row];
+            } else {
+                return super.getString(row, column, defaultValue);
             }
-            return values.get((row * columns) + column);
         }
 
         @Override
@@ -182,6 +332,27 @@ class TableParser {
             return columns;
         }
 
+        private boolean inRange(int row, int column) {
+            return row >= 0 && row < rows && column >= 0 && column < columns;
+        }
+
+        private Value createValue(int row, int column) {
+            byte kind = kinds[column][row];
+            String text = texts[column] == null ? null : texts[column][row];
+            if (kind == KIND_TEXT) {
+                return text.isEmpty() ? PString.EMPTY : PString.of(text);
+            }
+            if (text != null) {
+                try {
+                    return PNumber.parse(text);
+                } catch (ValueFormatException ex) {
+                    // fall through
+                }
+            }
+            double value = numbers[column][row];
+            return kind == KIND_INTEGER ? PNumber.of((int) value) : PNumber.of(value);
+        }
+
     }
 
 
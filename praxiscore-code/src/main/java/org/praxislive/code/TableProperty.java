@@ -21,9 +21,15 @@
  */
 package org.praxislive.code;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import org.praxislive.code.userapi.OnChange;
 import org.praxislive.code.userapi.OnError;
@@ -34,6 +40,7 @@ import org.praxislive.core.Control;
 import org.praxislive.core.ControlInfo;
 import org.praxislive.core.Info;
 import org.praxislive.core.TreeWriter;
+import org.praxislive.core.ValueFormatException;
 import org.praxislive.core.services.TaskService;
 import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PReference;
@@ -41,7 +48,10 @@ import org.praxislive.core.types.PString;
 import org.praxislive.core.services.LogLevel;
 
 /**
- *
+ * Property for {@link Table} and {@code List<Table>} fields. Table text is
+ * parsed on the {@link TaskService}. Fields also annotated as
+ * {@link org.praxislive.code.userapi.Type.Resource} are instead handled by
+ * {@link ResourceProperty}, using the loaders provided here.
  */
 class TableProperty extends AbstractAsyncProperty<TableParser.Response> {
 
@@ -126,6 +136,71 @@ class TableProperty extends AbstractAsyncProperty<TableParser.Response> {
             return PReference.of(TableParser.parse(data.toString()));
         }
 
+        @Override
+        public boolean isSupersedable() {
+            return true;
+        }
+
+    }
+
+    /**
+     * Find a resource loader for the provided field, if the field is a
+     * {@link Table} or {@code List<Table>}.
+     *
+     * @param field field
+     * @return loader or null
+     */
+    static ResourceProperty.Loader<?> findResourceLoader(Field field) {
+        if (!Descriptor.isSupportedField(field)) {
+            return null;
+        }
+        return field.getType() == List.class ? TableLoader.LIST : TableLoader.TABLE;
+    }
+
+    private final static class TableLoader<V> extends ResourceProperty.Loader<V> {
+
+        private final static TableLoader<Table> TABLE
+                = new TableLoader<>(Table.class, Table.EMPTY);
+        @SuppressWarnings("unchecked")
+        private final static TableLoader<List<Table>> LIST
+                = new TableLoader<>((Class<List<Table>>) (Class<?>) List.class, List.of());
+
+        private final V empty;
+
+        private TableLoader(Class<V> type, V empty) {
+            super(type);
+            this.empty = empty;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V load(URI uri) throws IOException {
+            String text;
+            if ("file".equals(uri.getScheme())) {
+                text = Files.readString(Path.of(uri));
+            } else {
+                try (InputStream in = uri.toURL().openStream()) {
+                    text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+            }
+            List<Table> tables;
+            try {
+                tables = TableParser.parse(text).tables();
+            } catch (ValueFormatException ex) {
+                throw new IOException(ex);
+            }
+            if (this == LIST) {
+                return (V) tables;
+            } else {
+                return (V) (tables.isEmpty() ? Table.EMPTY : tables.get(0));
+            }
+        }
+
+        @Override
+        public V getEmptyValue() {
+            return empty;
+        }
+
     }
 
     static class Descriptor extends ControlDescriptor<Descriptor> {
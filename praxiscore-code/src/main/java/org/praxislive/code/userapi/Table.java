@@ -23,9 +23,18 @@ package org.praxislive.code.userapi;
 
 import java.util.Optional;
 import org.praxislive.core.Value;
+import org.praxislive.core.types.PNumber;
 
 /**
- *
+ * A table of values, as parsed from a table property. Cells may be empty. A
+ * table property also annotated with {@link Type.Resource} loads the table
+ * text from a file or network link instead.
+ * <p>
+ * The typed accessors, such as {@link #getDouble(int, int, double)}, allow
+ * numeric cells to be read without boxing. Tables created by the built-in table
+ * property store cells by column, with numbers unboxed, and cache the values
+ * returned from {@link #valueAt(int, int)}, so that repeated access during
+ * playback does not allocate.
  */
 public abstract class Table {
     
@@ -36,6 +45,78 @@ public abstract class Table {
     public abstract int rowCount();
     
     public abstract int columnCount();
+
+    /**
+     * Query whether the cell at the given row and column has a value. Returns
+     * false if the cell is empty or out of range.
+     *
+     * @param row row index
+     * @param column column index
+     * @return true if cell has a value
+     */
+    public boolean hasValue(int row, int column) {
+        return valueAt(row, column).isPresent();
+    }
+
+    /**
+     * Query whether the cell at the given row and column is a number.
+     *
+     * @param row row index
+     * @param column column index
+     * @return true if cell is a number
+     */
+    public boolean isNumber(int row, int column) {
+        return valueAt(row, column).orElse(null) instanceof PNumber;
+    }
+
+    /**
+     * Get the cell at the given row and column as a double. Returns the
+     * default value if the cell is empty, out of range or cannot be converted
+     * to a number.
+     *
+     * @param row row index
+     * @param column column index
+     * @param defaultValue default value
+     * @return cell value as double, or default value
+     */
+    public double getDouble(int row, int column, double defaultValue) {
+        return valueAt(row, column)
+                .flatMap(PNumber::from)
+                .map(PNumber::value)
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Get the cell at the given row and column as an int. Non-integer numbers
+     * are rounded. Returns the default value if the cell is empty, out of
+     * range or cannot be converted to a number.
+     *
+     * @param row row index
+     * @param column column index
+     * @param defaultValue default value
+     * @return cell value as int, or default value
+     */
+    public int getInt(int row, int column, int defaultValue) {
+        return valueAt(row, column)
+                .flatMap(PNumber::from)
+                .map(PNumber::toIntValue)
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Get the cell at the given row and column as a String. Returns the
+     * default value if the cell is empty or out of range.
+     *
+     * @param row row index
+     * @param column column index
+     * @param defaultValue default value
+     * @return cell value as String, or default value
+     */
+    public String getString(int row, int column, String defaultValue) {
+        return valueAt(row, column)
+                .map(Value::toString)
+                .orElse(defaultValue);
+    }
     
     private static class Empty extends Table {
 
@@ -0,0 +1,459 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.code;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.praxislive.base.AbstractRootContainer;
+import org.praxislive.base.MapTreeWriter;
+import org.praxislive.code.userapi.FN;
+import org.praxislive.code.userapi.In;
+import org.praxislive.code.userapi.P;
+import org.praxislive.code.userapi.T;
+import org.praxislive.code.userapi.Table;
+import org.praxislive.code.userapi.Type;
+import org.praxislive.core.Call;
+import org.praxislive.core.Clock;
+import org.praxislive.core.ComponentAddress;
+import org.praxislive.core.ComponentInfo;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Root;
+import org.praxislive.core.RootHub;
+import org.praxislive.core.Value;
+import org.praxislive.core.VetoException;
+import org.praxislive.core.services.LogLevel;
+import org.praxislive.core.services.Service;
+import org.praxislive.core.services.Services;
+import org.praxislive.core.services.TaskService;
+import org.praxislive.core.types.PArray;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
+import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PReference;
+import org.praxislive.core.types.PResource;
+import org.praxislive.core.types.PString;
+import org.praxislive.core.protocols.ContainerProtocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class CodeComponentTest {
+
+    private static final ControlAddress PING = ControlAddress.of("/test/code.ping");
+    private static final ControlAddress ADD = ControlAddress.of("/test/code.add");
+    private static final ControlAddress JOIN = ControlAddress.of("/test/code.join");
+    private static final ControlAddress REVERSE = ControlAddress.of("/test/code.reverse");
+    private static final ControlAddress FAIL = ControlAddress.of("/test/code.fail");
+    private static final ControlAddress TABLE = ControlAddress.of("/test/code.table");
+    private static final ControlAddress TABLE_FILE = ControlAddress.of("/test/code.table-file");
+    private static final ComponentAddress TASKS = ComponentAddress.of("/tasks");
+    private static final ControlAddress CLIENT = ControlAddress.of("/client.reply");
+
+    public CodeComponentTest() {
+    }
+
+    @Test
+    public void testContextSwapInvalidatesControlCache() throws Exception {
+        CodeFactory<TestBase> factory = createFactory();
+        TestDelegate delegate1 = new TestDelegate();
+        CodeComponent<TestBase> cmp = factory.task().createComponent(delegate1);
+        RootImpl root = new RootImpl(cmp);
+        RootHubImpl hub = new RootHubImpl(root);
+        hub.ctrl.start();
+        try {
+            assertTrue(hub.call(PING).isReply());
+            assertTrue(hub.call(PING).isReply());
+            assertEquals(2, delegate1.count);
+
+            TestDelegate delegate2 = new TestDelegate();
+            root.invoke(() -> cmp.install(factory.task().createContext(delegate2)));
+            assertTrue(hub.call(PING).isReply());
+            assertEquals(2, delegate1.count);
+            assertEquals(1, delegate2.count);
+        } finally {
+            hub.ctrl.shutdown();
+            hub.ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testInputDispatch() throws Exception {
+        TestDelegate delegate = new TestDelegate();
+        CodeComponent<TestBase> cmp = createFactory().task().createComponent(delegate);
+        RootImpl root = new RootImpl(cmp);
+        RootHubImpl hub = new RootHubImpl(root);
+        hub.ctrl.start();
+        try {
+            ControlInput inDouble = (ControlInput) cmp.getPort("in-double");
+            ControlInput inInt = (ControlInput) cmp.getPort("in-int");
+            ControlInput inString = (ControlInput) cmp.getPort("in-string");
+            ControlInput inValue = (ControlInput) cmp.getPort("in-value");
+            ControlInput inNumber = (ControlInput) cmp.getPort("in-number");
+            root.invoke(() -> {
+                inDouble.receive(0, 0.5);
+                inDouble.receive(0, PString.of("0.25"));
+                inInt.receive(0, 2.6);
+                inInt.receive(0, PString.of("4"));
+                inString.receive(0, PString.of("text"));
+                inString.receive(0, 1.5);
+                inValue.receive(0, PString.of("value"));
+                inNumber.receive(0, PString.of("8"));
+                inNumber.receive(0, 16);
+            });
+            assertEquals(List.of(0.5, 0.25), delegate.doubles);
+            assertEquals(List.of(3, 4), delegate.ints);
+            assertEquals(List.of("text", "1.5"), delegate.strings);
+            assertEquals(List.of(PString.of("value"), PNumber.of(8), PNumber.of(16)),
+                    delegate.values);
+
+            TestContext context = (TestContext) cmp.getCodeContext();
+            root.invoke(() -> {
+                inDouble.receive(0, -1);
+                inNumber.receive(0, PString.of("not a number"));
+            });
+            assertEquals(List.of(0.5, 0.25), delegate.doubles);
+            assertEquals(3, delegate.values.size());
+            PError error = context.errors().get(0);
+            assertEquals(IllegalArgumentException.class, error.exceptionType());
+            assertEquals("Exception thrown from inDouble(double)", error.message());
+            assertEquals(1, context.errors().size());
+            assertEquals(2, context.log.size());
+        } finally {
+            hub.ctrl.shutdown();
+            hub.ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testFunctionDispatch() throws Exception {
+        TestDelegate delegate = new TestDelegate();
+        CodeComponent<TestBase> cmp = createFactory().task().createComponent(delegate);
+        RootImpl root = new RootImpl(cmp);
+        RootHubImpl hub = new RootHubImpl(root);
+        hub.ctrl.start();
+        try {
+            Call add = hub.call(ADD, PNumber.of(0.5), PString.of("1.25"));
+            assertTrue(add.isReply());
+            assertEquals(1.75, PNumber.from(add.args().get(0)).orElseThrow().value());
+
+            Call join = hub.call(JOIN, PString.of("a"), PNumber.of(3));
+            assertTrue(join.isReply());
+            assertEquals("aaa", join.args().get(0).toString());
+
+            Call reverse = hub.call(REVERSE, PArray.of(PString.of("x"), PString.of("y")));
+            assertTrue(reverse.isReply());
+            assertEquals(PArray.of(PString.of("y"), PString.of("x")),
+                    PArray.from(reverse.args().get(0)).orElseThrow());
+
+            Call fail = hub.call(FAIL);
+            assertTrue(fail.isError());
+            PError error = PError.from(fail.args().get(0)).orElseThrow();
+            assertEquals(UnsupportedOperationException.class, error.exceptionType());
+            assertEquals("fail", error.message());
+        } finally {
+            hub.ctrl.shutdown();
+            hub.ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testTableResource(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("data.txt");
+        Files.writeString(file, "1 2 3\n4 five 6\n");
+        PMap saved;
+
+        TestDelegate delegate = new TestDelegate();
+        CodeComponent<TestBase> cmp = createFactory().task().createComponent(delegate);
+        assertEquals(PResource.TYPE_NAME,
+                cmp.getInfo().controlInfo("table-file").inputs().get(0).argumentType());
+        assertEquals(PString.TYPE_NAME,
+                cmp.getInfo().controlInfo("table").inputs().get(0).argumentType());
+        RootImpl root = new RootImpl(cmp);
+        RootHubImpl hub = new RootHubImpl(root);
+        hub.ctrl.start();
+        try {
+            assertSame(Table.EMPTY, delegate.tableFile);
+            assertTrue(hub.call(TABLE_FILE, PResource.of(file.toUri())).isReply());
+            root.invoke(() -> {
+                assertEquals(2, delegate.tableFile.rowCount());
+                assertEquals(6, delegate.tableFile.getDouble(1, 2, 0));
+                assertEquals("five", delegate.tableFile.getString(1, 1, ""));
+            });
+            assertTrue(hub.call(TABLE, PString.of(file.toUri().toString())).isReply());
+            root.invoke(() -> {
+                assertEquals(1, delegate.table.rowCount());
+                assertEquals(file.toUri().toString(), delegate.table.getString(0, 0, ""));
+            });
+            MapTreeWriter writer = new MapTreeWriter();
+            root.invoke(() -> cmp.write(writer));
+            saved = writer.build();
+        } finally {
+            hub.ctrl.shutdown();
+            hub.ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        TestDelegate reloaded = new TestDelegate();
+        RootImpl reloadedRoot = new RootImpl(createFactory().task().createComponent(reloaded));
+        RootHubImpl reloadedHub = new RootHubImpl(reloadedRoot);
+        reloadedHub.ctrl.start();
+        try {
+            // values are restored from their text form
+            assertTrue(reloadedHub.call(TABLE_FILE, PString.of(saved.getString("table-file", ""))).isReply());
+            reloadedRoot.invoke(() -> {
+                assertEquals(2, reloaded.tableFile.rowCount());
+                assertEquals(4, reloaded.tableFile.getDouble(1, 0, 0));
+            });
+            assertTrue(reloadedHub.call(TABLE_FILE, PString.EMPTY).isReply());
+            reloadedRoot.invoke(() -> assertSame(Table.EMPTY, reloaded.tableFile));
+        } finally {
+            reloadedHub.ctrl.shutdown();
+            reloadedHub.ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static CodeFactory<TestBase> createFactory() {
+        return CodeFactory.base(TestBase.class, List.of(),
+                (task, delegate) -> new TestContext(new TestConnector(task, delegate)))
+                .create("test:code", TestDelegate.class, "");
+    }
+
+    public static class TestBase extends DefaultCodeDelegate {
+
+    }
+
+    public static class TestDelegate extends TestBase {
+
+        private volatile int count;
+
+        private final List<Double> doubles = new ArrayList<>();
+        private final List<Integer> ints = new ArrayList<>();
+        private final List<String> strings = new ArrayList<>();
+        private final List<Value> values = new ArrayList<>();
+
+        @P(1)
+        Table table;
+
+        @P(2)
+        @Type.Resource
+        Table tableFile;
+
+        @T(1)
+        void ping() {
+            count++;
+        }
+
+        @In(1)
+        void inDouble(double value) {
+            if (value < 0) {
+                throw new IllegalArgumentException();
+            }
+            doubles.add(value);
+        }
+
+        @In(2)
+        void inInt(int value) {
+            ints.add(value);
+        }
+
+        @In(3)
+        void inString(String value) {
+            strings.add(value);
+        }
+
+        @In(4)
+        void inValue(Value value) {
+            values.add(value);
+        }
+
+        @In(5)
+        void inNumber(PNumber value) {
+            values.add(value);
+        }
+
+        @FN
+        double add(double x, double y) {
+            return x + y;
+        }
+
+        @FN
+        String join(String text, int count) {
+            return text.repeat(count);
+        }
+
+        @FN
+        PArray reverse(PArray array) {
+            List<Value> list = new ArrayList<>(array.asList());
+            Collections.reverse(list);
+            return PArray.of(list);
+        }
+
+        @FN
+        void fail() {
+            throw new UnsupportedOperationException("fail");
+        }
+
+    }
+
+    private static class TestConnector extends CodeConnector<TestBase> {
+
+        private TestConnector(CodeFactory.Task<TestBase> task, TestBase delegate) {
+            super(task, delegate);
+        }
+
+    }
+
+    private static class TestContext extends CodeContext<TestBase> {
+
+        private final List<Value> log = new ArrayList<>();
+
+        private TestContext(TestConnector connector) {
+            super(connector);
+        }
+
+        @Override
+        protected void flush() {
+            log.addAll(getLog().toList());
+            super.flush();
+        }
+
+        private List<PError> errors() {
+            List<PError> errors = new ArrayList<>();
+            for (int i = 0; i < log.size(); i += 2) {
+                if (LogLevel.ERROR.asPString().equals(log.get(i))) {
+                    PError.from(log.get(i + 1)).ifPresent(errors::add);
+                }
+            }
+            return errors;
+        }
+
+    }
+
+    private static class RootImpl extends AbstractRootContainer {
+
+        private final CodeComponent<?> child;
+
+        private RootImpl(CodeComponent<?> child) {
+            this.child = child;
+        }
+
+        @Override
+        protected void activating() {
+            try {
+                addChild("code", child);
+            } catch (VetoException ex) {
+                throw new IllegalStateException(ex);
+            }
+            setRunning();
+        }
+
+        private void invoke(Runnable task) throws Exception {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            assertTrue(invokeLater(() -> {
+                task.run();
+                done.complete(null);
+            }));
+            done.get(5, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public ComponentInfo getInfo() {
+            return ContainerProtocol.API_INFO;
+        }
+
+    }
+
+    private static class RootHubImpl implements RootHub {
+
+        private final Root.Controller ctrl;
+        private final LinkedBlockingQueue<Packet> replies;
+
+        private RootHubImpl(Root root) {
+            this.replies = new LinkedBlockingQueue<>();
+            this.ctrl = root.initialize("test", this);
+        }
+
+        private Call call(ControlAddress to, Value... args) throws InterruptedException {
+            ctrl.submitPacket(Call.create(to, CLIENT, getClock().getTime(), List.of(args)));
+            Packet reply = replies.poll(5, TimeUnit.SECONDS);
+            assertNotNull(reply);
+            return (Call) reply;
+        }
+
+        @Override
+        public boolean dispatch(Packet packet) {
+            if ("test".equals(packet.rootID())) {
+                return ctrl.submitPacket(packet);
+            } else if (TASKS.rootID().equals(packet.rootID())) {
+                return ctrl.submitPacket(runTask((Call) packet));
+            } else {
+                return replies.add(packet);
+            }
+        }
+
+        private Call runTask(Call call) {
+            try {
+                TaskService.Task task = PReference.from(call.args().get(0))
+                        .flatMap(r -> r.as(TaskService.Task.class))
+                        .orElseThrow();
+                return call.reply(task.execute());
+            } catch (Exception ex) {
+                return call.error(PError.of(ex));
+            }
+        }
+
+        @Override
+        public Clock getClock() {
+            return System::nanoTime;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return Lookup.of(new Services() {
+                @Override
+                public Optional<ComponentAddress> locate(Class<? extends Service> service) {
+                    return locateAll(service).findFirst();
+                }
+
+                @Override
+                public Stream<ComponentAddress> locateAll(Class<? extends Service> service) {
+                    return service == TaskService.class ? Stream.of(TASKS) : Stream.empty();
+                }
+            });
+        }
+
+    }
+
+}
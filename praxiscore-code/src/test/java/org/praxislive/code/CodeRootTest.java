@@ -0,0 +1,251 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.code;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.DoubleFunction;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Call;
+import org.praxislive.core.Clock;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Root;
+import org.praxislive.core.RootHub;
+import org.praxislive.core.ThreadContext;
+import org.praxislive.core.protocols.StartableProtocol;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class CodeRootTest {
+
+    private static final ControlAddress START
+            = ControlAddress.of("/test." + StartableProtocol.START);
+    private static final ControlAddress CLIENT = ControlAddress.of("/client.reply");
+
+    public CodeRootTest() {
+    }
+
+    @Test
+    public void testDriverContextSwap() throws Exception {
+        CodeFactory<TestBase> factory = createFactory(FunctionDriver.class);
+        CodeRoot<TestBase> root = (CodeRoot<TestBase>) factory.task().createComponent(new FunctionDriver());
+        RootHubImpl hub = new RootHubImpl(root);
+        FunctionDriver delegate1 = new FunctionDriver("a");
+        root.install(factory.task().createContext(delegate1));
+        hub.start();
+        try {
+            DoubleFunction<String> driver = delegate1.driver;
+            assertFalse(Proxy.isProxyClass(driver.getClass()));
+            awaitActive(() -> driver.apply(0));
+            assertEquals("a1.5", driver.apply(1.5));
+
+            ThreadContext threadCtxt = root.getLookup().find(ThreadContext.class).orElseThrow();
+            FunctionDriver delegate2 = new FunctionDriver("b");
+            threadCtxt.invoke(() -> {
+                root.install(factory.task().createContext(delegate2));
+                return null;
+            });
+            assertSame(driver, delegate2.driver);
+            int count = delegate1.count;
+            assertEquals("b1.5", driver.apply(1.5));
+            assertEquals(count, delegate1.count);
+            assertEquals(1, delegate2.count);
+
+            FunctionDriver delegate3 = new FunctionDriver("c");
+            threadCtxt.invokeLater(() -> root.install(factory.task().createContext(delegate3)));
+            assertEquals("c1.5", driver.apply(1.5));
+            assertSame(driver, delegate3.driver);
+            assertEquals(1, delegate2.count);
+            assertEquals(1, delegate3.count);
+        } finally {
+            hub.shutdown(() -> delegate1.driver.apply(0));
+        }
+    }
+
+    @Test
+    public void testProxyDriverContextSwap() throws Exception {
+        CodeFactory<TestBase> factory = createFactory(ProxyDriver.class);
+        CodeRoot<TestBase> root = (CodeRoot<TestBase>) factory.task().createComponent(new ProxyDriver());
+        RootHubImpl hub = new RootHubImpl(root);
+        ProxyDriver delegate1 = new ProxyDriver("a");
+        root.install(factory.task().createContext(delegate1));
+        hub.start();
+        try {
+            TwoMethods driver = delegate1.driver;
+            assertTrue(Proxy.isProxyClass(driver.getClass()));
+            awaitActive(() -> driver.first(0));
+            assertEquals("a1", driver.first(1));
+            assertEquals("a2", driver.second());
+
+            ThreadContext threadCtxt = root.getLookup().find(ThreadContext.class).orElseThrow();
+            ProxyDriver delegate2 = new ProxyDriver("b");
+            threadCtxt.invokeLater(() -> root.install(factory.task().createContext(delegate2)));
+            assertEquals("b1", driver.first(1));
+            assertSame(driver, delegate2.driver);
+        } finally {
+            hub.shutdown(() -> delegate1.driver.second());
+        }
+    }
+
+    private static void awaitActive(Supplier<String> driverCall) throws Exception {
+        // the root context is activated by the first update from the driver
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (driverCall.get() == null) {
+            assertTrue(System.nanoTime() < end, "Root context not active");
+            Thread.sleep(10);
+        }
+    }
+
+    private static <T extends TestBase> CodeFactory<TestBase> createFactory(Class<T> cls) {
+        return CodeFactory.rootBase(TestBase.class, List.of(),
+                (task, delegate) -> new CodeRoot.Context<>(new CodeRoot.Connector<>(task, delegate)))
+                .create("root:test", cls, "");
+    }
+
+    public static class TestBase extends CodeRootDelegate {
+
+    }
+
+    public static class FunctionDriver extends TestBase {
+
+        @Driver
+        DoubleFunction<String> driver;
+
+        private int count;
+
+        public FunctionDriver() {
+            this("");
+        }
+
+        private FunctionDriver(String prefix) {
+            driver = x -> {
+                count++;
+                return prefix + x;
+            };
+        }
+
+    }
+
+    public static interface TwoMethods {
+
+        String first(int value);
+
+        String second();
+
+    }
+
+    public static class ProxyDriver extends TestBase {
+
+        @Driver
+        TwoMethods driver;
+
+        public ProxyDriver() {
+            this("");
+        }
+
+        private ProxyDriver(String prefix) {
+            driver = new TwoMethods() {
+                @Override
+                public String first(int value) {
+                    return prefix + value;
+                }
+
+                @Override
+                public String second() {
+                    return prefix + 2;
+                }
+            };
+        }
+
+    }
+
+    private static class RootHubImpl implements RootHub {
+
+        private final CodeRoot<?> root;
+        private final LinkedBlockingQueue<Packet> replies;
+        private final Root.Controller ctrl;
+
+        private RootHubImpl(CodeRoot<?> root) {
+            this.root = root;
+            this.replies = new LinkedBlockingQueue<>();
+            this.ctrl = root.initialize("test", this);
+        }
+
+        private void start() throws Exception {
+            ctrl.start();
+            call(START);
+        }
+
+        private void shutdown(Runnable driverCall) throws Exception {
+            // the root only terminates on an update from the driver, or when
+            // an update is forced after five seconds
+            ctrl.shutdown();
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (true) {
+                try {
+                    ctrl.awaitTermination(10, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (TimeoutException ex) {
+                    assertTrue(System.nanoTime() < end, "Root not terminated");
+                    driverCall.run();
+                }
+            }
+        }
+
+        private void call(ControlAddress to) throws Exception {
+            ctrl.submitPacket(Call.create(to, CLIENT, getClock().getTime()));
+            Packet reply = replies.poll(5, TimeUnit.SECONDS);
+            assertNotNull(reply);
+            assertTrue(((Call) reply).isReply());
+        }
+
+        @Override
+        public boolean dispatch(Packet packet) {
+            if ("test".equals(packet.rootID())) {
+                return ctrl.submitPacket(packet);
+            } else {
+                return replies.add(packet);
+            }
+        }
+
+        @Override
+        public Clock getClock() {
+            return System::nanoTime;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return Lookup.EMPTY;
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package org.praxislive.code;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.praxislive.code.userapi.Table;
+import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PString;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableParserTest {
+
+    @Test
+    public void testParse() throws Exception {
+        String data = """
+                1 2.5 foo
+                007 . "bar baz"
+                -3 1.50
+
+                # second table
+                a b
+                """;
+        List<Table> tables = TableParser.parse(data).tables();
+        assertEquals(2, tables.size());
+        Table table = tables.get(0);
+        assertEquals(3, table.rowCount());
+        assertEquals(3, table.columnCount());
+
+        assertTrue(table.isNumber(0, 0));
+        assertEquals(1, table.getInt(0, 0, -1));
+        assertEquals(2.5, table.getDouble(0, 1, 0));
+        assertFalse(table.isNumber(0, 2));
+        assertEquals("foo", table.getString(0, 2, null));
+        assertEquals(PString.of("foo"), table.valueAt(0, 2).orElseThrow());
+
+        assertEquals("007", table.valueAt(1, 0).orElseThrow().toString());
+        assertEquals(7, table.getInt(1, 0, -1));
+        assertFalse(table.hasValue(1, 1));
+        assertEquals(-1, table.getDouble(1, 1, -1));
+        assertEquals("bar baz", table.getString(1, 2, null));
+
+        assertEquals("1.50", table.valueAt(2, 1).orElseThrow().toString());
+        assertEquals(1.5, table.getDouble(2, 1, 0));
+        assertFalse(table.hasValue(2, 2));
+        assertTrue(table.valueAt(3, 0).isEmpty());
+        assertTrue(table.valueAt(0, 3).isEmpty());
+
+        PNumber number = (PNumber) table.valueAt(0, 0).orElseThrow();
+        assertTrue(number.isInteger());
+        assertSame(table.valueAt(0, 0), table.valueAt(0, 0));
+
+        Table second = tables.get(1);
+        assertEquals(1, second.rowCount());
+        assertEquals("b", second.getString(0, 1, null));
+    }
+
+    @Test
+    public void testLargeTable() throws Exception {
+        int rows = 100_000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            sb.append(i).append(' ').append(i * 0.5).append(" x\n");
+        }
+        Table table = TableParser.parse(sb).tables().get(0);
+        assertEquals(rows, table.rowCount());
+        double sum = 0;
+        for (int i = 0; i < rows; i++) {
+            sum += table.getDouble(i, 1, 0);
+        }
+        assertEquals(0.5 * rows * (rows - 1) / 2, sum, 0.001);
+        assertEquals(rows - 1, table.getInt(rows - 1, 0, -1));
+    }
+
+}
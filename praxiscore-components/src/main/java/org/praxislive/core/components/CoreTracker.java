@@ -85,7 +85,9 @@ public class CoreTracker extends CoreCodeDelegate {
         position %= p.rowCount();
         int max = min(p.columnCount(), outs.length);
         for (int i = 0; i < max; i++) {
-            p.valueAt(position, i).ifPresent(outs[i]::send);
+            if (p.hasValue(position, i)) {
+                outs[i].send(p.valueAt(position, i).orElseThrow());
+            }
         }
         position++;
         position %= p.rowCount();
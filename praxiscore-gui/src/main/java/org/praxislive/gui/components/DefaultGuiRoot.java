@@ -63,6 +63,7 @@ public class DefaultGuiRoot extends AbstractRootContainer {
         INFO = Info.component(cmp -> cmp
                 .merge(ComponentProtocol.API_INFO)
                 .merge(ContainerProtocol.API_INFO)
+                .control(ContainerProtocol.ADD_ALL, ContainerProtocol.ADD_ALL_INFO)
                 .merge(StartableProtocol.API_INFO)
                 .property(ComponentInfo.KEY_COMPONENT_TYPE, ComponentType.of("root:gui"))
         );
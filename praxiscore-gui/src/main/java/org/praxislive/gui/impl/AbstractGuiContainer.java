@@ -60,6 +60,8 @@ public abstract class AbstractGuiContainer extends AbstractContainer {
                 cmpInfo.merge(ContainerProtocol.API_INFO);
                 cmpInfo.control(ContainerProtocol.SUPPORTED_TYPES,
                         ContainerProtocol.SUPPORTED_TYPES_INFO);
+                cmpInfo.control(ContainerProtocol.ADD_ALL,
+                        ContainerProtocol.ADD_ALL_INFO);
                 label = new LabelBinding(component);
                 label.addPropertyChangeListener(new LabelListener());
                 registerControl("label", label);
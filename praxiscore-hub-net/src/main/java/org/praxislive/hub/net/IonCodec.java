@@ -26,13 +26,15 @@ import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.system.IonSystemBuilder;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import org.praxislive.core.ControlAddress;
 import org.praxislive.core.Value;
@@ -42,6 +44,7 @@ import org.praxislive.core.types.PBytes;
 import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PNumbers;
 import org.praxislive.core.types.PString;
 
 /**
@@ -59,6 +62,7 @@ class IonCodec {
 
     private static final String TYPE_MAP = PMap.TYPE_NAME;
     private static final String TYPE_ARRAY = PArray.TYPE_NAME;
+    private static final String TYPE_NUMBERS = PNumbers.TYPE_NAME;
 
     private static final String FIELD_MATCH_ID = "matchID";
     private static final String FIELD_TO = "to";
@@ -70,6 +74,8 @@ class IonCodec {
     private static final String FIELD_TYPE = "type";
     private static final String FIELD_DATA = "data";
 
+    private static final String SYMBOL_DEF = "def";
+
     private final IonSystem system;
 
     private IonCodec() {
@@ -80,26 +86,57 @@ class IonCodec {
         try (IonReader reader = system.newReader(in)) {
             IonType type;
             while ((type = reader.next()) != null) {
-                out.accept(readMessage(reader));
+                out.accept(readMessage(reader, null));
             }
         }
     }
 
     List<Message> readMessages(byte[] data) throws IOException {
+        return readMessages(data, 0, data.length);
+    }
+
+    List<Message> readMessages(byte[] data, int offset, int length) throws IOException {
+        return readMessages(data, offset, length, null);
+    }
+
+    /**
+     * Read messages, resolving session symbols against the provided symbol
+     * table, and adding any symbol definitions to it. Symbol definitions are
+     * ignored if the table is null.
+     */
+    List<Message> readMessages(byte[] data, int offset, int length, Symbols symbols)
+            throws IOException {
         List<Message> list = new ArrayList<>();
-        try (var input = new ByteArrayInputStream(data)) {
-            readMessages(input, list::add);
+        try (IonReader reader = system.newReader(data, offset, length)) {
+            while (reader.next() != null) {
+                list.add(readMessage(reader, symbols));
+            }
         }
         return list;
     }
 
     void writeMessages(List<Message> messages, OutputStream out) throws IOException {
+        writeMessages(messages, out, null);
+    }
+
+    /**
+     * Write messages, writing addresses and service names as session symbols
+     * if a symbol table is provided. The first use of a symbol is written as
+     * an annotated string that defines the next ID, and subsequent uses as the
+     * integer ID. Symbols defined in this call are removed from the table if
+     * writing fails. The peer must decode with its own symbol table, and so
+     * this should only be used if the peer has declared support during the
+     * hello exchange.
+     */
+    void writeMessages(List<Message> messages, OutputStream out, Symbols symbols)
+            throws IOException {
+        int mark = symbols == null ? 0 : symbols.size();
         try (IonWriter writer = system.newBinaryWriter(out)) {
             for (Message message : messages) {
                 if (message instanceof Message.Send send) {
-                    writeSend(writer, send);
+                    writeSend(writer, send, symbols);
                 } else if (message instanceof Message.Service service) {
-                    writeService(writer, service);
+                    writeService(writer, service, symbols);
                 } else if (message instanceof Message.Reply reply) {
                     writeReply(writer, reply);
                 } else if (message instanceof Message.Error error) {
@@ -108,6 +145,11 @@ class IonCodec {
                     writeSystem(writer, sys);
                 }
             }
+        } catch (IOException | RuntimeException ex) {
+            if (symbols != null) {
+                symbols.truncate(mark);
+            }
+            throw ex;
         }
     }
 
@@ -117,7 +159,7 @@ class IonCodec {
         return bos.toByteArray();
     }
 
-    private Message readMessage(IonReader reader) throws IOException {
+    private Message readMessage(IonReader reader, Symbols symbols) throws IOException {
         if (reader.getType() != IonType.STRUCT) {
             throw new IOException("Not an Ion Struct");
         }
@@ -128,9 +170,9 @@ class IonCodec {
         try {
             return switch (annotations[0]) {
                 case SEND ->
-                    readSendMessage(reader);
+                    readSendMessage(reader, symbols);
                 case SERVICE ->
-                    readServiceMessage(reader);
+                    readServiceMessage(reader, symbols);
                 case REPLY ->
                     readReplyMessage(reader);
                 case ERROR ->
@@ -148,7 +190,7 @@ class IonCodec {
         }
     }
 
-    private Message.Send readSendMessage(IonReader reader) throws Exception {
+    private Message.Send readSendMessage(IonReader reader, Symbols symbols) throws Exception {
         Integer matchID = null;
         ControlAddress to = null;
         ControlAddress from = null;
@@ -162,10 +204,10 @@ class IonCodec {
                     matchID = reader.intValue();
                 }
                 case FIELD_TO -> {
-                    to = ControlAddress.of(reader.stringValue());
+                    to = ControlAddress.of(readSymbol(reader, symbols));
                 }
                 case FIELD_FROM -> {
-                    from = ControlAddress.of(reader.stringValue());
+                    from = ControlAddress.of(readSymbol(reader, symbols));
                 }
                 case FIELD_ARGS -> {
                     args = readValues(reader);
@@ -179,7 +221,7 @@ class IonCodec {
         return new Message.Send(matchID, to, from, args, data);
     }
 
-    private Message.Service readServiceMessage(IonReader reader) throws Exception {
+    private Message.Service readServiceMessage(IonReader reader, Symbols symbols) throws Exception {
         Integer matchID = null;
         String service = null;
         String control = null;
@@ -194,13 +236,13 @@ class IonCodec {
                     matchID = reader.intValue();
                 }
                 case FIELD_SERVICE -> {
-                    service = reader.stringValue();
+                    service = readSymbol(reader, symbols);
                 }
                 case FIELD_CONTROL -> {
-                    control = reader.stringValue();
+                    control = readSymbol(reader, symbols);
                 }
                 case FIELD_FROM -> {
-                    from = ControlAddress.of(reader.stringValue());
+                    from = ControlAddress.of(readSymbol(reader, symbols));
                 }
                 case FIELD_ARGS -> {
                     args = readValues(reader);
@@ -283,6 +325,25 @@ class IonCodec {
         return new Message.System(matchID, msgType, data);
     }
 
+    private String readSymbol(IonReader reader, Symbols symbols) throws IOException {
+        if (reader.getType() == IonType.INT) {
+            if (symbols == null) {
+                throw new IOException("Session symbol received without symbol table");
+            }
+            return symbols.get(reader.intValue());
+        }
+        String value = reader.stringValue();
+        if (symbols != null) {
+            for (String annotation : reader.getTypeAnnotations()) {
+                if (SYMBOL_DEF.equals(annotation)) {
+                    symbols.define(value);
+                    break;
+                }
+            }
+        }
+        return value;
+    }
+
     private List<Value> readValues(IonReader reader) throws Exception {
         if (reader.getType() != IonType.LIST) {
             throw new IllegalArgumentException("Not a list");
@@ -298,8 +359,13 @@ class IonCodec {
 
     private Value readValue(IonReader reader) throws Exception {
         return switch (reader.getType()) {
-            case BLOB ->
-                PBytes.valueOf(reader.newBytes());
+            case BLOB -> {
+                if (hasAnnotation(reader.getTypeAnnotations(), TYPE_NUMBERS)) {
+                    yield readNumbers(reader);
+                } else {
+                    yield PBytes.valueOf(reader.newBytes());
+                }
+            }
             case BOOL ->
                 PBoolean.of(reader.booleanValue());
             case FLOAT ->
@@ -320,14 +386,26 @@ class IonCodec {
     }
 
     private boolean isMap(String[] annotations) {
+        return hasAnnotation(annotations, PMap.TYPE_NAME);
+    }
+
+    private boolean hasAnnotation(String[] annotations, String name) {
         for (String annotation : annotations) {
-            if (PMap.TYPE_NAME.equals(annotation)) {
+            if (name.equals(annotation)) {
                 return true;
             }
         }
         return false;
     }
 
+    private PNumbers readNumbers(IonReader reader) throws IOException {
+        byte[] bytes = reader.newBytes();
+        if (bytes.length % Double.BYTES != 0) {
+            throw new IOException("Invalid packed numbers length");
+        }
+        return PNumbers.of(ByteBuffer.wrap(bytes).asDoubleBuffer());
+    }
+
     private Value readMapValue(String[] annotations, IonReader reader) throws Exception {
         Value.Type<?> type = null;
         if (annotations.length > 1) {
@@ -381,6 +459,8 @@ class IonCodec {
             writeNumber(writer, n);
         } else if (value instanceof PArray a) {
             writeArray(writer, a);
+        } else if (value instanceof PNumbers n) {
+            writeNumbers(writer, n);
         } else if (value instanceof PBytes b) {
             writeBytes(writer, b);
         } else if (value instanceof PBoolean b) {
@@ -423,21 +503,44 @@ class IonCodec {
         writer.stepOut();
     }
 
+    private void writeNumbers(IonWriter writer, PNumbers numbers) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(numbers.size() * Double.BYTES);
+        buffer.asDoubleBuffer().put(numbers.asDoubleBuffer());
+        writer.setTypeAnnotations(TYPE_NUMBERS);
+        writer.writeBlob(buffer.array());
+    }
+
     private void writeBytes(IonWriter writer, PBytes bytes) throws IOException {
         byte[] tmp = new byte[bytes.size()];
         bytes.read(tmp);
         writer.writeBlob(tmp);
     }
 
-    private void writeSend(IonWriter writer, Message.Send message) throws IOException {
+    private void writeSymbol(IonWriter writer, String value, Symbols symbols)
+            throws IOException {
+        if (symbols != null) {
+            int id = symbols.indexOf(value);
+            if (id >= 0) {
+                writer.writeInt(id);
+                return;
+            }
+            if (symbols.define(value) >= 0) {
+                writer.setTypeAnnotations(SYMBOL_DEF);
+            }
+        }
+        writer.writeString(value);
+    }
+
+    private void writeSend(IonWriter writer, Message.Send message, Symbols symbols)
+            throws IOException {
         writer.addTypeAnnotation(SEND);
         writer.stepIn(IonType.STRUCT);
         writer.setFieldName(FIELD_MATCH_ID);
         writer.writeInt(message.matchID());
         writer.setFieldName(FIELD_TO);
-        writer.writeString(message.to().toString());
+        writeSymbol(writer, message.to().toString(), symbols);
         writer.setFieldName(FIELD_FROM);
-        writer.writeString(message.from().toString());
+        writeSymbol(writer, message.from().toString(), symbols);
         var args = message.args();
         if (!args.isEmpty()) {
             writer.setFieldName(FIELD_ARGS);
@@ -451,17 +554,18 @@ class IonCodec {
         writer.stepOut();
     }
 
-    private void writeService(IonWriter writer, Message.Service message) throws IOException {
+    private void writeService(IonWriter writer, Message.Service message, Symbols symbols)
+            throws IOException {
         writer.addTypeAnnotation(SERVICE);
         writer.stepIn(IonType.STRUCT);
         writer.setFieldName(FIELD_MATCH_ID);
         writer.writeInt(message.matchID());
         writer.setFieldName(FIELD_SERVICE);
-        writer.writeString(message.service());
+        writeSymbol(writer, message.service(), symbols);
         writer.setFieldName(FIELD_CONTROL);
-        writer.writeString(message.control());
+        writeSymbol(writer, message.control(), symbols);
         writer.setFieldName(FIELD_FROM);
-        writer.writeString(message.from().toString());
+        writeSymbol(writer, message.from().toString(), symbols);
         var args = message.args();
         if (!args.isEmpty()) {
             writer.setFieldName(FIELD_ARGS);
@@ -530,4 +634,62 @@ class IonCodec {
         return DEFAULT;
     }
 
+    /**
+     * A session symbol table for one direction of a connection. The writer and
+     * reader of a connection each keep their own table, which stay in step
+     * because symbols are defined in stream order. Once the table is full,
+     * new values are written as plain strings.
+     */
+    static final class Symbols {
+
+        static final int DEFAULT_CAPACITY = 4096;
+
+        private final int capacity;
+        private final Map<String, Integer> ids;
+        private final List<String> values;
+
+        Symbols() {
+            this(DEFAULT_CAPACITY);
+        }
+
+        Symbols(int capacity) {
+            this.capacity = capacity;
+            this.ids = new HashMap<>();
+            this.values = new ArrayList<>();
+        }
+
+        int indexOf(String value) {
+            Integer id = ids.get(value);
+            return id == null ? -1 : id;
+        }
+
+        int define(String value) {
+            if (values.size() >= capacity || ids.containsKey(value)) {
+                return -1;
+            }
+            int id = values.size();
+            values.add(value);
+            ids.put(value, id);
+            return id;
+        }
+
+        String get(int id) throws IOException {
+            if (id < 0 || id >= values.size()) {
+                throw new IOException("Unknown session symbol " + id);
+            }
+            return values.get(id);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        void truncate(int size) {
+            while (values.size() > size) {
+                ids.remove(values.remove(values.size() - 1));
+            }
+        }
+
+    }
+
 }
@@ -22,16 +22,28 @@
 package org.praxislive.hub.net;
 
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Frame decoder for length-prefixed Ion message frames. Frames are decoded
+ * directly from the backing array of heap buffers. Frames in direct buffers
+ * are copied into a reusable array owned by this decoder, which must not be
+ * shared between channels. Session symbols defined by the peer are tracked
+ * for the lifetime of the channel.
+ */
 class IonDecoder extends LengthFieldBasedFrameDecoder {
 
+    private final IonCodec.Symbols symbols;
+
+    private byte[] scratch;
+
     IonDecoder() {
         super(10 * 1048576, 0, 4, 0, 4);
+        scratch = new byte[8192];
+        symbols = new IonCodec.Symbols();
     }
 
     @Override
@@ -42,11 +54,23 @@ class IonDecoder extends LengthFieldBasedFrameDecoder {
             return null;
         }
 
-        List<Message> messages = new ArrayList<>();
-        try (var stream = new ByteBufInputStream(bytes, true)) {
-            IonCodec.getDefault().readMessages(stream, messages::add);
+        try {
+            int length = bytes.readableBytes();
+            List<Message> messages;
+            if (bytes.hasArray()) {
+                messages = IonCodec.getDefault().readMessages(bytes.array(),
+                        bytes.arrayOffset() + bytes.readerIndex(), length, symbols);
+            } else {
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                bytes.getBytes(bytes.readerIndex(), scratch, 0, length);
+                messages = IonCodec.getDefault().readMessages(scratch, 0, length, symbols);
+            }
+            return Collections.unmodifiableList(messages);
+        } finally {
+            bytes.release();
         }
-        return List.copyOf(messages);
 
     }
 
@@ -27,15 +27,28 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.List;
 
+/**
+ * Frame encoder for length-prefixed Ion message frames. Session symbols are
+ * used once enabled with {@link #enableSymbols()}, which must only be called
+ * after the peer has declared support during the hello exchange.
+ */
 class IonEncoder extends MessageToByteEncoder<List<Message>> {
 
+    private volatile IonCodec.Symbols symbols;
+
+    void enableSymbols() {
+        if (symbols == null) {
+            symbols = new IonCodec.Symbols();
+        }
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, List<Message> messages, ByteBuf out) throws Exception {
         int start = out.writerIndex();
 
         try (var stream = new ByteBufOutputStream(out)) {
             stream.writeInt(0);
-            IonCodec.getDefault().writeMessages(messages, stream);
+            IonCodec.getDefault().writeMessages(messages, stream, symbols);
         }
 
         int end = out.writerIndex();
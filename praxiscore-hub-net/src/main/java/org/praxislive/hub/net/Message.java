@@ -42,6 +42,12 @@ sealed interface Message {
             List<Value> args,
             PMap data) implements Message {
 
+        /**
+         * Data key marking a send as quiet. The receiver should not reply to
+         * quiet sends, and the sender does not wait for a reply.
+         */
+        static final String DATA_QUIET = "quiet";
+
         public Send     {
             Objects.requireNonNull(to);
             Objects.requireNonNull(from);
@@ -56,6 +62,10 @@ sealed interface Message {
             this(matchID, to, from, args, PMap.EMPTY);
         }
 
+        boolean isQuiet() {
+            return data.getBoolean(DATA_QUIET, false);
+        }
+
     }
 
     record Service(int matchID,
@@ -35,6 +35,7 @@ import org.praxislive.core.Protocol;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.services.ServiceUnavailableException;
 import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PMap;
 
 import static java.lang.System.Logger.Level;
 
@@ -139,6 +140,10 @@ abstract class MessageDispatcher {
             fromString = getRemoteSysPrefix() + fromString;
             from = ControlAddress.parse(fromString);
         }
+        if (msg.isQuiet()) {
+            dispatchCall(Call.createQuiet(to, from, getTime(), msg.args()));
+            return;
+        }
         Call call = Call.create(to, from, getTime(), msg.args());
         dispatchCall(call);
         receivedMessages.put(call.matchID(), new ReceivedMessageInfo(msg, sender));
@@ -191,15 +196,29 @@ abstract class MessageDispatcher {
             to = ControlAddress.of(toString);
         }
         try {
-            dispatchMessage(getPrimaryRemoteAddress(), new Message.Send(
-                    call.matchID(),
-                    to,
-                    call.from(),
-                    call.args()
-            ));
-            sentCalls.put(call.matchID(), new SentCallInfo(call, getTime()));
+            if (call.isReplyRequired()) {
+                dispatchMessage(getPrimaryRemoteAddress(), new Message.Send(
+                        call.matchID(),
+                        to,
+                        call.from(),
+                        call.args()
+                ));
+                sentCalls.put(call.matchID(), new SentCallInfo(call, getTime()));
+            } else {
+                dispatchMessage(getPrimaryRemoteAddress(), new Message.Send(
+                        call.matchID(),
+                        to,
+                        call.from(),
+                        call.args(),
+                        PMap.of(Message.Send.DATA_QUIET, true)
+                ));
+            }
         } catch (Exception ex) {
-            dispatchCall(call.error(PError.of(ex)));
+            if (call.isReplyRequired()) {
+                dispatchCall(call.error(PError.of(ex)));
+            } else {
+                LOG.log(Level.DEBUG, "Unable to send quiet call", ex);
+            }
         }
     }
 
@@ -0,0 +1,98 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 Neil C Smith.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ *
+ *
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.hub.net;
+
+import io.netty.channel.Channel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import org.praxislive.core.Settings;
+
+/**
+ * Writes messages to channels, coalescing all messages written to a channel
+ * while processing the current contents of the root queue into a single
+ * frame, with a single flush. Flushing is scheduled on the root thread on the
+ * first write after a flush. Coalescing can be disabled by setting
+ * {@code hub-net.coalesce-writes} to false, in which case every message is
+ * written and flushed as its own frame.
+ * <p>
+ * Not thread safe - all methods must be called on the root thread.
+ */
+class MessageWriter {
+
+    static final String KEY_COALESCE = "hub-net.coalesce-writes";
+
+    private static final int MAX_FRAME_MESSAGES = 256;
+
+    private final Predicate<Runnable> scheduler;
+    private final Map<Channel, List<Message>> pending;
+    private final boolean coalesce;
+
+    private boolean scheduled;
+
+    /**
+     * Create a message writer.
+     *
+     * @param scheduler function to run a task later on the root thread,
+     * returning false if the task cannot be scheduled
+     */
+    MessageWriter(Predicate<Runnable> scheduler) {
+        this.scheduler = scheduler;
+        this.pending = new LinkedHashMap<>();
+        this.coalesce = Settings.getBoolean(KEY_COALESCE, true);
+    }
+
+    void write(Channel channel, Message message) {
+        Objects.requireNonNull(channel);
+        if (!coalesce) {
+            channel.writeAndFlush(List.of(message));
+            return;
+        }
+        pending.computeIfAbsent(channel, c -> new ArrayList<>()).add(message);
+        if (!scheduled) {
+            scheduled = true;
+            if (!scheduler.test(this::flush)) {
+                flush();
+            }
+        }
+    }
+
+    void flush() {
+        scheduled = false;
+        if (pending.isEmpty()) {
+            return;
+        }
+        pending.forEach((channel, messages) -> {
+            int size = messages.size();
+            for (int i = 0; i < size; i += MAX_FRAME_MESSAGES) {
+                channel.write(List.copyOf(messages.subList(i,
+                        Math.min(size, i + MAX_FRAME_MESSAGES))));
+            }
+            channel.flush();
+        });
+        pending.clear();
+    }
+
+}
@@ -63,6 +63,7 @@ class ProxyClientRoot extends AbstractRoot {
     private final ChildLauncher childLauncher;
     private final FileServer.Info fileServerInfo;
     private final Dispatcher dispatcher;
+    private final MessageWriter writer;
     private final Control addRootControl;
     private final Control removeRootControl;
 
@@ -83,6 +84,7 @@ class ProxyClientRoot extends AbstractRoot {
         this.childLauncher = childLauncher;
         this.fileServerInfo = fileServerInfo;
         dispatcher = new Dispatcher();
+        writer = new MessageWriter(this::invokeLater);
         addRootControl = new RootControl(true);
         removeRootControl = new RootControl(false);
     }
@@ -97,6 +99,7 @@ class ProxyClientRoot extends AbstractRoot {
     @Override
     protected void terminating() {
         super.terminating();
+        writer.flush();
         if (clientChannel != null) {
             clientChannel.writeAndFlush(List.of(new Message.System(
                     0,
@@ -274,6 +277,9 @@ class ProxyClientRoot extends AbstractRoot {
     private PMap buildHLOParams() {
         PMap.Builder params = PMap.builder();
         params.put(Utils.KEY_REMOTE_SERVICES, buildServices());
+        if (Utils.isSessionSymbolsEnabled()) {
+            params.put(Utils.KEY_SESSION_SYMBOLS, true);
+        }
         if (!proxyInfo.isLocal()) {
             params.put(Utils.KEY_MASTER_USER_DIRECTORY, Utils.getUserDirectory().toURI().toString());
             if (fileServerInfo != null) {
@@ -292,6 +298,7 @@ class ProxyClientRoot extends AbstractRoot {
     }
 
     private void dispose() {
+        writer.flush();
         if (clientChannel != null) {
             clientChannel.close();
             clientChannel = null;
@@ -340,7 +347,7 @@ class ProxyClientRoot extends AbstractRoot {
             if (!remote.equals(socketAddress)) {
                 throw new IllegalArgumentException("Unknown remote address");
             }
-            clientChannel.writeAndFlush(List.of(msg));
+            writer.write(clientChannel, msg);
         }
 
         @Override
@@ -382,6 +389,9 @@ class ProxyClientRoot extends AbstractRoot {
         @Override
         protected void channelRead0(ChannelHandlerContext ctx, List<Message> msg) throws Exception {
             if (hloLatch != null) {
+                if (isSessionSymbolsAccepted(msg)) {
+                    ctx.pipeline().get(IonEncoder.class).enableSymbols();
+                }
                 hloLatch.countDown();
                 hloLatch = null;
             }
@@ -393,6 +403,14 @@ class ProxyClientRoot extends AbstractRoot {
             invokeLater(() -> dispose());
         }
 
+        private boolean isSessionSymbolsAccepted(List<Message> msgs) {
+            return Utils.isSessionSymbolsEnabled()
+                    && !msgs.isEmpty()
+                    && msgs.get(0) instanceof Message.System sys
+                    && Message.System.HELLO_OK.equals(sys.type())
+                    && sys.data().getBoolean(Utils.KEY_SESSION_SYMBOLS, false);
+        }
+
     }
 
     private class RootControl implements Control {
@@ -65,6 +65,7 @@ class ServerCoreRoot extends NetworkCoreRoot {
     private final InetSocketAddress localAddress;
     private final CIDRUtils clientValidator;
     private final Dispatcher dispatcher;
+    private final MessageWriter writer;
     private final ResourceResolver resourceResolver;
     private final Map<SocketAddress, Channel> connections;
 
@@ -89,6 +90,7 @@ class ServerCoreRoot extends NetworkCoreRoot {
         this.localAddress = address;
         this.clientValidator = clientValidator;
         this.dispatcher = new Dispatcher();
+        this.writer = new MessageWriter(this::invokeLater);
         this.resourceResolver = new ResourceResolver();
         this.futureInfo = futureInfo;
         connections = new ConcurrentHashMap<>();
@@ -133,6 +135,7 @@ class ServerCoreRoot extends NetworkCoreRoot {
     @Override
     protected void terminating() {
         super.terminating();
+        writer.flush();
         try {
             if (serverChannel != null) {
                 serverChannel.close();
@@ -230,11 +233,17 @@ class ServerCoreRoot extends NetworkCoreRoot {
         }
         try {
             if (validate(sender) && handleHelloData(sender, helloMessage.data())) {
-                connections.get(sender).writeAndFlush(List.of(new Message.System(
+                var channel = connections.get(sender);
+                boolean symbols = Utils.isSessionSymbolsEnabled()
+                        && helloMessage.data().getBoolean(Utils.KEY_SESSION_SYMBOLS, false);
+                channel.writeAndFlush(List.of(new Message.System(
                         helloMessage.matchID(),
                         Message.System.HELLO_OK,
-                        PMap.EMPTY
+                        symbols ? PMap.of(Utils.KEY_SESSION_SYMBOLS, true) : PMap.EMPTY
                 )));
+                if (symbols) {
+                    channel.pipeline().get(IonEncoder.class).enableSymbols();
+                }
                 parent = sender;
                 return true;
             }
@@ -317,7 +326,7 @@ class ServerCoreRoot extends NetworkCoreRoot {
 
         @Override
         void dispatchMessage(SocketAddress remote, Message msg) {
-            connections.get(remote).writeAndFlush(List.of(msg));
+            writer.write(connections.get(remote), msg);
         }
 
         @Override
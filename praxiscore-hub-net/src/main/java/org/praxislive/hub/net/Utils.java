@@ -2,6 +2,7 @@
 package org.praxislive.hub.net;
 
 import java.io.File;
+import org.praxislive.core.Settings;
 //import java.io.IOException;
 //import java.net.ServerSocket;
 //import java.util.logging.Level;
@@ -18,6 +19,9 @@ class Utils {
     final static String KEY_MASTER_USER_DIRECTORY = "master-user-directory";
     final static String KEY_FILE_SERVER_PORT = "file-server-port";
     final static String KEY_REMOTE_SERVICES = "remote-services";
+    final static String KEY_SESSION_SYMBOLS = "session-symbols";
+
+    final static String SETTING_SESSION_SYMBOLS = "hub-net.session-symbols";
         
     private final static File USER_DIRECTORY = new File(System.getProperty("user.home", "")).getAbsoluteFile();
     // @TODO make user configurable.
@@ -27,6 +31,10 @@ class Utils {
         return USER_DIRECTORY;
     }
     
+    static boolean isSessionSymbolsEnabled() {
+        return Settings.getBoolean(SETTING_SESSION_SYMBOLS, true);
+    }
+    
     static int getFileServerPort() {
 //        try (ServerSocket socket = new ServerSocket(0)) {
 //            socket.setReuseAddress(true);
@@ -24,6 +24,8 @@ package org.praxislive.hub.net;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.system.IonSystemBuilder;
 import com.amazon.ion.system.IonTextWriterBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
@@ -42,6 +44,7 @@ import org.praxislive.core.types.PBytes;
 import org.praxislive.core.types.PError;
 import org.praxislive.core.types.PMap;
 import org.praxislive.core.types.PNumber;
+import org.praxislive.core.types.PNumbers;
 import org.praxislive.core.types.PResource;
 import org.praxislive.core.types.PString;
 
@@ -90,6 +93,19 @@ public class IonCodecTest {
         assertEquals(msg, decoded);
     }
 
+    @Test
+    public void testPackedNumbers() throws Exception {
+        var to = ControlAddress.of("/root/component.control");
+        var from = ControlAddress.of("/sender/component.control");
+        var numbers = PNumbers.of(0, 1.5, -2.25, 1e10, Double.NaN);
+        var args = List.<Value>of(numbers, PMap.of("data", numbers));
+        var msg = new Message.Send(1, to, from, args);
+        var decoded = (Message.Send) roundTrip(List.of(msg)).get(0);
+        assertEquals(msg, decoded);
+        assertInstanceOf(PNumbers.class, decoded.args().get(0));
+        assertEquals(numbers, PMap.from(decoded.args().get(1)).orElseThrow().get("data"));
+    }
+
     @Test
     public void testServiceMessage() throws Exception {
         var matchID = 1234;
@@ -225,4 +241,44 @@ public class IonCodecTest {
         return IonCodec.getDefault().readMessages(data);
     }
 
+    @Test
+    public void testSessionSymbols() throws Exception {
+        var to = ControlAddress.of("/audio/osc1.frequency");
+        var from = ControlAddress.of("/control/sender.out");
+        var send1 = new Message.Send(1, to, from, List.of(PNumber.of(440)), PMap.EMPTY);
+        var send2 = new Message.Send(2, to, from, List.of(PNumber.of(880)), PMap.EMPTY);
+        var service = new Message.Service(3, "RootManagerService", "add-root",
+                from, List.of(), PMap.EMPTY);
+        var codec = IonCodec.getDefault();
+        var writeSymbols = new IonCodec.Symbols();
+        var readSymbols = new IonCodec.Symbols();
+
+        byte[] plain = codec.writeMessages(List.of(send1));
+        var bos = new ByteArrayOutputStream();
+        codec.writeMessages(List.of(send1), bos, writeSymbols);
+        byte[] first = bos.toByteArray();
+        assertEquals(2, writeSymbols.size());
+        bos.reset();
+        codec.writeMessages(List.of(send2, service), bos, writeSymbols);
+        byte[] second = bos.toByteArray();
+        assertEquals(4, writeSymbols.size());
+
+        assertEquals(List.of(send1),
+                codec.readMessages(first, 0, first.length, readSymbols));
+        assertEquals(List.of(send2, service),
+                codec.readMessages(second, 0, second.length, readSymbols));
+        assertEquals(4, readSymbols.size());
+
+        bos.reset();
+        codec.writeMessages(List.of(send2), bos, writeSymbols);
+        byte[] repeat = bos.toByteArray();
+        assertTrue(repeat.length < plain.length,
+                "Symbol encoded message not smaller than plain message");
+        assertEquals(List.of(send2),
+                codec.readMessages(repeat, 0, repeat.length, readSymbols));
+        assertThrows(IOException.class,
+                () -> codec.readMessages(repeat, 0, repeat.length, null));
+        assertEquals(List.of(send1), codec.readMessages(first));
+    }
+
 }
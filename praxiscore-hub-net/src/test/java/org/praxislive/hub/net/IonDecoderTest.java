@@ -60,4 +60,23 @@ public class IonDecoderTest {
 
     }
 
+    @Test
+    public void testDirectBufferDecoding() throws Exception {
+        List<Message> msgs = List.of(
+                new Message.System(1, "TEST", PMap.of("key1", "value1")),
+                new Message.System(2, "TEST", PMap.of("key2", "value2")),
+                new Message.System(3, "TEST", PMap.EMPTY)
+        );
+        byte[] data = IonCodec.getDefault().writeMessages(msgs);
+        EmbeddedChannel channel = new EmbeddedChannel(new IonDecoder());
+        for (int i = 0; i < 2; i++) {
+            ByteBuf buf = Unpooled.directBuffer();
+            buf.writeInt(data.length);
+            buf.writeBytes(data);
+            channel.writeInbound(buf);
+            List<Message> decoded = channel.readInbound();
+            assertEquals(msgs, decoded);
+        }
+    }
+
 }
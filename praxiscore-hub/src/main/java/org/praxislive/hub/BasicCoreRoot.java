@@ -255,7 +255,7 @@ public class BasicCoreRoot extends AbstractRoot {
      * @param ctrl root controller
      */
     protected final void startRoot(final String id, final Root.Controller ctrl) {
-        ctrl.start();
+        ctrl.start(hubAccess.createRootStartLookup(id));
     }
 
     /**
@@ -22,20 +22,23 @@
 package org.praxislive.hub;
 
 import java.lang.System.Logger;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.praxislive.base.AbstractRoot;
 import org.praxislive.core.Value;
 import org.praxislive.core.Call;
+import org.praxislive.core.ControlAddress;
 import org.praxislive.core.PacketRouter;
 import org.praxislive.core.RootHub;
+import org.praxislive.core.Settings;
 import org.praxislive.core.services.Service;
 import org.praxislive.core.services.TaskService;
 import org.praxislive.core.services.TaskService.Task;
@@ -45,31 +48,45 @@ import org.praxislive.core.types.PReference;
 import static java.lang.System.Logger.Level;
 
 /**
- *
+ * Default implementation of {@link TaskService}.
+ * <p>
+ * Tasks run on a cached pool of low priority worker threads, so that long
+ * running tasks never wait for each other. Tasks that report
+ * {@link Task#isBlocking()} run on virtual threads instead, unless the
+ * {@code task.virtual-threads} setting is false. Workers pass
+ * completed tasks back to the root thread via
+ * {@link #invokeLater(java.lang.Runnable)}, so the service root can stay idle
+ * between calls.
+ * <p>
+ * A supersedable task is cancelled when a later supersedable task is
+ * submitted from the same control address.
  */
 class DefaultTaskService extends AbstractRoot implements RootHub.ServiceProvider {
 
+    static final String KEY_VIRTUAL_THREADS = "task.virtual-threads";
+
     private final static Logger LOG = System.getLogger(DefaultTaskService.class.getName());
 
     private final ExecutorService threadService;
-    private final Map<Future<Value>, Call> futures;
-    private final List<Future> completed;
+    private final ExecutorService blockingService;
+    private final Map<ControlAddress, Submission> supersedable;
 
     public DefaultTaskService() {
+        AtomicInteger threadCount = new AtomicInteger();
         threadService = Executors.newCachedThreadPool((Runnable r) -> {
-            Thread thr = new Thread(r);
+            Thread thr = new Thread(r, "praxis-task-" + threadCount.incrementAndGet());
             thr.setPriority(Thread.MIN_PRIORITY);
             return thr;
         });
-        futures = new HashMap<>();
-        completed = new ArrayList<>();
+        if (Settings.getBoolean(KEY_VIRTUAL_THREADS, true)) {
+            blockingService = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("praxis-task-io-", 1).factory());
+        } else {
+            blockingService = null;
+        }
+        supersedable = new HashMap<>();
     }
 
-    @Override
-    protected void activating() {
-        setRunning();
-    }
-    
     @Override
     protected void processCall(Call call, PacketRouter router) {
         if (call.isRequest()) {
@@ -86,40 +103,12 @@ class DefaultTaskService extends AbstractRoot implements RootHub.ServiceProvider
         return Collections.singletonList(TaskService.class);
     }
 
-    @Override
-    protected void update() {
-        for (Future<Value> future : futures.keySet()) {
-            if (future.isDone()) {
-                try {
-                    Value value = future.get();
-                    Call call = futures.get(future);
-                    call = call.reply(value);
-                    getRouter().route(call);
-                    completed.add(future);
-                } catch (Exception ex) {
-                    LOG.log(Level.TRACE, "", ex);
-                    if (ex instanceof ExecutionException) {
-                        Throwable t = ex.getCause();
-                        if (t instanceof Exception) {
-                            ex = (Exception) t;
-                        }
-                    }
-                    Call call = futures.get(future);
-                    call = call.error(PError.of(ex));
-                    getRouter().route(call);
-                    completed.add(future);
-                }
-            }
-        }
-        while (!completed.isEmpty()) {
-            futures.remove(completed.get(0));
-            completed.remove(0);
-        }
-    }
-
     @Override
     protected void terminating() {
         threadService.shutdownNow();
+        if (blockingService != null) {
+            blockingService.shutdownNow();
+        }
     }
 
     private void submitTask(Call call) throws Exception {
@@ -128,8 +117,18 @@ class DefaultTaskService extends AbstractRoot implements RootHub.ServiceProvider
             Value arg = args.get(0);
             if (arg instanceof PReference) {
                 ((PReference) arg).as(Task.class).ifPresent(task -> {
-                    Future<Value> future = threadService.submit(task::execute);
-                    futures.put(future, call);
+                    Submission submission = new Submission(call, task);
+                    if (task.isSupersedable()) {
+                        Submission previous = supersedable.put(call.from(), submission);
+                        if (previous != null) {
+                            previous.cancel(true);
+                        }
+                    }
+                    if (task.isBlocking() && blockingService != null) {
+                        blockingService.execute(submission);
+                    } else {
+                        threadService.execute(submission);
+                    }
                 });
             }
         } else {
@@ -138,4 +137,44 @@ class DefaultTaskService extends AbstractRoot implements RootHub.ServiceProvider
 
     }
 
+    private void complete(Submission submission) {
+        Call call = submission.call;
+        if (submission.task.isSupersedable()) {
+            supersedable.remove(call.from(), submission);
+        }
+        try {
+            Value value = submission.get();
+            getRouter().route(call.reply(value));
+        } catch (Exception ex) {
+            LOG.log(Level.TRACE, "", ex);
+            if (ex instanceof ExecutionException) {
+                Throwable t = ex.getCause();
+                if (t instanceof Exception) {
+                    ex = (Exception) t;
+                }
+            } else if (ex instanceof CancellationException) {
+                ex = new CancellationException("Task superseded");
+            }
+            getRouter().route(call.error(PError.of(ex)));
+        }
+    }
+
+    private class Submission extends FutureTask<Value> {
+
+        private final Call call;
+        private final Task task;
+
+        private Submission(Call call, Task task) {
+            super(task::execute);
+            this.call = call;
+            this.task = task;
+        }
+
+        @Override
+        protected void done() {
+            invokeLater(() -> complete(this));
+        }
+
+    }
+
 }
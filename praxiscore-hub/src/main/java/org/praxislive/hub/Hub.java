@@ -23,7 +23,9 @@ package org.praxislive.hub;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -31,6 +33,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -61,12 +64,16 @@ public final class Hub {
     public final static String CORE_PREFIX = SYS_PREFIX + "core_";
     public final static String EXT_PREFIX = SYS_PREFIX + "ext_";
 
+    private static final System.Logger LOG = System.getLogger(Hub.class.getName());
+
     private final ConcurrentMap<String, Root.Controller> roots;
     private final ConcurrentMap<Class<? extends Service>, List<ComponentAddress>> services;
     private final Root core;
     private final Lookup lookup;
     private final RootHubImpl rootHub;
     private final List<String> rootIDs;
+    private final SharedRootExecutor sharedExecutor;
+    private final List<Root.Controller> sharedRoots;
 
     private Root.Controller coreController;
     long startTime;
@@ -87,6 +94,10 @@ public final class Hub {
         services = new ConcurrentHashMap<>();
         rootHub = new RootHubImpl();
         rootIDs = new CopyOnWriteArrayList<>();
+        sharedExecutor = builder.sharedExecutorParallelism > 0
+                ? new SharedRootExecutor(builder.sharedExecutorParallelism)
+                : null;
+        sharedRoots = new CopyOnWriteArrayList<>();
     }
 
     private void extractExtensions(Builder builder, List<Root> exts) {
@@ -112,6 +123,10 @@ public final class Hub {
         coreController = core.initialize(coreID, rootHub);
         roots.put(coreID, coreController);
         coreController.start(Lookup.EMPTY);
+        if (sharedExecutor != null) {
+            Thread.ofVirtual().name("praxis-root-pool-shutdown")
+                    .start(this::shutdownSharedExecutor);
+        }
     }
 
     /**
@@ -207,6 +222,59 @@ public final class Hub {
         return rootHub;
     }
 
+    private Lookup createRootStartLookup(String id) {
+        if (sharedExecutor != null) {
+            Root.Controller controller = roots.get(id);
+            if (controller != null) {
+                sharedRoots.add(controller);
+                Thread.ofVirtual().name("praxis-root-pool-watch-" + id)
+                        .start(() -> releaseOnTermination(controller));
+            }
+            return Lookup.of(sharedExecutor.createRootExecutor(id));
+        } else {
+            return Lookup.EMPTY;
+        }
+    }
+
+    private void releaseOnTermination(Root.Controller controller) {
+        try {
+            while (true) {
+                try {
+                    controller.awaitTermination(1, TimeUnit.MINUTES);
+                    break;
+                } catch (TimeoutException ex) {
+                    // loop again
+                } catch (ExecutionException ex) {
+                    break;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sharedRoots.remove(controller);
+        }
+    }
+
+    private void shutdownSharedExecutor() {
+        try {
+            await();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            for (Root.Controller controller : sharedRoots) {
+                try {
+                    controller.awaitTermination(
+                            Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | TimeoutException ex) {
+                    LOG.log(System.Logger.Level.WARNING,
+                            "Root did not terminate cleanly", ex);
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sharedExecutor.shutdown();
+        }
+    }
+
     private void registerService(Class<? extends Service> service,
             ComponentAddress provider) {
         Objects.requireNonNull(service);
@@ -247,6 +315,51 @@ public final class Hub {
             }
         }
 
+        @Override
+        public List<Packet> dispatchAll(List<Packet> packets) {
+            int size = packets.size();
+            if (size == 0) {
+                return List.of();
+            }
+            String rootID = packets.get(0).rootID();
+            boolean single = true;
+            for (int i = 1; i < size; i++) {
+                if (!rootID.equals(packets.get(i).rootID())) {
+                    single = false;
+                    break;
+                }
+            }
+            if (single) {
+                return submitAll(rootID, packets);
+            }
+            Map<String, List<Packet>> grouped = new LinkedHashMap<>();
+            for (Packet packet : packets) {
+                grouped.computeIfAbsent(packet.rootID(), id -> new ArrayList<>())
+                        .add(packet);
+            }
+            List<Packet> failed = new ArrayList<>();
+            grouped.forEach((id, list) -> failed.addAll(submitAll(id, list)));
+            return failed;
+        }
+
+        private List<Packet> submitAll(String rootID, List<Packet> packets) {
+            Root.Controller dest = roots.get(rootID);
+            if (dest == null) {
+                dest = coreController;
+            }
+            int accepted;
+            try {
+                accepted = dest.submitPackets(packets);
+            } catch (Exception e) {
+                accepted = 0;
+            }
+            if (accepted >= packets.size()) {
+                return List.of();
+            } else {
+                return List.copyOf(packets.subList(accepted, packets.size()));
+            }
+        }
+
         @Override
         public Lookup getLookup() {
             return lookup;
@@ -375,6 +488,21 @@ public final class Hub {
             return Hub.this.getRootHub();
         }
 
+        /**
+         * Create the lookup to pass to
+         * {@link Root.Controller#start(org.praxislive.core.Lookup)} when
+         * starting the root with the provided ID. If the hub has been
+         * configured with {@link Builder#useSharedExecutor(int)} the lookup
+         * will contain a {@link ScheduledExecutorService} that runs the root
+         * on the shared pool.
+         *
+         * @param id root id
+         * @return lookup for starting root
+         */
+        public Lookup createRootStartLookup(String id) {
+            return Hub.this.createRootStartLookup(id);
+        }
+
     }
 
     /**
@@ -417,6 +545,7 @@ public final class Hub {
         private final List<Root> extensions;
         private final List<Object> lookupContent;
         private CoreRootFactory coreRootFactory;
+        private int sharedExecutorParallelism;
 
         private Builder() {
             extensions = new ArrayList<>();
@@ -468,6 +597,28 @@ public final class Hub {
             return this;
         }
 
+        /**
+         * Run roots on a shared work-stealing pool rather than giving each
+         * root its own thread. Each root's tasks are serialized through a
+         * per-root mailbox, so roots still never execute concurrently with
+         * themselves. Roots driven by a delegate (eg. audio or video roots)
+         * still use the shared pool for background polling. The pool is shut
+         * down once the core root and all roots started on the pool have
+         * terminated.
+         * <p>
+         * The default configuration creates a thread per root.
+         *
+         * @param parallelism number of threads in the shared pool
+         * @return this
+         */
+        public Builder useSharedExecutor(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1");
+            }
+            this.sharedExecutorParallelism = parallelism;
+            return this;
+        }
+
         /**
          * Build the hub.
          *
@@ -0,0 +1,310 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.hub;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A shared work-stealing pool for running roots. Each root is given its own
+ * {@link ScheduledExecutorService} view, acting as a mailbox that serializes
+ * all of the root's tasks on to the shared pool. Timing is handled by a single
+ * shared scheduler thread that only hands tasks off to the mailboxes.
+ * <p>
+ * The hub shuts the pool down with {@link #shutdown()} once all roots have
+ * terminated. Threads are also daemon threads and time out when idle.
+ */
+final class SharedRootExecutor {
+
+    private static final int MAX_BATCH = 64;
+
+    private final ForkJoinPool pool;
+    private final ScheduledThreadPoolExecutor timer;
+
+    SharedRootExecutor(int parallelism) {
+        AtomicInteger count = new AtomicInteger();
+        pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread
+                    = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("praxis-root-pool-" + count.incrementAndGet());
+            return thread;
+        }, null, true);
+        timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "praxis-root-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setKeepAliveTime(10, TimeUnit.SECONDS);
+        timer.allowCoreThreadTimeOut(true);
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Create an executor for a single root. Tasks submitted to the returned
+     * executor will never run concurrently with each other. Pool threads are
+     * named after the root ID while running the root's tasks.
+     *
+     * @param id root ID
+     * @return root executor
+     */
+    ScheduledExecutorService createRootExecutor(String id) {
+        return new Mailbox(id);
+    }
+
+    /**
+     * Shut down the shared pool and timer. Tasks already submitted to the pool
+     * will be run, but no further tasks will be accepted.
+     */
+    void shutdown() {
+        timer.shutdownNow();
+        pool.shutdown();
+    }
+
+    /**
+     * Wait for the shared pool to terminate after {@link #shutdown()}.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of timeout
+     * @return true if the pool terminated
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
+    }
+
+    private final class Mailbox extends AbstractExecutorService
+            implements ScheduledExecutorService {
+
+        private final String id;
+        private final Queue<Runnable> tasks;
+        private final AtomicBoolean scheduled;
+        private final CountDownLatch terminated;
+
+        private volatile boolean shutdown;
+
+        private Mailbox(String id) {
+            this.id = id;
+            tasks = new ConcurrentLinkedQueue<>();
+            scheduled = new AtomicBoolean();
+            terminated = new CountDownLatch(1);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (shutdown) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(command);
+            if (scheduled.compareAndSet(false, true)) {
+                pool.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            Thread thread = Thread.currentThread();
+            String poolName = thread.getName();
+            thread.setName(id);
+            try {
+                for (int i = 0; i < MAX_BATCH; i++) {
+                    Runnable task = tasks.poll();
+                    if (task == null) {
+                        break;
+                    }
+                    try {
+                        task.run();
+                    } catch (Throwable t) {
+                        System.getLogger(SharedRootExecutor.class.getName())
+                                .log(System.Logger.Level.ERROR, "Uncaught error", t);
+                    }
+                }
+            } finally {
+                thread.setName(poolName);
+                scheduled.set(false);
+                if (!tasks.isEmpty()) {
+                    if (scheduled.compareAndSet(false, true)) {
+                        pool.execute(this::drain);
+                    }
+                } else if (shutdown) {
+                    terminated.countDown();
+                }
+            }
+        }
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            return schedule(new ScheduledTask<>(command, null), delay, unit);
+        }
+
+        @Override
+        public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+            return schedule(new ScheduledTask<>(callable), delay, unit);
+        }
+
+        private <V> ScheduledFuture<V> schedule(ScheduledTask<V> task, long delay, TimeUnit unit) {
+            checkShutdown();
+            task.timerFuture = timer.schedule(() -> handOff(task), delay, unit);
+            return task;
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                long initialDelay, long period, TimeUnit unit) {
+            checkShutdown();
+            return timer.scheduleAtFixedRate(new Periodic(command),
+                    initialDelay, period, unit);
+        }
+
+        @Override
+        public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command,
+                long initialDelay, long delay, TimeUnit unit) {
+            checkShutdown();
+            return timer.scheduleWithFixedDelay(new Periodic(command),
+                    initialDelay, delay, unit);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+            if (!scheduled.get() && tasks.isEmpty()) {
+                terminated.countDown();
+            }
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown();
+            List<Runnable> pending = List.copyOf(tasks);
+            tasks.clear();
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return terminated.getCount() == 0;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return terminated.await(timeout, unit);
+        }
+
+        private void handOff(Runnable command) {
+            if (!shutdown) {
+                execute(command);
+            }
+        }
+
+        private void checkShutdown() {
+            if (shutdown) {
+                throw new RejectedExecutionException();
+            }
+        }
+
+        /**
+         * Periodic task wrapper. Runs on the timer thread and hands off to the
+         * mailbox, skipping a period if the previous run is still pending.
+         */
+        private final class Periodic implements Runnable {
+
+            private final Runnable command;
+            private final AtomicBoolean queued;
+
+            private Periodic(Runnable command) {
+                this.command = command;
+                this.queued = new AtomicBoolean();
+            }
+
+            @Override
+            public void run() {
+                if (shutdown) {
+                    throw new RejectedExecutionException();
+                }
+                if (queued.compareAndSet(false, true)) {
+                    execute(this::runCommand);
+                }
+            }
+
+            private void runCommand() {
+                try {
+                    command.run();
+                } finally {
+                    queued.set(false);
+                }
+            }
+
+        }
+
+    }
+
+    private static final class ScheduledTask<V> extends FutureTask<V>
+            implements ScheduledFuture<V> {
+
+        private volatile ScheduledFuture<?> timerFuture;
+
+        private ScheduledTask(Callable<V> callable) {
+            super(callable);
+        }
+
+        private ScheduledTask(Runnable runnable, V result) {
+            super(runnable, result);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return timerFuture.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS),
+                    other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            timerFuture.cancel(false);
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+    }
+
+}
@@ -0,0 +1,238 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.hub;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Call;
+import org.praxislive.core.Clock;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Root;
+import org.praxislive.core.RootHub;
+import org.praxislive.core.Settings;
+import org.praxislive.core.Value;
+import org.praxislive.core.services.TaskService;
+import org.praxislive.core.types.PBoolean;
+import org.praxislive.core.types.PError;
+import org.praxislive.core.types.PReference;
+import org.praxislive.core.types.PString;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class DefaultTaskServiceTest {
+
+    private static final ControlAddress SUBMIT
+            = ControlAddress.of("/tasks." + TaskService.SUBMIT);
+
+    public DefaultTaskServiceTest() {
+    }
+
+    @Test
+    public void testCompletion() throws Exception {
+        HubImpl hub = new HubImpl(new DefaultTaskService());
+        Call call = hub.submit("/test.a", () -> PString.of("done"));
+        Call reply = hub.poll();
+        assertTrue(reply.isReply());
+        assertEquals(call.matchID(), reply.matchID());
+        assertEquals("done", reply.args().get(0).toString());
+        Call error = hub.submit("/test.a", () -> {
+            throw new IllegalStateException("failed");
+        });
+        reply = hub.poll();
+        assertTrue(reply.isError());
+        assertEquals(error.matchID(), reply.matchID());
+        assertEquals(IllegalStateException.class.getSimpleName(),
+                PError.from(reply.args().get(0)).orElseThrow().errorType());
+        hub.shutdown();
+    }
+
+    @Test
+    public void testLongRunningTasksDoNotStarve() throws Exception {
+        HubImpl hub = new HubImpl(new DefaultTaskService());
+        int count = Runtime.getRuntime().availableProcessors() * 2 + 2;
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < count; i++) {
+            hub.submit("/test.slow" + i, () -> {
+                release.await();
+                return PString.of("slow");
+            });
+        }
+        Call quick = hub.submit("/test.quick", () -> PString.of("quick"));
+        Call reply = hub.poll();
+        assertEquals(quick.matchID(), reply.matchID());
+        release.countDown();
+        for (int i = 0; i < count; i++) {
+            assertEquals("slow", hub.poll().args().get(0).toString());
+        }
+        hub.shutdown();
+    }
+
+    @Test
+    public void testSupersede() throws Exception {
+        HubImpl hub = new HubImpl(new DefaultTaskService());
+        CountDownLatch started = new CountDownLatch(1);
+        Call first = hub.submit("/test.a", new SupersedableTask(() -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return PString.of("first");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Call other = hub.submit("/test.b", new SupersedableTask(() -> PString.of("other")));
+        Call second = hub.submit("/test.a", new SupersedableTask(() -> PString.of("second")));
+        boolean firstCancelled = false, secondDone = false, otherDone = false;
+        for (int i = 0; i < 3; i++) {
+            Call reply = hub.poll();
+            if (reply.matchID() == first.matchID()) {
+                assertTrue(reply.isError());
+                firstCancelled = true;
+            } else if (reply.matchID() == second.matchID()) {
+                assertEquals("second", reply.args().get(0).toString());
+                secondDone = true;
+            } else if (reply.matchID() == other.matchID()) {
+                assertEquals("other", reply.args().get(0).toString());
+                otherDone = true;
+            }
+        }
+        assertTrue(firstCancelled && secondDone && otherDone);
+        hub.shutdown();
+    }
+
+    @Test
+    public void testBlockingTasksUseVirtualThreads() throws Exception {
+        HubImpl hub = new HubImpl(new DefaultTaskService());
+        hub.submit("/test.a", new BlockingTask(
+                () -> PBoolean.of(Thread.currentThread().isVirtual())));
+        assertEquals(PBoolean.TRUE, hub.poll().args().get(0));
+        hub.submit("/test.a", () -> PBoolean.of(Thread.currentThread().isVirtual()));
+        assertEquals(PBoolean.FALSE, hub.poll().args().get(0));
+        hub.shutdown();
+
+        DefaultTaskService service;
+        Settings.put(DefaultTaskService.KEY_VIRTUAL_THREADS, "false", false);
+        try {
+            service = new DefaultTaskService();
+        } finally {
+            Settings.put(DefaultTaskService.KEY_VIRTUAL_THREADS, null, false);
+        }
+        hub = new HubImpl(service);
+        hub.submit("/test.a", new BlockingTask(
+                () -> PBoolean.of(Thread.currentThread().isVirtual())));
+        assertEquals(PBoolean.FALSE, hub.poll().args().get(0));
+        hub.shutdown();
+    }
+
+    private static class SupersedableTask implements TaskService.Task {
+
+        private final TaskService.Task task;
+
+        private SupersedableTask(TaskService.Task task) {
+            this.task = task;
+        }
+
+        @Override
+        public Value execute() throws Exception {
+            return task.execute();
+        }
+
+        @Override
+        public boolean isSupersedable() {
+            return true;
+        }
+
+    }
+
+    private static class BlockingTask implements TaskService.Task {
+
+        private final TaskService.Task task;
+
+        private BlockingTask(TaskService.Task task) {
+            this.task = task;
+        }
+
+        @Override
+        public Value execute() throws Exception {
+            return task.execute();
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return true;
+        }
+
+    }
+
+    private static class HubImpl implements RootHub {
+
+        private final BlockingQueue<Packet> responses;
+        private final Root.Controller ctrl;
+
+        private HubImpl(DefaultTaskService service) {
+            responses = new LinkedBlockingQueue<>();
+            ctrl = service.initialize("tasks", this);
+            ctrl.start();
+        }
+
+        private Call submit(String from, TaskService.Task task) {
+            Call call = Call.create(SUBMIT, ControlAddress.of(from),
+                    getClock().getTime(), PReference.of(task));
+            ctrl.submitPacket(call);
+            return call;
+        }
+
+        private Call poll() throws InterruptedException {
+            Call call = (Call) responses.poll(10, TimeUnit.SECONDS);
+            assertNotNull(call);
+            return call;
+        }
+
+        private void shutdown() throws Exception {
+            ctrl.shutdown();
+            ctrl.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        @Override
+        public boolean dispatch(Packet packet) {
+            responses.add(packet);
+            return true;
+        }
+
+        @Override
+        public Clock getClock() {
+            return System::nanoTime;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return Lookup.EMPTY;
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.hub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Call;
+import org.praxislive.core.ControlAddress;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.Root;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class HubTest {
+
+    public HubTest() {
+    }
+
+    @Test
+    public void testDispatchAll() {
+        ControllerImpl a = new ControllerImpl(Integer.MAX_VALUE);
+        ControllerImpl b = new ControllerImpl(Integer.MAX_VALUE);
+        Hub.Accessor access = createAccessor();
+        assertTrue(access.registerRootController("a", a));
+        assertTrue(access.registerRootController("b", b));
+        List<Packet> packets = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            packets.add(call("a", i));
+            packets.add(call("b", i));
+        }
+        List<Packet> failed = access.getRootHub().dispatchAll(packets);
+        assertTrue(failed.isEmpty());
+        assertEquals(1, a.batches.size());
+        assertEquals(1, b.batches.size());
+        assertEquals(List.of(packets.get(0), packets.get(2), packets.get(4), packets.get(6)),
+                a.batches.get(0));
+        assertEquals(List.of(packets.get(1), packets.get(3), packets.get(5), packets.get(7)),
+                b.batches.get(0));
+    }
+
+    @Test
+    public void testDispatchAllPartialFailure() {
+        Hub.Accessor access = createAccessor();
+        ControllerImpl c = new ControllerImpl(2);
+        assertTrue(access.registerRootController("c", c));
+        List<Packet> packets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            packets.add(call("c", i));
+        }
+        List<Packet> expected = List.copyOf(packets.subList(2, 5));
+        List<Packet> failed = access.getRootHub().dispatchAll(packets);
+        packets.clear();
+        assertEquals(expected, failed);
+        assertEquals(1, c.batches.size());
+        assertEquals(2, c.accepted);
+    }
+
+    private static Hub.Accessor createAccessor() {
+        AtomicReference<Hub.Accessor> ref = new AtomicReference<>();
+        Hub.builder()
+                .setCoreRootFactory((accessor, exts) -> {
+                    ref.set(accessor);
+                    return new BasicCoreRoot(accessor, exts);
+                })
+                .build();
+        return ref.get();
+    }
+
+    private static Call call(String rootID, int index) {
+        return Call.create(ControlAddress.of("/" + rootID + ".control"),
+                ControlAddress.of("/test.reply"),
+                index);
+    }
+
+    private static class ControllerImpl implements Root.Controller {
+
+        private final int capacity;
+        private final List<List<Packet>> batches;
+
+        private int accepted;
+
+        private ControllerImpl(int capacity) {
+            this.capacity = capacity;
+            this.batches = new ArrayList<>();
+        }
+
+        @Override
+        public boolean submitPacket(Packet packet) {
+            return submitPackets(List.of(packet)) == 1;
+        }
+
+        @Override
+        public int submitPackets(List<Packet> packets) {
+            batches.add(List.copyOf(packets));
+            int count = Math.min(packets.size(), capacity - accepted);
+            accepted += count;
+            return count;
+        }
+
+        @Override
+        public void start(Lookup lookup) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public boolean isAlive() {
+            return true;
+        }
+
+        @Override
+        public void awaitTermination(long timeout, TimeUnit unit) {
+        }
+
+    }
+
+}
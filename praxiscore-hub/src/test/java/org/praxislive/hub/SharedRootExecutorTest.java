@@ -0,0 +1,183 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.hub;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.praxislive.base.AbstractRoot;
+import org.praxislive.core.Call;
+import org.praxislive.core.Clock;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Packet;
+import org.praxislive.core.PacketRouter;
+import org.praxislive.core.Root;
+import org.praxislive.core.RootHub;
+import org.praxislive.core.ThreadContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class SharedRootExecutorTest {
+
+    public SharedRootExecutorTest() {
+    }
+
+    @Test
+    public void testTasksNeverConcurrent() throws Exception {
+        SharedRootExecutor shared = new SharedRootExecutor(4);
+        ScheduledExecutorService exec = shared.createRootExecutor("test");
+        int count = 2000;
+        CountDownLatch done = new CountDownLatch(count);
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlap = new AtomicBoolean();
+        Runnable task = () -> {
+            if (active.incrementAndGet() != 1) {
+                overlap.set(true);
+            }
+            Thread.onSpinWait();
+            active.decrementAndGet();
+            done.countDown();
+        };
+        AtomicInteger ticks = new AtomicInteger();
+        ScheduledFuture<?> periodic = exec.scheduleAtFixedRate(() -> {
+            task.run();
+            ticks.incrementAndGet();
+        }, 0, 1, TimeUnit.MILLISECONDS);
+        Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < count / 4; j++) {
+                    exec.execute(task);
+                }
+            });
+            producers[i].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        periodic.cancel(false);
+        assertFalse(overlap.get());
+        assertTrue(ticks.get() > 0);
+        shared.shutdown();
+        assertTrue(shared.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIsRootThread() throws Exception {
+        SharedRootExecutor shared = new SharedRootExecutor(2);
+        RootImpl root1 = new RootImpl();
+        RootImpl root2 = new RootImpl();
+        HubImpl hub = new HubImpl();
+        Root.Controller ctrl1 = root1.initialize("root1", hub);
+        Root.Controller ctrl2 = root2.initialize("root2", hub);
+        ctrl1.start(Lookup.of(shared.createRootExecutor("root1")));
+        ctrl2.start(Lookup.of(shared.createRootExecutor("root2")));
+        assertTrue(root1.activated.await(5, TimeUnit.SECONDS));
+        assertTrue(root2.activated.await(5, TimeUnit.SECONDS));
+        assertFalse(root1.threadContext.isRootThread());
+        assertFalse(root2.threadContext.isRootThread());
+        for (int i = 0; i < 100; i++) {
+            root1.check(root2);
+            root2.check(root1);
+        }
+        assertTrue(root1.checked.await(5, TimeUnit.SECONDS));
+        assertTrue(root2.checked.await(5, TimeUnit.SECONDS));
+        assertTrue(root1.ok.get());
+        assertTrue(root2.ok.get());
+        ctrl1.shutdown();
+        ctrl2.shutdown();
+        ctrl1.awaitTermination(5, TimeUnit.SECONDS);
+        ctrl2.awaitTermination(5, TimeUnit.SECONDS);
+        shared.shutdown();
+        assertTrue(shared.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        SharedRootExecutor shared = new SharedRootExecutor(1);
+        ScheduledExecutorService exec = shared.createRootExecutor("test");
+        CountDownLatch ran = new CountDownLatch(1);
+        exec.schedule(ran::countDown, 10, TimeUnit.SECONDS);
+        shared.shutdown();
+        assertTrue(shared.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1, ran.getCount());
+    }
+
+    private static class RootImpl extends AbstractRoot {
+
+        private final CountDownLatch activated = new CountDownLatch(1);
+        private final CountDownLatch checked = new CountDownLatch(100);
+        private final AtomicBoolean ok = new AtomicBoolean(true);
+
+        private volatile ThreadContext threadContext;
+
+        @Override
+        protected void activating() {
+            threadContext = getLookup().find(ThreadContext.class).orElseThrow();
+            setRunning();
+            activated.countDown();
+        }
+
+        private void check(RootImpl other) {
+            threadContext.invokeLater(() -> {
+                if (!threadContext.isRootThread()
+                        || other.threadContext.isRootThread()) {
+                    ok.set(false);
+                }
+                checked.countDown();
+            });
+        }
+
+        @Override
+        protected void processCall(Call call, PacketRouter router) {
+        }
+
+    }
+
+    private static class HubImpl implements RootHub {
+
+        @Override
+        public boolean dispatch(Packet packet) {
+            return true;
+        }
+
+        @Override
+        public Clock getClock() {
+            return System::nanoTime;
+        }
+
+        @Override
+        public Lookup getLookup() {
+            return Lookup.EMPTY;
+        }
+
+    }
+
+}
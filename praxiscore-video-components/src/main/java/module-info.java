@@ -12,6 +12,9 @@ module org.praxislive.video.components {
     provides org.praxislive.core.services.ComponentFactoryProvider with
             org.praxislive.video.components.VideoComponents,
             org.praxislive.video.impl.components.VideoFactoryProvider;
+    provides org.praxislive.video.PlayerFactory.Provider with
+            org.praxislive.video.impl.components.HeadlessPlayer.Provider,
+            org.praxislive.video.impl.components.HeadlessPlayer.Unlimited;
     
     opens org.praxislive.video.components;
     opens org.praxislive.video.components.resources;
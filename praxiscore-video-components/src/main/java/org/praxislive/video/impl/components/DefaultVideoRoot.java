@@ -111,6 +111,7 @@ public class DefaultVideoRoot extends AbstractRootContainer {
                 .merge(ComponentProtocol.API_INFO)
                 .merge(ContainerProtocol.API_INFO)
                 .control(ContainerProtocol.SUPPORTED_TYPES, ContainerProtocol.SUPPORTED_TYPES_INFO)
+                .control(ContainerProtocol.ADD_ALL, ContainerProtocol.ADD_ALL_INFO)
                 .merge(StartableProtocol.API_INFO)
                 .merge(SharedCodeProtocol.API_INFO)
                 .control("renderer", c -> c.property()
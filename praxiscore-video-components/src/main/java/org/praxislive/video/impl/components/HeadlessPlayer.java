@@ -0,0 +1,613 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.impl.components;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import org.praxislive.core.Clock;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Settings;
+import org.praxislive.video.ClientConfiguration;
+import org.praxislive.video.FrameSink;
+import org.praxislive.video.Player;
+import org.praxislive.video.PlayerConfiguration;
+import org.praxislive.video.PlayerFactory;
+import org.praxislive.video.QueueContext;
+import org.praxislive.video.pipes.FrameRateListener;
+import org.praxislive.video.pipes.SinkIsFullException;
+import org.praxislive.video.pipes.VideoPipe;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.Surface;
+import org.praxislive.video.render.utils.ImageUtils;
+import org.praxislive.video.render.utils.PixelArrayCache;
+
+/**
+ * Software player that renders offscreen, without requiring a display. Frames
+ * are rendered at the configured rate, or as fast as possible with the
+ * "Headless:Unlimited" renderer. In unlimited mode every frame is rendered and
+ * frame time advances with the clock.
+ * <p>
+ * Rendered frames are passed to any {@link FrameSink} in the configuration
+ * lookup. If the {@code video.headless.output} setting is a directory path,
+ * frames are also written there as a numbered image sequence, in the format
+ * given by {@code video.headless.format} - either {@code png} (default) or
+ * {@code raw} (32-bit big-endian ARGB, no header). Frames are encoded and
+ * written on a separate thread. The render thread only blocks if the writer
+ * falls more than a few frames behind.
+ * <p>
+ * The achieved frame rate is logged periodically and on termination. Time
+ * spent passing frames to frame sinks is excluded.
+ */
+class HeadlessPlayer implements Player {
+
+    private final static System.Logger LOG = System.getLogger(HeadlessPlayer.class.getName());
+
+    private final static String KEY_OUTPUT = "video.headless.output";
+    private final static String KEY_FORMAT = "video.headless.format";
+    private final static String FORMAT_RAW = "raw";
+    private final static long REPORT_PERIOD = TimeUnit.SECONDS.toNanos(5);
+
+    private final Clock clock;
+    private final int width, height;
+    private final double fps;
+    private final boolean unlimited;
+    private final QueueContext queueContext;
+    private final List<FrameSink> frameSinks;
+    private final SequenceWriter writer;
+    private final OutputSink sink;
+    private final List<FrameRateListener> listeners;
+
+    private volatile boolean running;
+    private long time;
+    private boolean rendering;
+    private SWSurface surface;
+    private long sinkTime;
+
+    private HeadlessPlayer(Clock clock,
+            int width,
+            int height,
+            double fps,
+            boolean unlimited,
+            QueueContext queue,
+            List<FrameSink> frameSinks,
+            SequenceWriter writer) {
+        if (width <= 0 || height <= 0 || fps <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.clock = clock;
+        this.width = width;
+        this.height = height;
+        this.fps = fps;
+        this.unlimited = unlimited;
+        this.queueContext = queue;
+        this.frameSinks = frameSinks;
+        this.writer = writer;
+        this.sink = new OutputSink();
+        this.listeners = new ArrayList<>();
+    }
+
+    @Override
+    public void run() {
+        LOG.log(System.Logger.Level.DEBUG, "Starting headless renderer.");
+        running = true;
+        surface = new SWSurface(width, height, false);
+        long period = (long) (1000000000.0 / fps);
+        time = clock.getTime();
+        long reportStart = time;
+        long startTime = time;
+        long rendered = 0;
+        long reportRendered = 0;
+        long reportSinkTime = 0;
+        sinkTime = 0;
+        try {
+            while (running) {
+                if (unlimited) {
+                    time = Math.max(time + 1, clock.getTime());
+                    queueContext.process(0, TimeUnit.NANOSECONDS);
+                    rendering = true;
+                } else {
+                    time += period;
+                    long difference = clock.getTime() - time;
+                    rendering = difference <= 0;
+                    while (difference < -1000000L) {
+                        queueContext.process(1, TimeUnit.MILLISECONDS);
+                        difference = clock.getTime() - time;
+                    }
+                }
+                fireListeners();
+                if (rendering) {
+                    render();
+                    rendered++;
+                } else {
+                    sink.process(surface, time, false);
+                }
+                long now = clock.getTime();
+                if (now - reportStart >= REPORT_PERIOD) {
+                    logFrameRate(rendered - reportRendered,
+                            now - reportStart - (sinkTime - reportSinkTime));
+                    reportStart = now;
+                    reportRendered = rendered;
+                    reportSinkTime = sinkTime;
+                }
+            }
+        } catch (InterruptedException ex) {
+            LOG.log(System.Logger.Level.DEBUG, "Headless renderer interrupted");
+        } finally {
+            logFrameRate(rendered, clock.getTime() - startTime - sinkTime);
+            if (writer != null) {
+                writer.close();
+            }
+            if (sink.source != null) {
+                sink.removeSource(sink.source);
+            }
+            surface.release();
+            surface = null;
+        }
+    }
+
+    private void render() {
+        try {
+            sink.process(surface, time, true);
+            if (!frameSinks.isEmpty() || writer != null) {
+                long start = System.nanoTime();
+                surface.process((output, inputs) -> {
+                    for (FrameSink fs : frameSinks) {
+                        fs.frame(time, output);
+                    }
+                    if (writer != null) {
+                        writer.frame(time, output);
+                    }
+                });
+                sinkTime += System.nanoTime() - start;
+            }
+        } catch (Throwable t) {
+            LOG.log(System.Logger.Level.WARNING, "Exception in render", t);
+        }
+    }
+
+    private void logFrameRate(long frames, long nanos) {
+        if (nanos > 0) {
+            double achieved = frames * 1_000_000_000.0 / nanos;
+            LOG.log(System.Logger.Level.INFO, () -> String.format(
+                    "Headless renderer : %d x %d : %.2f fps", width, height, achieved));
+        }
+    }
+
+    private void fireListeners() {
+        int count = listeners.size();
+        for (int i = 0; i < count; i++) {
+            listeners.get(i).nextFrame(this);
+        }
+    }
+
+    @Override
+    public VideoPipe getSource(int index) {
+        throw new IndexOutOfBoundsException();
+    }
+
+    @Override
+    public int getSourceCount() {
+        return 0;
+    }
+
+    @Override
+    public VideoPipe getSink(int index) {
+        if (index == 0) {
+            return sink;
+        } else {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    @Override
+    public int getSinkCount() {
+        return 1;
+    }
+
+    @Override
+    public void terminate() {
+        running = false;
+    }
+
+    @Override
+    public void addFrameRateListener(FrameRateListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        if (listeners.contains(listener)) {
+            return;
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeFrameRateListener(FrameRateListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public boolean isRendering() {
+        return rendering;
+    }
+
+    private class OutputSink extends VideoPipe {
+
+        private VideoPipe source;
+        private long time;
+        private boolean render;
+
+        @Override
+        public void registerSource(VideoPipe source) {
+            if (this.source == null) {
+                this.source = source;
+            } else {
+                throw new SinkIsFullException();
+            }
+        }
+
+        @Override
+        public void unregisterSource(VideoPipe source) {
+            if (this.source == source) {
+                this.source = null;
+            }
+        }
+
+        @Override
+        public boolean isRenderRequired(VideoPipe source, long time) {
+            if (source == this.source && time == this.time) {
+                return render;
+            } else {
+                return false;
+            }
+        }
+
+        private void process(Surface surface, long time, boolean render) {
+            this.render = render;
+            this.time = time;
+            if (this.source != null) {
+                callSource(source, surface, time);
+            } else {
+                surface.clear();
+            }
+        }
+
+        @Override
+        public int getSourceCount() {
+            return source == null ? 0 : 1;
+        }
+
+        @Override
+        public int getSourceCapacity() {
+            return 1;
+        }
+
+        @Override
+        public VideoPipe getSource(int idx) {
+            if (idx == 0 && source != null) {
+                return source;
+            } else {
+                throw new IndexOutOfBoundsException();
+            }
+        }
+
+        @Override
+        public int getSinkCount() {
+            return 0;
+        }
+
+        @Override
+        public int getSinkCapacity() {
+            return 0;
+        }
+
+        @Override
+        public VideoPipe getSink(int idx) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        @Override
+        protected void process(VideoPipe sink, Surface buffer, long time) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
+        @Override
+        protected void registerSink(VideoPipe sink) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+
+        @Override
+        protected void unregisterSink(VideoPipe sink) {
+            throw new UnsupportedOperationException("Not supported yet.");
+        }
+    }
+
+    /**
+     * Frame sink writing a numbered sequence of PNG or raw ARGB files. Frames
+     * are copied on the render thread and written on a writer thread.
+     */
+    private static class SequenceWriter implements FrameSink {
+
+        private final static int QUEUE_SIZE = 4;
+        private final static Frame END = new Frame(0, 0, 0, false, new int[0]);
+
+        private final Path directory;
+        private final boolean raw;
+        private final BlockingQueue<Frame> queue;
+
+        private Thread thread;
+        private ByteBuffer buffer;
+        private int index;
+        private volatile boolean failed;
+
+        private SequenceWriter(Path directory, boolean raw) {
+            this.directory = directory;
+            this.raw = raw;
+            this.queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        }
+
+        @Override
+        public void frame(long time, PixelData pixels) {
+            if (failed) {
+                return;
+            }
+            if (thread == null) {
+                thread = new Thread(this::writeFrames, "praxis-headless-writer");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            index++;
+            Frame frame = Frame.copyOf(index, pixels);
+            try {
+                queue.put(frame);
+            } catch (InterruptedException ex) {
+                PixelArrayCache.release(frame.data);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void close() {
+            if (thread == null) {
+                return;
+            }
+            try {
+                queue.put(END);
+                thread.join();
+            } catch (InterruptedException ex) {
+                thread.interrupt();
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+
+        private void writeFrames() {
+            try {
+                Frame frame;
+                while ((frame = queue.take()) != END) {
+                    if (!failed) {
+                        write(frame);
+                    }
+                    PixelArrayCache.release(frame.data);
+                }
+            } catch (InterruptedException ex) {
+                LOG.log(System.Logger.Level.DEBUG, "Headless writer interrupted");
+            }
+        }
+
+        private void write(Frame frame) {
+            try {
+                if (raw) {
+                    writeRaw(directory.resolve(String.format("frame-%06d.raw", frame.index)), frame);
+                } else {
+                    ImageIO.write(ImageUtils.toImage(frame), "png",
+                            directory.resolve(String.format("frame-%06d.png", frame.index)).toFile());
+                }
+            } catch (IOException ex) {
+                failed = true;
+                LOG.log(System.Logger.Level.ERROR, "Unable to write frame to " + directory, ex);
+            }
+        }
+
+        private void writeRaw(Path file, PixelData pixels) throws IOException {
+            int w = pixels.getWidth();
+            int h = pixels.getHeight();
+            int size = w * h * Integer.BYTES;
+            if (buffer == null || buffer.capacity() != size) {
+                buffer = ByteBuffer.allocate(size);
+            }
+            buffer.clear();
+            int[] data = pixels.getData();
+            int offset = pixels.getOffset();
+            int scanline = pixels.getScanline();
+            boolean alpha = pixels.hasAlpha();
+            for (int y = 0; y < h; y++) {
+                int pos = offset + y * scanline;
+                for (int x = 0; x < w; x++) {
+                    int px = data[pos + x];
+                    buffer.putInt(alpha ? px : px | 0xFF000000);
+                }
+            }
+            buffer.flip();
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Copy of rendered pixels queued for writing.
+     */
+    private static class Frame implements PixelData {
+
+        private final int index;
+        private final int width;
+        private final int height;
+        private final boolean alpha;
+        private final int[] data;
+
+        private Frame(int index, int width, int height, boolean alpha, int[] data) {
+            this.index = index;
+            this.width = width;
+            this.height = height;
+            this.alpha = alpha;
+            this.data = data;
+        }
+
+        @Override
+        public int[] getData() {
+            return data;
+        }
+
+        @Override
+        public int getOffset() {
+            return 0;
+        }
+
+        @Override
+        public int getScanline() {
+            return width;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return alpha;
+        }
+
+        private static Frame copyOf(int index, PixelData pixels) {
+            int w = pixels.getWidth();
+            int h = pixels.getHeight();
+            int[] src = pixels.getData();
+            int[] dst = PixelArrayCache.acquire(w * h, false);
+            int offset = pixels.getOffset();
+            int scanline = pixels.getScanline();
+            for (int y = 0; y < h; y++) {
+                System.arraycopy(src, offset + y * scanline, dst, y * w, w);
+            }
+            return new Frame(index, w, h, pixels.hasAlpha(), dst);
+        }
+
+    }
+
+    private static class Factory implements PlayerFactory {
+
+        private final boolean unlimited;
+
+        private Factory(boolean unlimited) {
+            this.unlimited = unlimited;
+        }
+
+        @Override
+        public Player createPlayer(PlayerConfiguration config, ClientConfiguration[] clients)
+                throws Exception {
+            if (clients.length != 1 || clients[0].getSourceCount() != 0 || clients[0].getSinkCount() != 1) {
+                throw new IllegalArgumentException("Invalid client configuration");
+            }
+            Lookup lookup = config.getLookup();
+            QueueContext queue = lookup.find(QueueContext.class)
+                    .orElseThrow(() -> new IllegalArgumentException("No queue context"));
+            List<FrameSink> sinks = lookup.findAll(FrameSink.class).toList();
+            SequenceWriter writer = null;
+            String output = Settings.get(KEY_OUTPUT);
+            if (output != null && !output.isBlank()) {
+                Path dir = Path.of(output);
+                Files.createDirectories(dir);
+                writer = new SequenceWriter(dir,
+                        FORMAT_RAW.equalsIgnoreCase(Settings.get(KEY_FORMAT, "png")));
+            }
+            return new HeadlessPlayer(
+                    config.getClock(),
+                    config.getWidth(),
+                    config.getHeight(),
+                    config.getFPS(),
+                    unlimited,
+                    queue,
+                    List.copyOf(sinks),
+                    writer);
+        }
+
+    }
+
+    /**
+     * Provider of the headless renderer running at the configured frame rate.
+     */
+    public static class Provider implements PlayerFactory.Provider {
+
+        @Override
+        public PlayerFactory getFactory() {
+            return new Factory(false);
+        }
+
+        @Override
+        public String getLibraryName() {
+            return "Headless";
+        }
+
+    }
+
+    /**
+     * Provider of the headless renderer running as fast as possible.
+     */
+    public static class Unlimited implements PlayerFactory.Provider {
+
+        @Override
+        public PlayerFactory getFactory() {
+            return new Factory(true);
+        }
+
+        @Override
+        public String getLibraryName() {
+            return "Headless:Unlimited";
+        }
+
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.impl.components;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.praxislive.core.Lookup;
+import org.praxislive.core.Settings;
+import org.praxislive.video.ClientConfiguration;
+import org.praxislive.video.FrameSink;
+import org.praxislive.video.Player;
+import org.praxislive.video.PlayerConfiguration;
+import org.praxislive.video.QueueContext;
+import org.praxislive.video.pipes.impl.SingleOut;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.Surface;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class HeadlessPlayerTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 48;
+    private static final int FRAMES = 50;
+    private static final int COLOR = 0xFF336699;
+
+    public HeadlessPlayerTest() {
+    }
+
+    @Test
+    public void testUnlimitedFrames() throws Exception {
+        List<Long> times = new ArrayList<>();
+        AtomicReference<Player> player = new AtomicReference<>();
+        FrameSink frameSink = (time, pixels) -> {
+            assertEquals(WIDTH, pixels.getWidth());
+            assertEquals(HEIGHT, pixels.getHeight());
+            assertEquals(COLOR, pixel(pixels, WIDTH - 1, HEIGHT - 1));
+            times.add(time);
+            if (times.size() == FRAMES) {
+                player.get().terminate();
+            }
+        };
+        player.set(createPlayer(frameSink));
+        run(player.get());
+        assertEquals(FRAMES, times.size());
+        for (int i = 1; i < times.size(); i++) {
+            assertTrue(times.get(i) > times.get(i - 1));
+        }
+    }
+
+    @Test
+    public void testUnlimitedSequenceOutput() throws Exception {
+        Path dir = Files.createTempDirectory("praxis-headless-test");
+        try {
+            Settings.put("video.headless.output", dir.toString(), false);
+            Settings.put("video.headless.format", "raw", false);
+            AtomicReference<Player> player = new AtomicReference<>();
+            int[] count = new int[1];
+            player.set(createPlayer((time, pixels) -> {
+                if (++count[0] == FRAMES) {
+                    player.get().terminate();
+                }
+            }));
+            run(player.get());
+            List<Path> files;
+            try (Stream<Path> list = Files.list(dir)) {
+                files = list.sorted().toList();
+            }
+            assertEquals(FRAMES, files.size());
+            assertEquals("frame-000001.raw", files.get(0).getFileName().toString());
+            byte[] data = Files.readAllBytes(files.get(FRAMES - 1));
+            assertEquals(WIDTH * HEIGHT * Integer.BYTES, data.length);
+            assertArrayEquals(new byte[]{(byte) 0xFF, 0x33, 0x66, (byte) 0x99},
+                    Arrays.copyOfRange(data, 0, 4));
+        } finally {
+            Settings.put("video.headless.output", null, false);
+            Settings.put("video.headless.format", null, false);
+            deleteAll(dir);
+        }
+    }
+
+    private Player createPlayer(FrameSink frameSink) throws Exception {
+        QueueContext queue = (time, unit) -> {
+        };
+        PlayerConfiguration config = new PlayerConfiguration(System::nanoTime,
+                WIDTH, HEIGHT, 30, Lookup.of(queue, frameSink));
+        Player player = new HeadlessPlayer.Unlimited().getFactory()
+                .createPlayer(config, new ClientConfiguration[]{new ClientConfiguration(0, 1)});
+        player.getSink(0).addSource(new SingleOut() {
+            @Override
+            protected void process(Surface surface, boolean rendering) {
+                if (rendering) {
+                    surface.process((output, inputs) -> fill(output, COLOR));
+                }
+            }
+        });
+        return player;
+    }
+
+    private void run(Player player) throws InterruptedException {
+        Thread thread = new Thread(player);
+        thread.start();
+        thread.join(10_000);
+        assertFalse(thread.isAlive());
+    }
+
+    private static void fill(PixelData pixels, int color) {
+        int[] data = pixels.getData();
+        for (int y = 0; y < pixels.getHeight(); y++) {
+            int pos = pixels.getOffset() + y * pixels.getScanline();
+            Arrays.fill(data, pos, pos + pixels.getWidth(), color);
+        }
+    }
+
+    private static int pixel(PixelData pixels, int x, int y) {
+        return pixels.getData()[pixels.getOffset() + y * pixels.getScanline() + x];
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+}
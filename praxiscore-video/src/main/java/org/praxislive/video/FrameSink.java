@@ -0,0 +1,46 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video;
+
+import org.praxislive.video.render.PixelData;
+
+/**
+ * A callback to receive rendered frames from players that support it, such as
+ * the headless software renderer. A sink is found in the lookup of the
+ * {@link PlayerConfiguration}, which for the default video root includes the
+ * root and hub lookups.
+ * <p>
+ * The sink is called on the render thread. The pixel data is only valid for
+ * the duration of the call and must be copied if required afterwards.
+ */
+@FunctionalInterface
+public interface FrameSink {
+
+    /**
+     * Receive a rendered frame.
+     *
+     * @param time frame time, related to the configuration clock
+     * @param pixels rendered pixels
+     */
+    public void frame(long time, PixelData pixels);
+
+}
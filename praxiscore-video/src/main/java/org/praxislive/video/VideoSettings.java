@@ -35,6 +35,7 @@ public class VideoSettings {
     }
 
     private final static String KEY_FULLSCREENMODE = "video.fullscreenmode";
+    private final static String KEY_RENDER_THREADS = "video.render-threads";
 
     private final static boolean DEFAULT_FSEM;
 
@@ -84,4 +85,34 @@ public class VideoSettings {
         }
     }
 
+    /**
+     * Set the number of threads used to process row-independent software
+     * surface operations (eg. blits, blends and blurs) in parallel bands. A
+     * value of zero or less uses the number of available processors. A value
+     * of one processes all operations serially on the calling thread, which is
+     * the default. Pixel output is identical whichever value is used.
+     * <p>
+     * The thread pool is created on first use, so this setting should be
+     * configured before any video pipeline is running.
+     *
+     * @param threads number of render threads
+     */
+    public static void setRenderThreads(int threads) {
+        Settings.putInt(KEY_RENDER_THREADS, threads);
+    }
+
+    /**
+     * Get the number of threads used to process software surface operations.
+     * See {@link #setRenderThreads(int)}.
+     *
+     * @return number of render threads
+     */
+    public static int getRenderThreads() {
+        int threads = Settings.getInt(KEY_RENDER_THREADS, 1);
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return threads;
+    }
+
 }
@@ -21,6 +21,12 @@
  */
 package org.praxislive.video.render.ops;
 
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.praxislive.core.Settings;
 import org.praxislive.video.render.PixelData;
 import org.praxislive.video.render.utils.RGBMath;
 
@@ -29,6 +35,13 @@ import org.praxislive.video.render.utils.RGBMath;
  * 
  */
 class BlendUtil {
+
+    private final static Logger LOG = Logger.getLogger(BlendUtil.class.getName());
+    private final static String KEY_VECTOR = "video.vector-blend";
+    private final static String VECTOR_MODULE = "jdk.incubator.vector";
+    private final static String VECTOR_COMPOSITE
+            = "org.praxislive.video.render.ops.VectorComposite";
+    private final static Map<BlendMode, RGBComposite> COMPOSITES = initComposites();
     
     static void process(PixelData src, PixelData dst, BlendMode mode, double opacity) {
         RGBComposite cmp = getComposite(mode);
@@ -56,6 +69,10 @@ class BlendUtil {
     }
     
     private static RGBComposite getComposite(BlendMode mode) {
+        return COMPOSITES.get(mode);
+    }
+
+    private static RGBComposite scalarComposite(BlendMode mode) {
         switch (mode) {
             case Add:
                 return RGBComposite.ADD;
@@ -76,6 +93,37 @@ class BlendUtil {
         }
         throw new IllegalArgumentException("Unknown blend mode");
     }
+
+    private static Map<BlendMode, RGBComposite> initComposites() {
+        Map<BlendMode, RGBComposite> composites = new EnumMap<>(BlendMode.class);
+        for (BlendMode mode : BlendMode.values()) {
+            composites.put(mode, scalarComposite(mode));
+        }
+        if (isVectorAvailable()) {
+            try {
+                Module vectorModule = ModuleLayer.boot().findModule(VECTOR_MODULE).orElseThrow();
+                BlendUtil.class.getModule().addReads(vectorModule);
+                Method of = Class.forName(VECTOR_COMPOSITE)
+                        .getDeclaredMethod("of", RGBComposite.class);
+                Map<BlendMode, RGBComposite> vector = new EnumMap<>(BlendMode.class);
+                for (Map.Entry<BlendMode, RGBComposite> entry : composites.entrySet()) {
+                    vector.put(entry.getKey(), (RGBComposite) of.invoke(null, entry.getValue()));
+                }
+                composites = vector;
+                LOG.log(Level.FINE, "Using Vector API blend composites");
+            } catch (ClassNotFoundException ex) {
+                LOG.log(Level.FINE, "Vector API blend composites not included in build");
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException ex) {
+                LOG.log(Level.WARNING, "Unable to use Vector API blend composites", ex);
+            }
+        }
+        return composites;
+    }
+
+    private static boolean isVectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+                && Settings.getBoolean(KEY_VECTOR, true);
+    }
     
     private static int getExtraAlpha(double opacity) {
         if (opacity < 0.0 || opacity > 1.0) {
@@ -88,72 +136,75 @@ class BlendUtil {
             int width, int height,
             int[] srcData, int srcSL, int srcOffset,
             int[] dstData, int dstSL, int dstOffset) {
-        if (srcSL == width && dstSL == width) {
-            cmp.rgb(srcData, srcOffset, dstData, dstOffset, width * height, alpha);
-        } else {
-            for (int y = 0; y < height; y++) {
-                cmp.rgb(srcData, srcOffset, dstData, dstOffset, width, alpha);
-                srcOffset += srcSL;
-                dstOffset += dstSL;
+        RowBands.process(width, height, srcData != dstData, (start, end) -> {
+            int srcPos = srcOffset + start * srcSL;
+            int dstPos = dstOffset + start * dstSL;
+            if (srcSL == width && dstSL == width) {
+                cmp.rgb(srcData, srcPos, dstData, dstPos, width * (end - start), alpha);
+            } else {
+                for (int y = start; y < end; y++) {
+                    cmp.rgb(srcData, srcPos, dstData, dstPos, width, alpha);
+                    srcPos += srcSL;
+                    dstPos += dstSL;
+                }
             }
-        }
-        
+        });
     }
     
     private static void composeARGB(RGBComposite cmp, int alpha,
             int width, int height,
             int[] srcData, int srcSL, int srcOffset,
             int[] dstData, int dstSL, int dstOffset) {
-//            System.out.println("Composing ARGB");
-        if (srcSL == width && dstSL == width) {
-//                System.out.println("Composing full array");
-            cmp.argb(srcData, srcOffset, dstData, dstOffset, width * height, alpha);
-        } else {
-//                System.out.println("Composing line by line");
-            for (int y = 0; y < height; y++) {
-                cmp.argb(srcData, srcOffset, dstData, dstOffset, width, alpha);
-                srcOffset += srcSL;
-                dstOffset += dstSL;
+        RowBands.process(width, height, srcData != dstData, (start, end) -> {
+            int srcPos = srcOffset + start * srcSL;
+            int dstPos = dstOffset + start * dstSL;
+            if (srcSL == width && dstSL == width) {
+                cmp.argb(srcData, srcPos, dstData, dstPos, width * (end - start), alpha);
+            } else {
+                for (int y = start; y < end; y++) {
+                    cmp.argb(srcData, srcPos, dstData, dstPos, width, alpha);
+                    srcPos += srcSL;
+                    dstPos += dstSL;
+                }
             }
-        }
-        
+        });
     }
     
     private static void composeMixed(RGBComposite cmp, int alpha,
             int width, int height,
             int[] srcData, int srcSL, int srcOffset, boolean srcAlpha,
             int[] dstData, int dstSL, int dstOffset, boolean dstAlpha) {
-        int[] src = new int[width];
-        int[] dst = new int[width];
-        
-        for (int y = 0; y < height; y++) {
-            if (srcAlpha) {
-                System.arraycopy(srcData, srcOffset, src, 0, width);
-            } else {
-                for (int i = 0; i < width; i++) {
-                    src[i] = srcData[i + srcOffset] | RGBMath.ALPHA_MASK;
+        RowBands.process(width, height, srcData != dstData, (start, end) -> {
+            int[] src = new int[width];
+            int[] dst = new int[width];
+            int srcPos = srcOffset + start * srcSL;
+            int dstPos = dstOffset + start * dstSL;
+            for (int y = start; y < end; y++) {
+                if (srcAlpha) {
+                    System.arraycopy(srcData, srcPos, src, 0, width);
+                } else {
+                    for (int i = 0; i < width; i++) {
+                        src[i] = srcData[i + srcPos] | RGBMath.ALPHA_MASK;
+                    }
                 }
-            }
-            if (dstAlpha) {
-                System.arraycopy(dstData, dstOffset, dst, 0, width);
-            } else {
-                for (int i = 0; i < width; i++) {
-                    dst[i] = dstData[i + dstOffset] | RGBMath.ALPHA_MASK;
+                if (dstAlpha) {
+                    System.arraycopy(dstData, dstPos, dst, 0, width);
+                } else {
+                    for (int i = 0; i < width; i++) {
+                        dst[i] = dstData[i + dstPos] | RGBMath.ALPHA_MASK;
+                    }
                 }
-            }
-            cmp.argb(src, 0, dst, 0, width, alpha);
-            if (dstAlpha) {
-                System.arraycopy(dst, 0, dstData, dstOffset, width);
-            } else {
-                for (int i = 0; i < width; i++) {
-                    dstData[i + dstOffset] = dst[i] & 0x00FFFFFF;
+                cmp.argb(src, 0, dst, 0, width, alpha);
+                if (dstAlpha) {
+                    System.arraycopy(dst, 0, dstData, dstPos, width);
+                } else {
+                    for (int i = 0; i < width; i++) {
+                        dstData[i + dstPos] = dst[i] & 0x00FFFFFF;
+                    }
                 }
+                srcPos += srcSL;
+                dstPos += dstSL;
             }
-            
-            srcOffset += srcSL;
-            dstOffset += dstSL;
-            
-        }
-        
+        });
     }
 }
@@ -98,17 +98,6 @@ public class Blur implements SurfaceOp {
 	    final int windowSize = radius * 2 + 1;
 	    final int radiusPlusOne = radius + 1;
 
-	    int sumAlpha;
-	    int sumRed;
-	    int sumGreen;
-	    int sumBlue;
-
-	    int srcIndex = src.getOffset();
-            int srcSL = src.getScanline();
-            int dstSL = dst.getScanline();
-	    int dstIndex;
-	    int pixel;
-
 //	    int[] sumLookupTable = new int[256 * windowSize];
 //	    for (int i = 0; i < sumLookupTable.length; i++) {
 //	        sumLookupTable[i] = i / windowSize;
@@ -139,9 +128,35 @@ public class Blur implements SurfaceOp {
             int[] srcPixels = src.getData();
             int[] dstPixels = dst.getData();
 
-	    for (int y = 0; y < height; y++) {
+            // each source row is written to its own destination column
+            RowBands.process(width, height, srcPixels != dstPixels, (start, end)
+                    -> blurRows(srcPixels, src.getOffset(), src.getScanline(),
+                            dstPixels, dst.getOffset(), dst.getScanline(),
+                            width, start, end, radius,
+                            sumLookupTable, indexLookupTable));
+
+            PixelArrayCache.release(sumLookupTable);
+	}
+
+    private static void blurRows(int[] srcPixels, int srcOffset, int srcSL,
+            int[] dstPixels, int dstOffset, int dstSL,
+            int width, int start, int end, int radius,
+            int[] sumLookupTable, int[] indexLookupTable) {
+
+	    final int radiusPlusOne = radius + 1;
+
+	    int sumAlpha;
+	    int sumRed;
+	    int sumGreen;
+	    int sumBlue;
+
+	    int srcIndex = srcOffset + start * srcSL;
+	    int dstIndex;
+	    int pixel;
+
+	    for (int y = start; y < end; y++) {
 	        sumAlpha = sumRed = sumGreen = sumBlue = 0;
-	        dstIndex = y + dst.getOffset();
+	        dstIndex = y + dstOffset;
 
 	        pixel = srcPixels[srcIndex];
 	        sumAlpha += radiusPlusOne * ((pixel >> 24) & 0xFF);
@@ -192,8 +207,6 @@ public class Blur implements SurfaceOp {
 
 	        srcIndex += srcSL;
 	    }
-
-            PixelArrayCache.release(sumLookupTable);
 	}
 
     public static SurfaceOp op(int radius) {
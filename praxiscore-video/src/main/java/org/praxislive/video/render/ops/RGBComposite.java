@@ -33,7 +33,7 @@ abstract class RGBComposite {
     
     
 
-    private RGBComposite() {
+    RGBComposite() {
     }
 
     abstract void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha);
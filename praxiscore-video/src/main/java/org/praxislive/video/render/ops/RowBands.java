@@ -0,0 +1,182 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.ops;
+
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.praxislive.video.VideoSettings;
+
+/**
+ * Support for processing row-independent operations in parallel bands of rows,
+ * using a dedicated fork-join pool sized by
+ * {@link VideoSettings#getRenderThreads()}, or a pool set with
+ * {@link #setPool(java.util.concurrent.ForkJoinPool)}. Operations run serially
+ * on the calling thread if parallel rendering is disabled, if the area is too
+ * small to be worth splitting, or if already called from a thread of the pool.
+ * <p>
+ * Each band must only write to its own rows of the destination. Any shared
+ * temporary data, eg. from PixelArrayCache, should be acquired by the caller
+ * before splitting.
+ */
+final class RowBands {
+
+    private final static int MIN_BAND_PIXELS = 32 * 1024;
+
+    private static volatile Optional<ForkJoinPool> pool;
+
+    private RowBands() {
+    }
+
+    /**
+     * Set the pool used to process bands in parallel, replacing the default
+     * pool sized by {@link VideoSettings#getRenderThreads()}. A null pool
+     * processes all operations serially on the calling thread. The caller
+     * remains responsible for shutting down the pool.
+     *
+     * @param pool fork-join pool, or null
+     */
+    static void setPool(ForkJoinPool pool) {
+        RowBands.pool = Optional.ofNullable(pool);
+    }
+
+    /**
+     * Process the rows from zero to height, possibly in parallel.
+     *
+     * @param width width in pixels of each row, used to decide on splitting
+     * @param height number of rows
+     * @param op operation to process each band of rows
+     */
+    static void process(int width, int height, Op op) {
+        process(width, height, true, op);
+    }
+
+    /**
+     * Process the rows from zero to height, possibly in parallel if split is
+     * true. Callers should pass false for split if output might depend on the
+     * order rows are processed in, eg. if source and destination share data.
+     *
+     * @param width width in pixels of each row, used to decide on splitting
+     * @param height number of rows
+     * @param split whether the rows may be split into parallel bands
+     * @param op operation to process each band of rows
+     */
+    static void process(int width, int height, boolean split, Op op) {
+        ForkJoinPool pool = pool();
+        int bands = split ? bands(pool, width, height) : 1;
+        if (bands <= 1) {
+            op.process(0, height);
+        } else {
+            pool.invoke(new Band(op, 0, height, Math.max(1, height / bands)));
+        }
+    }
+
+    private static int bands(ForkJoinPool pool, int width, int height) {
+        if (pool == null || height < 2 || ForkJoinTask.getPool() == pool) {
+            return 1;
+        }
+        long pixels = (long) width * height;
+        int max = (int) Math.min(height, pixels / MIN_BAND_PIXELS);
+        return Math.min(max, pool.getParallelism() * 2);
+    }
+
+    /**
+     * An operation on a band of rows.
+     */
+    @FunctionalInterface
+    static interface Op {
+
+        /**
+         * Process rows from start (inclusive) to end (exclusive).
+         *
+         * @param start first row
+         * @param end row after last row
+         */
+        void process(int start, int end);
+
+    }
+
+    private static class Band extends RecursiveAction {
+
+        private final Op op;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        private Band(Op op, int start, int end, int threshold) {
+            this.op = op;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                op.process(start, end);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new Band(op, start, mid, threshold),
+                        new Band(op, mid, end, threshold));
+            }
+        }
+
+    }
+
+    private static class RenderThread extends ForkJoinWorkerThread {
+
+        private final static AtomicInteger COUNT = new AtomicInteger();
+
+        private RenderThread(ForkJoinPool pool) {
+            super(pool);
+            setName("praxis-video-render-" + COUNT.incrementAndGet());
+            setDaemon(true);
+        }
+
+    }
+
+    private static ForkJoinPool pool() {
+        Optional<ForkJoinPool> p = pool;
+        if (p == null) {
+            synchronized (RowBands.class) {
+                p = pool;
+                if (p == null) {
+                    p = Optional.ofNullable(createPool());
+                    pool = p;
+                }
+            }
+        }
+        return p.orElse(null);
+    }
+
+    private static ForkJoinPool createPool() {
+        int threads = VideoSettings.getRenderThreads();
+        if (threads <= 1) {
+            return null;
+        }
+        return new ForkJoinPool(threads, RenderThread::new, null, false);
+    }
+
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright 2018 Neil C Smith.
+ * Copyright 2026 Neil C Smith.
  *
  * This code is free software; you can redistribute it and/or modify it
  * under the terms of the GNU Lesser General Public License version 3 only, as
@@ -19,41 +19,104 @@
  * Please visit https://www.praxislive.org if you need additional information or
  * have any questions.
  */
-
 package org.praxislive.video.render.utils;
 
-import java.lang.ref.SoftReference;
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Iterator;
-import java.util.List;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.praxislive.core.Settings;
 
 /**
- *
- * 
+ * A shared pool of pixel arrays. Arrays up to 256 x 256 pixels are allocated
+ * in size classes of quarter steps between powers of two. Larger arrays, eg.
+ * surface data, are pooled by their exact size. Released arrays are retained
+ * strongly in a free list per size, up to a total retention limit. When the
+ * limit is exceeded the pool is trimmed, discarding the least recently
+ * released arrays of the largest sizes first. Arrays may be released on any
+ * thread, not just the thread that acquired them.
+ * <p>
+ * The maximum number of megabytes retained can be configured with the
+ * {@code video.pixel-cache.max-mb} setting (default 256). Setting
+ * {@code video.pixel-cache.track} to true enables tracking of outstanding
+ * arrays, logging a warning on release of an array that is not outstanding,
+ * eg. a double release.
+ * <p>
+ * Arrays of 256 or fewer pixels are not pooled.
  */
 public class PixelArrayCache {
 
     private final static Logger LOG = Logger.getLogger(PixelArrayCache.class.getName());
     private final static int SMALL_THRESHOLD = 256;
-    private final static int TILE_SIZE = 256 * 256;
+    private final static int EXACT_THRESHOLD = 256 * 256;
+    private final static int MIN_CLASS_SHIFT = 8;
+    private final static int MAX_CLASS_SHIFT = 16;
+    private final static String KEY_MAX_MB = "video.pixel-cache.max-mb";
+    private final static String KEY_TRACK = "video.pixel-cache.track";
 
-    private static ThreadLocal<CacheImpl> cache = new ThreadLocal<CacheImpl>() {
+    private final static SizeClass[] CLASSES;
+    private final static ConcurrentHashMap<Integer, SizeClass> EXACT;
+    private final static long MAX_BYTES;
+    private final static Set<int[]> OUTSTANDING;
 
-        @Override
-        protected CacheImpl initialValue() {
-            return new CacheImpl();
-        }
+    private final static LongAdder HITS = new LongAdder();
+    private final static LongAdder MISSES = new LongAdder();
+    private final static AtomicLong BYTES_HELD = new AtomicLong();
+    private final static AtomicLong OUTSTANDING_COUNT = new AtomicLong();
 
-    };
+    static {
+        // four classes per power of two, from above 256 up to 256 x 256
+        CLASSES = new SizeClass[(MAX_CLASS_SHIFT - MIN_CLASS_SHIFT) * 4];
+        for (int i = 0; i < CLASSES.length; i++) {
+            int shift = MIN_CLASS_SHIFT + (i / 4);
+            CLASSES[i] = new SizeClass((4 + (i % 4) + 1) << (shift - 2));
+        }
+        EXACT = new ConcurrentHashMap<>();
+        MAX_BYTES = Math.max(0, Settings.getInt(KEY_MAX_MB, 256)) * 1024L * 1024L;
+        OUTSTANDING = Settings.getBoolean(KEY_TRACK, false)
+                ? Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()))
+                : null;
+    }
 
     private PixelArrayCache() {}
 
+    /**
+     * Acquire an array of at least the requested size. Arrays of more than 256
+     * x 256 pixels will be exactly the requested size. The array should be
+     * returned using {@link #release(int[])} when no longer required.
+     *
+     * @param size minimum size of array
+     * @param clear whether a reused array should be cleared
+     * @return array
+     */
     public static int[] acquire(int size, boolean clear) {
         if (size > SMALL_THRESHOLD) {
-            return cache.get().acquire(size, clear);
+            SizeClass sc = size > EXACT_THRESHOLD ? EXACT.get(size) : sizeClass(size);
+            int[] array = sc == null ? null : sc.poll();
+            if (array != null) {
+                HITS.increment();
+                if (clear) {
+                    Arrays.fill(array, 0);
+                }
+            } else {
+                MISSES.increment();
+                array = new int[sc == null ? size : sc.size];
+                if (LOG.isLoggable(Level.FINEST)) {
+                    LOG.log(Level.FINEST, "Creating new array of size : {0}\n - Requested size : {1}",
+                            new Object[]{array.length, size});
+                }
+            }
+            OUTSTANDING_COUNT.incrementAndGet();
+            if (OUTSTANDING != null) {
+                OUTSTANDING.add(array);
+            }
+            return array;
         } else {
             LOG.log(Level.FINEST, "Creating array below threshold of size : {0}", size);
             return new int[size];
@@ -61,80 +124,166 @@ public class PixelArrayCache {
         
     }
 
+    /**
+     * Release an array previously acquired from {@link #acquire(int, boolean)}.
+     * The array must not be used after release. Arrays may be released from any
+     * thread.
+     *
+     * @param array array to release
+     */
     public static void release(int[] array) {
         if (array.length > SMALL_THRESHOLD) {
-            cache.get().release(array);
-        } 
+            if (OUTSTANDING != null && !OUTSTANDING.remove(array)) {
+                LOG.log(Level.WARNING, "Release of array not acquired or already released",
+                        new IllegalStateException());
+                return;
+            }
+            OUTSTANDING_COUNT.decrementAndGet();
+            if (bytes(array) > MAX_BYTES) {
+                LOG.log(Level.FINEST, "Retention limit reached, discarding array of size : {0}",
+                        array.length);
+                return;
+            }
+            if (array.length > EXACT_THRESHOLD) {
+                releaseExact(array);
+            } else {
+                SizeClass sc = sizeClass(array.length);
+                if (sc.size != array.length) {
+                    return;
+                }
+                sc.offer(array);
+            }
+            if (BYTES_HELD.get() > MAX_BYTES) {
+                trim(MAX_BYTES);
+            }
+        }
     }
 
-    private static class CacheImpl {
-
-        private List<SoftReference<int[]>> arrays = new ArrayList<SoftReference<int[]>>();
-
-        private int[] acquire(int size, boolean clear) {
-            int[] array = null;
-            SoftReference<int[]> ref = null;
-            int minDiff = Integer.MAX_VALUE;
-            Iterator<SoftReference<int[]>> itr = arrays.iterator();
-            while (itr.hasNext()) {
-                SoftReference<int[]> entry = itr.next();
-                int[] ar = entry.get();
-                if (ar == null) {
-                    LOG.log(Level.FINEST,
-                            "Pixel array collected, removing SoftReference.\nList size : {0}",
-                            arrays.size());
-                    itr.remove();
-                    continue;
-                }
-                if (ar.length >= size) {
-                    int diff = ar.length - size;
-                    if (array == null || diff < minDiff) {
-                        array = ar;
-                        ref = entry;
-                        minDiff = diff;
-                    }
-                    if (diff == 0) {
-                        break;
-                    }
-                }
+    /**
+     * Discard retained arrays until no more than the given number of bytes are
+     * held. Arrays of the largest sizes, and within a size the least recently
+     * released, are discarded first. The pool is trimmed automatically to the
+     * configured retention limit on release.
+     *
+     * @param maxBytes maximum number of bytes to retain
+     */
+    public static void trim(long maxBytes) {
+        for (SizeClass sc : EXACT.values()) {
+            while (BYTES_HELD.get() > maxBytes && sc.trim()) {
+                // continue trimming
             }
-            if ( (array != null) && (minDiff < (calculateSize(size)) ) ) {
-                arrays.remove(ref);
-                if (clear) {
-                    Arrays.fill(array, 0);
-                }
-                return array;
-            } else {
-                array = new int[calculateSize(size)];
-                if (LOG.isLoggable(Level.FINEST)) {
-                    LOG.log(Level.FINEST,
-                            "Creating new array of size : " + array.length +
-                            "\n - Requested size : " + size +
-                            "\n - Cache list size : " + arrays.size() +
-                            "\n - Minimum Difference found : " + minDiff);
+            sc.retireIfEmpty();
+        }
+        for (int i = CLASSES.length - 1; i >= 0; i--) {
+            SizeClass sc = CLASSES[i];
+            while (BYTES_HELD.get() > maxBytes && sc.trim()) {
+                // continue trimming
+            }
+        }
+    }
 
-                }
-                return array;
-            }      
+    /**
+     * Discard all retained arrays.
+     */
+    public static void clear() {
+        trim(0);
+    }
+
+    /**
+     * Query current usage statistics.
+     *
+     * @return statistics
+     */
+    public static Stats stats() {
+        return new Stats(HITS.sum(), MISSES.sum(), BYTES_HELD.get(), OUTSTANDING_COUNT.get());
+    }
+
+    private static void releaseExact(int[] array) {
+        int size = array.length;
+        SizeClass sc = EXACT.get(size);
+        if (sc == null) {
+            // new size, eg. after resize - drop classes no longer holding arrays
+            EXACT.values().forEach(SizeClass::retireIfEmpty);
+        }
+        while (true) {
+            if (sc == null) {
+                sc = EXACT.computeIfAbsent(size, SizeClass::new);
+            }
+            if (sc.offer(array)) {
+                return;
+            }
+            sc = null;
         }
+    }
 
-        private int calculateSize(int minSize) {
-//            if (minSize < TILE_SIZE) {
-                int size = SMALL_THRESHOLD * 2;
-                while (size < minSize) {
-                    size *= 2;
-                }
-                return size;
-//            } else {
-//                int size = minSize / TILE_SIZE;
-//                size += 1;
-//                size *= TILE_SIZE;
-//                return size;
-//            }
+    private static SizeClass sizeClass(int size) {
+        // 2^shift < size <= 2^(shift + 1)
+        int shift = 31 - Integer.numberOfLeadingZeros(size - 1);
+        int step = (((size - (1 << shift)) << 2) - 1) >> shift;
+        return CLASSES[(shift - MIN_CLASS_SHIFT) * 4 + step];
+    }
+
+    private static long bytes(int[] array) {
+        return (long) array.length * Integer.BYTES;
+    }
+
+    /**
+     * Usage statistics.
+     *
+     * @param hits number of acquires satisfied by a retained array
+     * @param misses number of acquires requiring a new pooled array
+     * @param bytesHeld bytes currently retained for reuse
+     * @param outstanding number of pooled arrays acquired and not yet
+     * released
+     */
+    public static record Stats(long hits, long misses, long bytesHeld, long outstanding) {
+
+    }
+
+    private static class SizeClass {
+
+        private final int size;
+        private final ArrayDeque<int[]> free;
+
+        private boolean retired;
+
+        private SizeClass(int size) {
+            this.size = size;
+            this.free = new ArrayDeque<>();
+        }
+
+        private synchronized int[] poll() {
+            int[] array = free.pollFirst();
+            if (array != null) {
+                BYTES_HELD.addAndGet(-bytes(array));
+            }
+            return array;
         }
 
-        private void release(int[] array) {
-            arrays.add(new SoftReference<int[]>(array));
+        private synchronized boolean offer(int[] array) {
+            if (retired) {
+                return false;
+            }
+            free.offerFirst(array);
+            BYTES_HELD.addAndGet(bytes(array));
+            return true;
+        }
+
+        private synchronized boolean trim() {
+            int[] array = free.pollLast();
+            if (array != null) {
+                BYTES_HELD.addAndGet(-bytes(array));
+                LOG.log(Level.FINEST, "Trimming array of size : {0}", size);
+                return true;
+            }
+            return false;
+        }
+
+        private synchronized void retireIfEmpty() {
+            if (!retired && free.isEmpty()) {
+                retired = true;
+                EXACT.remove(size, this);
+            }
         }
 
     }
@@ -0,0 +1,381 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.ops;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementations of the RGBComposite blends. Each lane performs
+ * exactly the same int arithmetic as the scalar implementation, so output is
+ * bit-identical. Any remainder that doesn't fill a vector, and any
+ * overlapping in-place composite, is delegated to the scalar implementation.
+ * <p>
+ * This class requires the jdk.incubator.vector module. It must only be loaded
+ * after checking the module is available - see {@link BlendUtil}. It is only
+ * compiled by the optional vector build profile.
+ */
+abstract class VectorComposite extends RGBComposite {
+
+    private final static VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private final RGBComposite scalar;
+
+    private VectorComposite(RGBComposite scalar) {
+        this.scalar = scalar;
+    }
+
+    @Override
+    final void rgb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
+        if (src == dest && srcPos != destPos) {
+            scalar.rgb(src, srcPos, dest, destPos, length, alpha);
+            return;
+        }
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector s = IntVector.fromArray(SPECIES, src, srcPos + i);
+            IntVector d = IntVector.fromArray(SPECIES, dest, destPos + i);
+            rgb(s, d, alpha).intoArray(dest, destPos + i);
+        }
+        if (i < length) {
+            scalar.rgb(src, srcPos + i, dest, destPos + i, length - i, alpha);
+        }
+    }
+
+    @Override
+    final void argb(int[] src, int srcPos, int[] dest, int destPos, int length, int alpha) {
+        if (src == dest && srcPos != destPos) {
+            scalar.argb(src, srcPos, dest, destPos, length, alpha);
+            return;
+        }
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            IntVector s = IntVector.fromArray(SPECIES, src, srcPos + i);
+            IntVector d = IntVector.fromArray(SPECIES, dest, destPos + i);
+            argb(s, d, alpha).intoArray(dest, destPos + i);
+        }
+        if (i < length) {
+            scalar.argb(src, srcPos + i, dest, destPos + i, length - i, alpha);
+        }
+    }
+
+    abstract IntVector rgb(IntVector src, IntVector dest, int alpha);
+
+    abstract IntVector argb(IntVector src, IntVector dest, int alpha);
+
+    /**
+     * Create a vector implementation of the provided scalar composite.
+     *
+     * @param scalar one of the RGBComposite constants
+     * @return vector implementation
+     * @throws IllegalArgumentException if scalar is not a known composite
+     */
+    static VectorComposite of(RGBComposite scalar) {
+        if (scalar == RGBComposite.ADD) {
+            return new Add(scalar);
+        } else if (scalar == RGBComposite.BITXOR) {
+            return new BitXor(scalar);
+        } else if (scalar == RGBComposite.DIFFERENCE) {
+            return new Difference(scalar);
+        } else if (scalar == RGBComposite.MASK) {
+            return new Mask(scalar);
+        } else if (scalar == RGBComposite.MULTIPLY) {
+            return new Multiply(scalar);
+        } else if (scalar == RGBComposite.NORMAL) {
+            return new Normal(scalar);
+        } else if (scalar == RGBComposite.SCREEN) {
+            return new Screen(scalar);
+        } else if (scalar == RGBComposite.SUB) {
+            return new Sub(scalar);
+        }
+        throw new IllegalArgumentException("Unknown composite");
+    }
+
+    private static IntVector channel(IntVector px, int shift) {
+        return px.lanewise(VectorOperators.LSHR, shift).and(0xFF);
+    }
+
+    private static IntVector srcChannel(IntVector px, int shift, int alpha) {
+        IntVector ch = channel(px, shift);
+        return alpha == 255 ? ch : mult(ch, alpha);
+    }
+
+    private static IntVector mult(IntVector val, int multiplier) {
+        return val.mul(multiplier + 1).lanewise(VectorOperators.ASHR, 8);
+    }
+
+    private static IntVector mult(IntVector val, IntVector multiplier) {
+        return val.mul(multiplier.add(1)).lanewise(VectorOperators.ASHR, 8);
+    }
+
+    private static IntVector blend(IntVector src, IntVector dest, IntVector alpha) {
+        return src.add(alpha.neg().add(0xFF).mul(dest).lanewise(VectorOperators.ASHR, 8));
+    }
+
+    private static IntVector blend(IntVector src, IntVector dest, int alpha) {
+        return src.add(dest.mul(0xFF - alpha).lanewise(VectorOperators.ASHR, 8));
+    }
+
+    private static IntVector inverse(IntVector val) {
+        return val.neg().add(255);
+    }
+
+    private static IntVector pack(IntVector r, IntVector g, IntVector b) {
+        return r.lanewise(VectorOperators.LSHL, 16)
+                .or(g.lanewise(VectorOperators.LSHL, 8))
+                .or(b);
+    }
+
+    private static IntVector pack(IntVector a, IntVector r, IntVector g, IntVector b) {
+        return a.lanewise(VectorOperators.LSHL, 24).or(pack(r, g, b));
+    }
+
+    private static class Add extends VectorComposite {
+
+        private Add(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return pack(srcChannel(src, 16, alpha).add(channel(dest, 16)).min(0xFF),
+                    srcChannel(src, 8, alpha).add(channel(dest, 8)).min(0xFF),
+                    srcChannel(src, 0, alpha).add(channel(dest, 0)).min(0xFF));
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector a = srcChannel(src, 24, alpha).add(channel(dest, 24)).min(0xFF);
+            return pack(a,
+                    srcChannel(src, 16, alpha).add(channel(dest, 16)).min(a),
+                    srcChannel(src, 8, alpha).add(channel(dest, 8)).min(a),
+                    srcChannel(src, 0, alpha).add(channel(dest, 0)).min(a));
+        }
+
+    }
+
+    private static class Normal extends VectorComposite {
+
+        private Normal(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return pack(blend(srcChannel(src, 16, alpha), channel(dest, 16), alpha),
+                    blend(srcChannel(src, 8, alpha), channel(dest, 8), alpha),
+                    blend(srcChannel(src, 0, alpha), channel(dest, 0), alpha));
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector srcA = srcChannel(src, 24, alpha);
+            return pack(blend(srcA, channel(dest, 24), srcA),
+                    blend(srcChannel(src, 16, alpha), channel(dest, 16), srcA),
+                    blend(srcChannel(src, 8, alpha), channel(dest, 8), srcA),
+                    blend(srcChannel(src, 0, alpha), channel(dest, 0), srcA));
+        }
+
+    }
+
+    private static class Sub extends VectorComposite {
+
+        private Sub(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return pack(channel(dest, 16).sub(srcChannel(src, 16, alpha)).max(0),
+                    channel(dest, 8).sub(srcChannel(src, 8, alpha)).max(0),
+                    channel(dest, 0).sub(srcChannel(src, 0, alpha)).max(0));
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector srcA = srcChannel(src, 24, alpha);
+            return pack(blend(srcA, channel(dest, 24), srcA),
+                    channel(dest, 16).sub(srcChannel(src, 16, alpha)).max(0),
+                    channel(dest, 8).sub(srcChannel(src, 8, alpha)).max(0),
+                    channel(dest, 0).sub(srcChannel(src, 0, alpha)).max(0));
+        }
+
+    }
+
+    private static class Difference extends VectorComposite {
+
+        private Difference(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            if (alpha == 255) {
+                return pack(channel(src, 16).sub(channel(dest, 16)).abs(),
+                        channel(src, 8).sub(channel(dest, 8)).abs(),
+                        channel(src, 0).sub(channel(dest, 0)).abs());
+            } else {
+                return pack(difference(srcChannel(src, 16, alpha), channel(dest, 16), alpha),
+                        difference(srcChannel(src, 8, alpha), channel(dest, 8), alpha),
+                        difference(srcChannel(src, 0, alpha), channel(dest, 0), alpha));
+            }
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector srcA = srcChannel(src, 24, alpha);
+            IntVector destA = channel(dest, 24);
+            return pack(blend(srcA, destA, srcA),
+                    difference(srcChannel(src, 16, alpha), channel(dest, 16), srcA, destA),
+                    difference(srcChannel(src, 8, alpha), channel(dest, 8), srcA, destA),
+                    difference(srcChannel(src, 0, alpha), channel(dest, 0), srcA, destA));
+        }
+
+        private static IntVector difference(IntVector src, IntVector dest, int alpha) {
+            return src.add(dest).sub(src.min(mult(dest, alpha)).mul(2));
+        }
+
+        private static IntVector difference(IntVector src, IntVector dest,
+                IntVector srcA, IntVector destA) {
+            return src.add(dest).sub(mult(src, destA).min(mult(dest, srcA)).mul(2));
+        }
+
+    }
+
+    private static class BitXor extends VectorComposite {
+
+        private BitXor(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return pack(srcChannel(src, 16, alpha).lanewise(VectorOperators.XOR, channel(dest, 16)),
+                    srcChannel(src, 8, alpha).lanewise(VectorOperators.XOR, channel(dest, 8)),
+                    srcChannel(src, 0, alpha).lanewise(VectorOperators.XOR, channel(dest, 0)));
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector srcA = srcChannel(src, 24, alpha);
+            return pack(blend(srcA, channel(dest, 24), srcA),
+                    srcChannel(src, 16, alpha).lanewise(VectorOperators.XOR, channel(dest, 16)),
+                    srcChannel(src, 8, alpha).lanewise(VectorOperators.XOR, channel(dest, 8)),
+                    srcChannel(src, 0, alpha).lanewise(VectorOperators.XOR, channel(dest, 0)));
+        }
+
+    }
+
+    private static class Screen extends VectorComposite {
+
+        private Screen(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return pack(screen(srcChannel(src, 16, alpha), channel(dest, 16)),
+                    screen(srcChannel(src, 8, alpha), channel(dest, 8)),
+                    screen(srcChannel(src, 0, alpha), channel(dest, 0)));
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector srcA = srcChannel(src, 24, alpha);
+            return pack(blend(srcA, channel(dest, 24), srcA),
+                    screen(srcChannel(src, 16, alpha), channel(dest, 16)),
+                    screen(srcChannel(src, 8, alpha), channel(dest, 8)),
+                    screen(srcChannel(src, 0, alpha), channel(dest, 0)));
+        }
+
+        private static IntVector screen(IntVector src, IntVector dest) {
+            return inverse(mult(inverse(src), inverse(dest)));
+        }
+
+    }
+
+    private static class Multiply extends VectorComposite {
+
+        private Multiply(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return multiplyRGB(src, dest, alpha);
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            IntVector srcA = srcChannel(src, 24, alpha);
+            IntVector destA = channel(dest, 24);
+            IntVector invSrcA = inverse(srcA);
+            IntVector invDestA = inverse(destA);
+            return pack(blend(srcA, destA, srcA),
+                    multiply(srcChannel(src, 16, alpha), channel(dest, 16), invSrcA, invDestA),
+                    multiply(srcChannel(src, 8, alpha), channel(dest, 8), invSrcA, invDestA),
+                    multiply(srcChannel(src, 0, alpha), channel(dest, 0), invSrcA, invDestA));
+        }
+
+        private static IntVector multiply(IntVector src, IntVector dest,
+                IntVector invSrcA, IntVector invDestA) {
+            return mult(src, dest).add(mult(dest, invSrcA)).add(mult(src, invDestA));
+        }
+
+    }
+
+    private static class Mask extends VectorComposite {
+
+        private Mask(RGBComposite scalar) {
+            super(scalar);
+        }
+
+        @Override
+        IntVector rgb(IntVector src, IntVector dest, int alpha) {
+            return multiplyRGB(src, dest, alpha);
+        }
+
+        @Override
+        IntVector argb(IntVector src, IntVector dest, int alpha) {
+            return pack(mask(srcChannel(src, 24, alpha), channel(dest, 24), alpha),
+                    mask(srcChannel(src, 16, alpha), channel(dest, 16), alpha),
+                    mask(srcChannel(src, 8, alpha), channel(dest, 8), alpha),
+                    mask(srcChannel(src, 0, alpha), channel(dest, 0), alpha));
+        }
+
+    }
+
+    private static IntVector multiplyRGB(IntVector src, IntVector dest, int alpha) {
+        return pack(mask(srcChannel(src, 16, alpha), channel(dest, 16), alpha),
+                mask(srcChannel(src, 8, alpha), channel(dest, 8), alpha),
+                mask(srcChannel(src, 0, alpha), channel(dest, 0), alpha));
+    }
+
+    private static IntVector mask(IntVector src, IntVector dest, int alpha) {
+        IntVector m = mult(src, dest);
+        return alpha == 255 ? m : m.add(mult(dest, 255 - alpha));
+    }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.ops;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.praxislive.video.render.PixelData;
+import org.praxislive.video.render.SurfaceOp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class RowBandsTest {
+
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 360;
+    private static final double[] OPACITIES = {1, 0.5, 0};
+
+    private static ForkJoinPool pool;
+
+    public RowBandsTest() {
+    }
+
+    @BeforeAll
+    public static void setUpClass() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws InterruptedException {
+        RowBands.setPool(null);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testProcessCoversAllRows() {
+        RowBands.setPool(pool);
+        AtomicIntegerArray rows = new AtomicIntegerArray(HEIGHT);
+        Set<Integer> bands = ConcurrentHashMap.newKeySet();
+        RowBands.process(WIDTH, HEIGHT, (start, end) -> {
+            assertSame(pool, ForkJoinTask.getPool());
+            bands.add(start);
+            for (int y = start; y < end; y++) {
+                rows.incrementAndGet(y);
+            }
+        });
+        for (int y = 0; y < HEIGHT; y++) {
+            assertEquals(1, rows.get(y), "Row " + y);
+        }
+        assertTrue(bands.size() > 1);
+    }
+
+    @Test
+    public void testBlendParallelMatchesSerial() {
+        Random rnd = new Random(42);
+        for (boolean srcAlpha : new boolean[]{false, true}) {
+            for (boolean dstAlpha : new boolean[]{false, true}) {
+                Pixels src = Pixels.random(rnd, srcAlpha);
+                Pixels dst = Pixels.random(rnd, dstAlpha);
+                for (BlendMode mode : BlendMode.values()) {
+                    for (double opacity : OPACITIES) {
+                        Pixels serial = dst.copy();
+                        Pixels parallel = dst.copy();
+                        RowBands.setPool(null);
+                        BlendUtil.process(src, serial, mode, opacity);
+                        RowBands.setPool(pool);
+                        BlendUtil.process(src, parallel, mode, opacity);
+                        assertArrayEquals(serial.data, parallel.data,
+                                mode + " " + opacity + " " + srcAlpha + " " + dstAlpha);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBlurParallelMatchesSerial() {
+        Random rnd = new Random(42);
+        for (boolean alpha : new boolean[]{false, true}) {
+            Pixels pixels = Pixels.random(rnd, alpha);
+            for (int radius : new int[]{1, 7, 40}) {
+                SurfaceOp blur = Blur.op(radius);
+                Pixels serial = pixels.copy();
+                Pixels parallel = pixels.copy();
+                RowBands.setPool(null);
+                blur.process(serial);
+                RowBands.setPool(pool);
+                blur.process(parallel);
+                assertArrayEquals(serial.data, parallel.data, "Radius " + radius);
+            }
+        }
+    }
+
+    private static class Pixels implements PixelData {
+
+        private static final int OFFSET = 3;
+        private static final int SCANLINE = WIDTH + 5;
+
+        private final int[] data;
+        private final boolean alpha;
+
+        private Pixels(int[] data, boolean alpha) {
+            this.data = data;
+            this.alpha = alpha;
+        }
+
+        @Override
+        public int[] getData() {
+            return data;
+        }
+
+        @Override
+        public int getOffset() {
+            return OFFSET;
+        }
+
+        @Override
+        public int getScanline() {
+            return SCANLINE;
+        }
+
+        @Override
+        public int getWidth() {
+            return WIDTH;
+        }
+
+        @Override
+        public int getHeight() {
+            return HEIGHT;
+        }
+
+        @Override
+        public boolean hasAlpha() {
+            return alpha;
+        }
+
+        private Pixels copy() {
+            return new Pixels(data.clone(), alpha);
+        }
+
+        private static Pixels random(Random rnd, boolean alpha) {
+            int[] data = new int[OFFSET + SCANLINE * HEIGHT];
+            for (int i = 0; i < data.length; i++) {
+                int px = rnd.nextInt();
+                data[i] = alpha ? px : px | 0xFF000000;
+            }
+            return new Pixels(data, alpha);
+        }
+
+    }
+
+}
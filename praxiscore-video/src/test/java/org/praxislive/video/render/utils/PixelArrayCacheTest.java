@@ -0,0 +1,120 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.utils;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ */
+public class PixelArrayCacheTest {
+
+    public PixelArrayCacheTest() {
+    }
+
+    @Test
+    public void testSizeClasses() {
+        int[] small = PixelArrayCache.acquire(100, false);
+        assertEquals(100, small.length);
+        PixelArrayCache.release(small);
+        int[] array = PixelArrayCache.acquire(300, false);
+        assertEquals(320, array.length);
+        PixelArrayCache.release(array);
+        array = PixelArrayCache.acquire(5000, false);
+        assertEquals(5120, array.length);
+        PixelArrayCache.release(array);
+        for (int size = 257; size <= 256 * 256; size += 37) {
+            array = PixelArrayCache.acquire(size, false);
+            assertTrue(array.length >= size);
+            assertTrue(array.length <= size + (size / 4), "Size " + size);
+            PixelArrayCache.release(array);
+        }
+        array = PixelArrayCache.acquire(1920 * 1080, false);
+        assertEquals(1920 * 1080, array.length);
+        PixelArrayCache.release(array);
+        array = PixelArrayCache.acquire(1280 * 720, false);
+        assertEquals(1280 * 720, array.length);
+        PixelArrayCache.release(array);
+    }
+
+    @Test
+    public void testReuseAcrossThreads() throws Exception {
+        int size = 640 * 480;
+        PixelArrayCache.Stats start = PixelArrayCache.stats();
+        int[] array = CompletableFuture.supplyAsync(() -> {
+            int[] a = PixelArrayCache.acquire(size, false);
+            a[0] = 42;
+            return a;
+        }).get();
+        PixelArrayCache.Stats acquired = PixelArrayCache.stats();
+        assertEquals(start.outstanding() + 1, acquired.outstanding());
+        PixelArrayCache.release(array);
+        PixelArrayCache.Stats released = PixelArrayCache.stats();
+        assertEquals(start.outstanding(), released.outstanding());
+        assertTrue(released.bytesHeld() >= (long) array.length * Integer.BYTES);
+
+        int[] reused = PixelArrayCache.acquire(size, true);
+        assertSame(array, reused);
+        assertEquals(0, reused[0]);
+        assertEquals(released.hits() + 1, PixelArrayCache.stats().hits());
+        PixelArrayCache.release(reused);
+
+        PixelArrayCache.clear();
+        assertEquals(0, PixelArrayCache.stats().bytesHeld());
+    }
+
+    @Test
+    public void testTrim() {
+        PixelArrayCache.clear();
+        int[] small = PixelArrayCache.acquire(5000, false);
+        int[] large = PixelArrayCache.acquire(1920 * 1080, false);
+        int[] other = PixelArrayCache.acquire(1280 * 720, false);
+        PixelArrayCache.release(small);
+        PixelArrayCache.release(large);
+        PixelArrayCache.release(other);
+        long smallBytes = (long) small.length * Integer.BYTES;
+        long total = smallBytes + ((long) large.length + other.length) * Integer.BYTES;
+        assertEquals(total, PixelArrayCache.stats().bytesHeld());
+
+        PixelArrayCache.trim(total - 1);
+        long held = PixelArrayCache.stats().bytesHeld();
+        assertTrue(held < total && held >= smallBytes);
+        PixelArrayCache.trim(smallBytes);
+        assertEquals(smallBytes, PixelArrayCache.stats().bytesHeld());
+
+        long misses = PixelArrayCache.stats().misses();
+        large = PixelArrayCache.acquire(1920 * 1080, false);
+        other = PixelArrayCache.acquire(1280 * 720, false);
+        assertSame(small, PixelArrayCache.acquire(5000, false));
+        assertEquals(misses + 2, PixelArrayCache.stats().misses());
+        assertEquals(0, PixelArrayCache.stats().bytesHeld());
+        PixelArrayCache.release(small);
+        PixelArrayCache.release(large);
+        PixelArrayCache.release(other);
+        PixelArrayCache.clear();
+        assertEquals(0, PixelArrayCache.stats().bytesHeld());
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ * 
+ * Copyright 2026 Neil C Smith.
+ * 
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License version 3 only, as
+ * published by the Free Software Foundation.
+ * 
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * version 3 for more details.
+ * 
+ * You should have received a copy of the GNU Lesser General Public License version 3
+ * along with this work; if not, see http://www.gnu.org/licenses/
+ * 
+ * 
+ * Please visit https://www.praxislive.org if you need additional information or
+ * have any questions.
+ */
+package org.praxislive.video.render.ops;
+
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ *
+ */
+public class VectorCompositeTest {
+
+    private static final int LENGTH = 1024 + 7;
+    private static final int[] ALPHAS = {255, 254, 128, 1, 0};
+    private static final List<RGBComposite> COMPOSITES = List.of(
+            RGBComposite.ADD,
+            RGBComposite.BITXOR,
+            RGBComposite.DIFFERENCE,
+            RGBComposite.MASK,
+            RGBComposite.MULTIPLY,
+            RGBComposite.NORMAL,
+            RGBComposite.SCREEN,
+            RGBComposite.SUB
+    );
+
+    public VectorCompositeTest() {
+    }
+
+    @BeforeAll
+    public static void checkVectorAvailable() {
+        assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                "jdk.incubator.vector not available");
+    }
+
+    @Test
+    public void testRGB() {
+        Random rnd = new Random(42);
+        int[] src = random(rnd, true);
+        int[] dest = random(rnd, true);
+        for (RGBComposite scalar : COMPOSITES) {
+            VectorComposite vector = VectorComposite.of(scalar);
+            for (int alpha : ALPHAS) {
+                int[] expected = dest.clone();
+                int[] actual = dest.clone();
+                scalar.rgb(src, 3, expected, 5, LENGTH - 5, alpha);
+                vector.rgb(src, 3, actual, 5, LENGTH - 5, alpha);
+                assertArrayEquals(expected, actual,
+                        scalar.getClass().getSimpleName() + " alpha " + alpha);
+            }
+        }
+    }
+
+    @Test
+    public void testARGB() {
+        Random rnd = new Random(42);
+        int[] src = random(rnd, false);
+        int[] dest = random(rnd, false);
+        for (RGBComposite scalar : COMPOSITES) {
+            VectorComposite vector = VectorComposite.of(scalar);
+            for (int alpha : ALPHAS) {
+                int[] expected = dest.clone();
+                int[] actual = dest.clone();
+                scalar.argb(src, 3, expected, 5, LENGTH - 5, alpha);
+                vector.argb(src, 3, actual, 5, LENGTH - 5, alpha);
+                assertArrayEquals(expected, actual,
+                        scalar.getClass().getSimpleName() + " alpha " + alpha);
+            }
+        }
+    }
+
+    @Test
+    public void testPremultipliedARGB() {
+        Random rnd = new Random(42);
+        int[] src = premultiplied(random(rnd, false));
+        int[] dest = premultiplied(random(rnd, false));
+        for (RGBComposite scalar : COMPOSITES) {
+            VectorComposite vector = VectorComposite.of(scalar);
+            for (int alpha : ALPHAS) {
+                int[] expected = dest.clone();
+                int[] actual = dest.clone();
+                scalar.argb(src, 0, expected, 0, LENGTH, alpha);
+                vector.argb(src, 0, actual, 0, LENGTH, alpha);
+                assertArrayEquals(expected, actual,
+                        scalar.getClass().getSimpleName() + " alpha " + alpha);
+            }
+        }
+    }
+
+    @Test
+    public void testOverlappingInPlace() {
+        Random rnd = new Random(42);
+        int[] data = random(rnd, false);
+        for (RGBComposite scalar : COMPOSITES) {
+            VectorComposite vector = VectorComposite.of(scalar);
+            int[] expected = data.clone();
+            int[] actual = data.clone();
+            scalar.argb(expected, 0, expected, 1, LENGTH - 1, 200);
+            vector.argb(actual, 0, actual, 1, LENGTH - 1, 200);
+            assertArrayEquals(expected, actual, scalar.getClass().getSimpleName());
+        }
+    }
+
+    private static int[] random(Random rnd, boolean opaque) {
+        int[] data = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            data[i] = opaque ? rnd.nextInt() & 0xFFFFFF : rnd.nextInt();
+        }
+        return data;
+    }
+
+    private static int[] premultiplied(int[] data) {
+        for (int i = 0; i < data.length; i++) {
+            int px = data[i];
+            int a = px >>> 24;
+            int r = ((px >>> 16) & 0xFF) * a / 255;
+            int g = ((px >>> 8) & 0xFF) * a / 255;
+            int b = (px & 0xFF) * a / 255;
+            data[i] = a << 24 | r << 16 | g << 8 | b;
+        }
+        return data;
+    }
+
+}